@@ -0,0 +1,81 @@
+package com.mycompany.myapp;
+
+import com.mycompany.myapp.domain.Authority;
+import com.mycompany.myapp.domain.Doctor;
+import com.mycompany.myapp.domain.Patient;
+import com.mycompany.myapp.domain.Request;
+import com.mycompany.myapp.domain.User;
+import com.mycompany.myapp.security.AuthoritiesConstants;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Collections;
+
+/**
+ * Entities shaped like the production ones, shared by the benchmarks.
+ */
+public final class BenchmarkData {
+
+    private BenchmarkData() {
+    }
+
+    public static Doctor doctor(long id) {
+        Doctor doctor = new Doctor()
+            .name("Doctor " + id)
+            .cin(BigDecimal.valueOf(id))
+            .address(id + " avenue Habib Bourguiba, Tunis")
+            .speciality("Cardiology")
+            .email("doctor" + id + "@localhost");
+        doctor.setId(id);
+        doctor.setPhoneNumber(BigDecimal.valueOf(21600000000L + id));
+        return doctor;
+    }
+
+    /**
+     * @param id the id of the patient
+     * @param doctors the number of doctors the patient is followed by
+     * @return the patient
+     */
+    public static Patient patient(long id, int doctors) {
+        Patient patient = new Patient()
+            .name("Patient " + id)
+            .cin(id)
+            .email("patient" + id + "@localhost");
+        patient.setId(id);
+        patient.setPhoneNumber(21690000000L + id);
+        for (long doctorId = 1; doctorId <= doctors; doctorId++) {
+            patient.getDoctors().add(doctor(doctorId));
+        }
+        return patient;
+    }
+
+    public static Request request(long id) {
+        Request request = new Request()
+            .date1(LocalDate.of(2026, 10, 20))
+            .date2(LocalDate.of(2026, 10, 21))
+            .date3(LocalDate.of(2026, 10, 22))
+            .confirmation(false)
+            .patient(patient(id, 0))
+            .doctor(doctor(id));
+        request.setId(id);
+        return request;
+    }
+
+    public static User user(long id) {
+        User user = new User();
+        user.setId(id);
+        user.setLogin("user" + id);
+        user.setFirstName("First" + id);
+        user.setLastName("Last" + id);
+        user.setEmail("user" + id + "@localhost");
+        user.setActivated(true);
+        user.setLangKey("en");
+        user.setCreatedBy("system");
+        user.setCreatedDate(Instant.parse("2026-10-18T10:00:00Z"));
+        Authority authority = new Authority();
+        authority.setName(AuthoritiesConstants.USER);
+        user.setAuthorities(Collections.singleton(authority));
+        return user;
+    }
+}
@@ -0,0 +1,102 @@
+package com.mycompany.myapp.config;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of request handling at high concurrency, on a bounded pool of platform threads and on virtual threads.
+ * <p>
+ * Each operation handles a batch of "concurrency" simulated requests, which block 5 ms on I/O (Elasticsearch, SMTP)
+ * then 2 ms on the database, with at most "application.virtual-threads.db-concurrency" of them holding a connection.
+ * The "pinned" database calls wait inside a synchronized block, as MySQL Connector/J 5.1 does around its socket I/O,
+ * which pins a virtual thread to its carrier on JDKs older than 24.
+ * Requests per second are the score times the concurrency. The "virtual" runs fail on JDKs older than 21.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class VirtualThreadBenchmark {
+
+    /**
+     * Undertow's default number of worker threads: 8 per I/O thread, with an I/O thread per processor.
+     */
+    private static final int PLATFORM_THREADS = Math.max(Runtime.getRuntime().availableProcessors(), 2) * 8;
+
+    private static final long IO_MS = 5;
+
+    private static final long DATABASE_MS = 2;
+
+    @Param({"platform", "virtual"})
+    private String threads;
+
+    @Param({"200", "2000", "10000"})
+    private int concurrency;
+
+    @Param({"unpinned", "pinned"})
+    private String database;
+
+    private ExecutorService executor;
+
+    private Semaphore connections;
+
+    @Setup
+    public void setup() {
+        if ("virtual".equals(threads)) {
+            ThreadFactory threadFactory = VirtualThreadSupport.threadFactory("benchmark-")
+                .orElseThrow(() -> new IllegalStateException("Virtual threads need a JDK 21 or later"));
+            executor = Executors.newCachedThreadPool(threadFactory);
+        } else {
+            executor = Executors.newFixedThreadPool(PLATFORM_THREADS);
+        }
+        connections = new Semaphore(VirtualThreadSupport.dbConcurrency(new ApplicationProperties().getVirtualThreads()), true);
+    }
+
+    @TearDown
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Benchmark
+    public void handleRequests() throws InterruptedException {
+        CountDownLatch handled = new CountDownLatch(concurrency);
+        for (int i = 0; i < concurrency; i++) {
+            executor.execute(() -> {
+                try {
+                    Thread.sleep(IO_MS);
+                    connections.acquire();
+                    try {
+                        queryDatabase();
+                    } finally {
+                        connections.release();
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    handled.countDown();
+                }
+            });
+        }
+        handled.await();
+    }
+
+    private void queryDatabase() throws InterruptedException {
+        if ("pinned".equals(database)) {
+            // each connection has its own lock, so only pinning slows this down, not contention
+            Object connectionLock = new Object();
+            synchronized (connectionLock) {
+                Thread.sleep(DATABASE_MS);
+            }
+        } else {
+            Thread.sleep(DATABASE_MS);
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.mycompany.myapp.security.jwt;
+
+import com.mycompany.myapp.security.AuthoritiesConstants;
+import com.mycompany.myapp.security.UserIdentity;
+
+import io.github.jhipster.config.JHipsterProperties;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of the JWT handling done at login and on every authenticated request.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TokenProviderBenchmark {
+
+    private TokenProvider tokenProvider;
+
+    private Authentication authentication;
+
+    private UserIdentity identity;
+
+    private String token;
+
+    @Setup
+    public void setup() {
+        JHipsterProperties jHipsterProperties = new JHipsterProperties();
+        jHipsterProperties.getSecurity().getAuthentication().getJwt().setBase64Secret(
+            "ZmQ1NGE0NWFzNjVmZHM3MzdiOWFhZmNiMzQxMmUwN2VkOTliMjY3ZjMzNDEzMjc0NzIwZGRiYjdmNmM1ZTY0ZTlmMTQwNzVmMmQ3ZWQwNDE1OTJmMGI3NjU3YmFmOA==");
+        tokenProvider = new TokenProvider(jHipsterProperties, new RevokedTokens());
+        tokenProvider.init();
+        authentication = new UsernamePasswordAuthenticationToken("user", "user", Arrays.asList(
+            new SimpleGrantedAuthority(AuthoritiesConstants.USER), new SimpleGrantedAuthority("ROLE_PATIENT")));
+        identity = new UserIdentity("user", 3L, 5L, null);
+        token = tokenProvider.createToken(authentication, false, identity);
+    }
+
+    @Benchmark
+    public String createToken() {
+        return tokenProvider.createToken(authentication, false, identity);
+    }
+
+    @Benchmark
+    public boolean validateToken() {
+        return tokenProvider.validateToken(token);
+    }
+
+    @Benchmark
+    public Authentication getAuthentication() {
+        return tokenProvider.getAuthentication(token);
+    }
+}
@@ -0,0 +1,86 @@
+package com.mycompany.myapp.service;
+
+import com.mycompany.myapp.domain.Doctor;
+import com.mycompany.myapp.domain.Patient;
+import com.mycompany.myapp.domain.Request;
+import com.mycompany.myapp.service.dto.DoctorCriteria;
+import com.mycompany.myapp.service.dto.PatientCriteria;
+import com.mycompany.myapp.service.dto.RequestCriteria;
+
+import io.github.jhipster.service.filter.BooleanFilter;
+import io.github.jhipster.service.filter.LongFilter;
+import io.github.jhipster.service.filter.StringFilter;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of the criteria to {@link Specification} conversion done by the filtered list endpoints.
+ * <p>
+ * Only the building of the specifications is measured: turning them into SQL needs a persistence context.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class QueryServiceBenchmark {
+
+    private DoctorQueryService doctorQueryService;
+
+    private PatientQueryService patientQueryService;
+
+    private RequestQueryService requestQueryService;
+
+    private DoctorCriteria doctorCriteria;
+
+    private PatientCriteria patientCriteria;
+
+    private RequestCriteria requestCriteria;
+
+    @Setup
+    public void setup() {
+        doctorQueryService = new DoctorQueryService(null, null, null);
+        patientQueryService = new PatientQueryService(null, null, null);
+        requestQueryService = new RequestQueryService(null, null, null);
+
+        doctorCriteria = new DoctorCriteria();
+        StringFilter speciality = new StringFilter();
+        speciality.setContains("cardio");
+        doctorCriteria.setSpeciality(speciality);
+        StringFilter address = new StringFilter();
+        address.setContains("Tunis");
+        doctorCriteria.setAddress(address);
+
+        patientCriteria = new PatientCriteria();
+        StringFilter name = new StringFilter();
+        name.setContains("ben");
+        patientCriteria.setName(name);
+
+        requestCriteria = new RequestCriteria();
+        LongFilter patientId = new LongFilter();
+        patientId.setEquals(5L);
+        requestCriteria.setPatientId(patientId);
+        BooleanFilter confirmation = new BooleanFilter();
+        confirmation.setEquals(false);
+        requestCriteria.setConfirmation(confirmation);
+    }
+
+    @Benchmark
+    public Specification<Doctor> doctorSpecification() {
+        return doctorQueryService.createSpecification(doctorCriteria);
+    }
+
+    @Benchmark
+    public Specification<Patient> patientSpecification() {
+        return patientQueryService.createSpecification(patientCriteria);
+    }
+
+    @Benchmark
+    public Specification<Request> requestSpecification() {
+        return requestQueryService.createSpecification(requestCriteria);
+    }
+}
@@ -0,0 +1,87 @@
+package com.mycompany.myapp.service.dto;
+
+import com.mycompany.myapp.BenchmarkData;
+import com.mycompany.myapp.service.mapper.DoctorMapper;
+import com.mycompany.myapp.service.mapper.DoctorMapperImpl;
+import com.mycompany.myapp.service.mapper.PatientMapper;
+import com.mycompany.myapp.service.mapper.PatientMapperImpl;
+import com.mycompany.myapp.service.mapper.RequestMapperImpl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jdk8.Jdk8Module;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+/**
+ * Benchmarks of the JSON serialization of a page of 20 DTOs, configured as the application's ObjectMapper.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JsonSerializationBenchmark {
+
+    private static final int PAGE_SIZE = 20;
+
+    private ObjectMapper objectMapper;
+
+    private List<DoctorDTO> doctors;
+
+    private List<PatientDTO> patients;
+
+    private List<RequestDTO> requests;
+
+    private List<UserDTO> users;
+
+    @Setup
+    public void setup() {
+        objectMapper = Jackson2ObjectMapperBuilder.json()
+            .modules(new JavaTimeModule(), new Jdk8Module())
+            .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build();
+
+        DoctorMapper doctorMapper = new DoctorMapperImpl();
+        PatientMapper patientMapper = new PatientMapperImpl();
+        ReflectionTestUtils.setField(patientMapper, "doctorMapper", doctorMapper);
+        doctors = LongStream.rangeClosed(1, PAGE_SIZE).mapToObj(id -> doctorMapper.toDto(BenchmarkData.doctor(id)))
+            .collect(Collectors.toList());
+        patients = LongStream.rangeClosed(1, PAGE_SIZE).mapToObj(id -> patientMapper.toDto(BenchmarkData.patient(id, 3)))
+            .collect(Collectors.toList());
+        requests = LongStream.rangeClosed(1, PAGE_SIZE).mapToObj(id -> new RequestMapperImpl().toDto(BenchmarkData.request(id)))
+            .collect(Collectors.toList());
+        users = LongStream.rangeClosed(1, PAGE_SIZE).mapToObj(id -> new UserDTO(BenchmarkData.user(id)))
+            .collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public byte[] doctors() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(doctors);
+    }
+
+    @Benchmark
+    public byte[] patients() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(patients);
+    }
+
+    @Benchmark
+    public byte[] requests() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(requests);
+    }
+
+    @Benchmark
+    public byte[] users() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(users);
+    }
+}
@@ -0,0 +1,81 @@
+package com.mycompany.myapp.service.mapper;
+
+import com.mycompany.myapp.BenchmarkData;
+import com.mycompany.myapp.domain.Patient;
+import com.mycompany.myapp.domain.Request;
+import com.mycompany.myapp.domain.User;
+import com.mycompany.myapp.service.dto.PatientDTO;
+import com.mycompany.myapp.service.dto.RequestDTO;
+import com.mycompany.myapp.service.dto.UserDTO;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+/**
+ * Benchmarks of the entity to DTO conversions, for a page of 20 entities.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MapperBenchmark {
+
+    private static final int PAGE_SIZE = 20;
+
+    private PatientMapper patientMapper;
+
+    private RequestMapper requestMapper;
+
+    private UserMapper userMapper;
+
+    private List<Patient> patients;
+
+    private List<RequestDTO> requestDTOs;
+
+    private List<Request> requests;
+
+    private List<User> users;
+
+    @Setup
+    public void setup() {
+        DoctorMapper doctorMapper = new DoctorMapperImpl();
+        patientMapper = new PatientMapperImpl();
+        ReflectionTestUtils.setField(patientMapper, "doctorMapper", doctorMapper);
+        requestMapper = new RequestMapperImpl();
+        ReflectionTestUtils.setField(requestMapper, "patientMapper", patientMapper);
+        ReflectionTestUtils.setField(requestMapper, "doctorMapper", doctorMapper);
+        userMapper = new UserMapper();
+
+        patients = LongStream.rangeClosed(1, PAGE_SIZE).mapToObj(id -> BenchmarkData.patient(id, 3)).collect(Collectors.toList());
+        requests = LongStream.rangeClosed(1, PAGE_SIZE).mapToObj(BenchmarkData::request).collect(Collectors.toList());
+        requestDTOs = requestMapper.toDto(requests);
+        users = LongStream.rangeClosed(1, PAGE_SIZE).mapToObj(BenchmarkData::user).collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public List<PatientDTO> patientsToDto() {
+        return patientMapper.toDto(patients);
+    }
+
+    @Benchmark
+    public List<RequestDTO> requestsToDto() {
+        return requestMapper.toDto(requests);
+    }
+
+    @Benchmark
+    public List<Request> requestsToEntity() {
+        return requestMapper.toEntity(requestDTOs);
+    }
+
+    @Benchmark
+    public List<UserDTO> usersToDto() {
+        return userMapper.usersToUserDTOs(users);
+    }
+}
@@ -0,0 +1,39 @@
+package com.mycompany.myapp.web.rest.util;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpHeaders;
+
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of the pagination headers added to every paged response.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PaginationUtilBenchmark {
+
+    private Page<Object> page;
+
+    @Setup
+    public void setup() {
+        page = new PageImpl<>(Collections.nCopies(20, new Object()), PageRequest.of(3, 20), 1000);
+    }
+
+    @Benchmark
+    public HttpHeaders paginationHeaders() {
+        return PaginationUtil.generatePaginationHttpHeaders(page, "/api/doctors");
+    }
+
+    @Benchmark
+    public HttpHeaders searchPaginationHeaders() {
+        return PaginationUtil.generateSearchPaginationHttpHeaders("name:house", page, "/api/_search/doctors");
+    }
+}
@@ -1,33 +1,67 @@
 package com.mycompany.myapp.aop.logging;
 
+import com.mycompany.myapp.config.ApplicationProperties;
+
 import io.github.jhipster.config.JHipsterConstants;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 
 import org.aspectj.lang.JoinPoint;
 import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.Signature;
 import org.aspectj.lang.annotation.AfterThrowing;
 import org.aspectj.lang.annotation.Around;
 import org.aspectj.lang.annotation.Aspect;
 import org.aspectj.lang.annotation.Pointcut;
+import org.aspectj.lang.reflect.MethodSignature;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.core.env.Environment;
+import org.springframework.util.ClassUtils;
 
-import java.util.Arrays;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
 
 /**
- * Aspect for logging execution of service and repository Spring components.
- *
- * By default, it only runs with the "dev" profile.
+ * Aspect for tracing the execution of service and repository Spring components.
+ * <p>
+ * It is only created when "application.tracing.enabled" is set, which is the case with the "dev" profile: it is
+ * added or removed by a restart only.
+ * A sample of the calls, "application.tracing.sample-rate", is timed in the "method.execution" timer and logged at
+ * debug level, with its arguments and result truncated to "application.tracing.max-argument-length". The other calls
+ * go straight through.
+ * <p>
+ * The timer is tagged with the class of the called bean, and with its interface for a Spring Data repository, so
+ * inherited methods such as {@code findAll} are timed per repository.
  */
 @Aspect
 public class LoggingAspect {
 
+    static final String TIMER_NAME = "method.execution";
+
     private final Logger log = LoggerFactory.getLogger(this.getClass());
 
     private final Environment env;
 
-    public LoggingAspect(Environment env) {
+    private final MeterRegistry meterRegistry;
+
+    private final double sampleRate;
+
+    private final int maxArgumentLength;
+
+    private final ConcurrentMap<Class<?>, ConcurrentMap<Method, Timer>> timers = new ConcurrentHashMap<>();
+
+    public LoggingAspect(Environment env, MeterRegistry meterRegistry, ApplicationProperties applicationProperties) {
         this.env = env;
+        this.meterRegistry = meterRegistry;
+        this.sampleRate = applicationProperties.getTracing().getSampleRate();
+        this.maxArgumentLength = applicationProperties.getTracing().getMaxArgumentLength();
     }
 
     /**
@@ -69,7 +103,7 @@ public class LoggingAspect {
     }
 
     /**
-     * Advice that logs when a method is entered and exited.
+     * Advice that times and logs a sample of the calls.
      *
      * @param joinPoint join point for advice
      * @return result
@@ -77,22 +111,101 @@ public class LoggingAspect {
      */
     @Around("applicationPackagePointcut() && springBeanPointcut()")
     public Object logAround(ProceedingJoinPoint joinPoint) throws Throwable {
-        if (log.isDebugEnabled()) {
-            log.debug("Enter: {}.{}() with argument[s] = {}", joinPoint.getSignature().getDeclaringTypeName(),
-                joinPoint.getSignature().getName(), Arrays.toString(joinPoint.getArgs()));
+        if (!isSampled()) {
+            try {
+                return joinPoint.proceed();
+            } catch (IllegalArgumentException e) {
+                logIllegalArgument(joinPoint);
+                throw e;
+            }
+        }
+        Signature signature = joinPoint.getSignature();
+        boolean debug = log.isDebugEnabled();
+        if (debug) {
+            log.debug("Enter: {}.{}() with argument[s] = {}", signature.getDeclaringTypeName(), signature.getName(),
+                render(joinPoint.getArgs()));
         }
+        long start = System.nanoTime();
         try {
             Object result = joinPoint.proceed();
-            if (log.isDebugEnabled()) {
-                log.debug("Exit: {}.{}() with result = {}", joinPoint.getSignature().getDeclaringTypeName(),
-                    joinPoint.getSignature().getName(), result);
+            if (debug) {
+                log.debug("Exit: {}.{}() with result = {}", signature.getDeclaringTypeName(), signature.getName(),
+                    render(result));
             }
             return result;
         } catch (IllegalArgumentException e) {
-            log.error("Illegal argument: {} in {}.{}()", Arrays.toString(joinPoint.getArgs()),
-                joinPoint.getSignature().getDeclaringTypeName(), joinPoint.getSignature().getName());
-
+            logIllegalArgument(joinPoint);
             throw e;
+        } finally {
+            timer(joinPoint).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private boolean isSampled() {
+        return sampleRate >= 1 || (sampleRate > 0 && ThreadLocalRandom.current().nextDouble() < sampleRate);
+    }
+
+    private void logIllegalArgument(JoinPoint joinPoint) {
+        log.error("Illegal argument: {} in {}.{}()", render(joinPoint.getArgs()),
+            joinPoint.getSignature().getDeclaringTypeName(), joinPoint.getSignature().getName());
+    }
+
+    private Timer timer(JoinPoint joinPoint) {
+        Class<?> type = tracedType(joinPoint);
+        // Spring creates a new signature for each call, the method is the stable key
+        return timers.computeIfAbsent(type, key -> new ConcurrentHashMap<>())
+            .computeIfAbsent(((MethodSignature) joinPoint.getSignature()).getMethod(), method -> Timer.builder(TIMER_NAME)
+                .description("Execution time of a sample of the repository, service and REST calls")
+                .tag("class", type.getSimpleName())
+                .tag("method", method.getName())
+                .register(meterRegistry));
+    }
+
+    /**
+     * The called bean's class rather than the method's declaring class, which is shared by all the repositories.
+     */
+    private static Class<?> tracedType(JoinPoint joinPoint) {
+        Object target = joinPoint.getTarget();
+        if (target == null) {
+            return joinPoint.getSignature().getDeclaringType();
+        }
+        Class<?> type = ClassUtils.getUserClass(target);
+        if (Proxy.isProxyClass(type) && type.getInterfaces().length > 0) {
+            // a Spring Data repository is a JDK proxy, its first interface is the repository interface
+            return type.getInterfaces()[0];
+        }
+        return type;
+    }
+
+    /**
+     * Render arguments or a result for the logs, without rendering binary content nor whole collections, and
+     * truncated to the maximum argument length.
+     */
+    String render(Object value) {
+        if (value instanceof Object[]) {
+            Object[] values = (Object[]) value;
+            StringBuilder rendered = new StringBuilder("[");
+            for (int i = 0; i < values.length; i++) {
+                if (i > 0) {
+                    rendered.append(", ");
+                }
+                rendered.append(render(values[i]));
+            }
+            return rendered.append(']').toString();
+        }
+        if (value instanceof byte[]) {
+            return "byte[" + ((byte[]) value).length + "]";
+        }
+        if (value instanceof Collection) {
+            return value.getClass().getSimpleName() + "[size=" + ((Collection<?>) value).size() + "]";
+        }
+        if (value instanceof Map) {
+            return value.getClass().getSimpleName() + "[size=" + ((Map<?, ?>) value).size() + "]";
+        }
+        String rendered = String.valueOf(value);
+        if (rendered.length() > maxArgumentLength) {
+            return rendered.substring(0, maxArgumentLength) + "...";
         }
+        return rendered;
     }
 }
@@ -11,4 +11,588 @@ import org.springframework.boot.context.properties.ConfigurationProperties;
 @ConfigurationProperties(prefix = "application", ignoreUnknownFields = false)
 public class ApplicationProperties {
 
+    private final Reminder reminder = new Reminder();
+
+    private final Tracker tracker = new Tracker();
+
+    private final PasswordHashing passwordHashing = new PasswordHashing();
+
+    private final LoginCache loginCache = new LoginCache();
+
+    private final Scheduler scheduler = new Scheduler();
+
+    private final Tracing tracing = new Tracing();
+
+    private final QueryMetrics queryMetrics = new QueryMetrics();
+
+    private final Profiling profiling = new Profiling();
+
+    private final ConnectionPool connectionPool = new ConnectionPool();
+
+    private final Search search = new Search();
+
+    private final VirtualThreads virtualThreads = new VirtualThreads();
+
+    private final Catalogue catalogue = new Catalogue();
+
+    private final Streaming streaming = new Streaming();
+
+    public Reminder getReminder() {
+        return reminder;
+    }
+
+    public Tracker getTracker() {
+        return tracker;
+    }
+
+    public PasswordHashing getPasswordHashing() {
+        return passwordHashing;
+    }
+
+    public LoginCache getLoginCache() {
+        return loginCache;
+    }
+
+    public Scheduler getScheduler() {
+        return scheduler;
+    }
+
+    public Tracing getTracing() {
+        return tracing;
+    }
+
+    public QueryMetrics getQueryMetrics() {
+        return queryMetrics;
+    }
+
+    public Profiling getProfiling() {
+        return profiling;
+    }
+
+    public ConnectionPool getConnectionPool() {
+        return connectionPool;
+    }
+
+    public Search getSearch() {
+        return search;
+    }
+
+    public VirtualThreads getVirtualThreads() {
+        return virtualThreads;
+    }
+
+    public Catalogue getCatalogue() {
+        return catalogue;
+    }
+
+    public Streaming getStreaming() {
+        return streaming;
+    }
+
+    public static class Reminder {
+
+        /**
+         * How far ahead (in hours) appointments are picked up for a reminder.
+         */
+        private int windowHours = 24;
+
+        /**
+         * Number of patients handled per chunk (and per transaction).
+         */
+        private int chunkSize = 200;
+
+        public int getWindowHours() {
+            return windowHours;
+        }
+
+        public void setWindowHours(int windowHours) {
+            this.windowHours = windowHours;
+        }
+
+        public int getChunkSize() {
+            return chunkSize;
+        }
+
+        public void setChunkSize(int chunkSize) {
+            this.chunkSize = chunkSize;
+        }
+    }
+
+    public static class Tracker {
+
+        /**
+         * Interval (in ms) at which coalesced activity changes are broadcast to "/topic/tracker".
+         */
+        private long tickMs = 2000;
+
+        public long getTickMs() {
+            return tickMs;
+        }
+
+        public void setTickMs(long tickMs) {
+            this.tickMs = tickMs;
+        }
+    }
+
+    public static class PasswordHashing {
+
+        /**
+         * Number of threads hashing passwords, 0 for one per available core.
+         */
+        private int threads = 0;
+
+        /**
+         * Number of hashes which may wait for a thread before requests are rejected with a 429.
+         */
+        private int queueCapacity = 64;
+
+        /**
+         * Time (in ms) a single hash should take; the BCrypt strength is calibrated at startup to stay under it.
+         */
+        private long targetMs = 250;
+
+        private int minStrength = 10;
+
+        private int maxStrength = 14;
+
+        public int getThreads() {
+            return threads;
+        }
+
+        public void setThreads(int threads) {
+            this.threads = threads;
+        }
+
+        public int getQueueCapacity() {
+            return queueCapacity;
+        }
+
+        public void setQueueCapacity(int queueCapacity) {
+            this.queueCapacity = queueCapacity;
+        }
+
+        public long getTargetMs() {
+            return targetMs;
+        }
+
+        public void setTargetMs(long targetMs) {
+            this.targetMs = targetMs;
+        }
+
+        public int getMinStrength() {
+            return minStrength;
+        }
+
+        public void setMinStrength(int minStrength) {
+            this.minStrength = minStrength;
+        }
+
+        public int getMaxStrength() {
+            return maxStrength;
+        }
+
+        public void setMaxStrength(int maxStrength) {
+            this.maxStrength = maxStrength;
+        }
+    }
+
+    public static class LoginCache {
+
+        /**
+         * Number of logins kept, the least recently used ones are evicted first. 0 disables the cache.
+         */
+        private int maxEntries = 10000;
+
+        /**
+         * Time (in seconds) after which a cached login is read from the database again.
+         */
+        private long ttlSeconds = 600;
+
+        public int getMaxEntries() {
+            return maxEntries;
+        }
+
+        public void setMaxEntries(int maxEntries) {
+            this.maxEntries = maxEntries;
+        }
+
+        public long getTtlSeconds() {
+            return ttlSeconds;
+        }
+
+        public void setTtlSeconds(long ttlSeconds) {
+            this.ttlSeconds = ttlSeconds;
+        }
+    }
+
+    public static class Scheduler {
+
+        /**
+         * Time (in seconds) a node holds the lease of a scheduled job without renewing it.
+         * It is renewed every third of it while the job runs, and bounds the takeover delay when a node dies.
+         */
+        private long leaseSeconds = 60;
+
+        /**
+         * Time (in seconds) from the start of a job during which its lease is held, even if the job ended sooner,
+         * so that nodes firing the same run a little later skip it. Keep it below the shortest job interval.
+         */
+        private long minHoldSeconds = 30;
+
+        public long getLeaseSeconds() {
+            return leaseSeconds;
+        }
+
+        public void setLeaseSeconds(long leaseSeconds) {
+            this.leaseSeconds = leaseSeconds;
+        }
+
+        public long getMinHoldSeconds() {
+            return minHoldSeconds;
+        }
+
+        public void setMinHoldSeconds(long minHoldSeconds) {
+            this.minHoldSeconds = minHoldSeconds;
+        }
+    }
+
+    public static class Tracing {
+
+        /**
+         * Whether repository, service and REST calls are traced. When disabled, no proxy nor advice is added.
+         * <p>
+         * The aspect is created at startup only, so changing this takes a restart.
+         */
+        private boolean enabled = false;
+
+        /**
+         * Fraction of the calls which are timed, and logged when the LoggingAspect logger is at debug level.
+         */
+        private double sampleRate = 0.01;
+
+        /**
+         * Length after which the rendering of an argument or result is truncated in the logs.
+         */
+        private int maxArgumentLength = 200;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public double getSampleRate() {
+            return sampleRate;
+        }
+
+        public void setSampleRate(double sampleRate) {
+            this.sampleRate = sampleRate;
+        }
+
+        public int getMaxArgumentLength() {
+            return maxArgumentLength;
+        }
+
+        public void setMaxArgumentLength(int maxArgumentLength) {
+            this.maxArgumentLength = maxArgumentLength;
+        }
+    }
+
+    public static class QueryMetrics {
+
+        /**
+         * Whether the SQL statements are timed by fingerprint. When disabled, the data source is not wrapped.
+         */
+        private boolean enabled = true;
+
+        /**
+         * Fraction of the statements recorded in the "sql.query" timer.
+         */
+        private double sampleRate = 1.0;
+
+        /**
+         * Time (in ms) above which a statement is logged with its fingerprint and bind count, -1 to log none.
+         */
+        private long slowQueryMs = 500;
+
+        /**
+         * Number of fingerprints with their own timer, the statements of the other ones are recorded as "other".
+         */
+        private int maxFingerprints = 200;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public double getSampleRate() {
+            return sampleRate;
+        }
+
+        public void setSampleRate(double sampleRate) {
+            this.sampleRate = sampleRate;
+        }
+
+        public long getSlowQueryMs() {
+            return slowQueryMs;
+        }
+
+        public void setSlowQueryMs(long slowQueryMs) {
+            this.slowQueryMs = slowQueryMs;
+        }
+
+        public int getMaxFingerprints() {
+            return maxFingerprints;
+        }
+
+        public void setMaxFingerprints(int maxFingerprints) {
+            this.maxFingerprints = maxFingerprints;
+        }
+    }
+
+    public static class Profiling {
+
+        /**
+         * Directory the Flight Recorder recordings are written to, only the last one is kept.
+         */
+        private String directory = System.getProperty("java.io.tmpdir");
+
+        /**
+         * Longest recording (in seconds) which may be started from the profiling endpoints.
+         */
+        private long maxDurationSeconds = 600;
+
+        public String getDirectory() {
+            return directory;
+        }
+
+        public void setDirectory(String directory) {
+            this.directory = directory;
+        }
+
+        public long getMaxDurationSeconds() {
+            return maxDurationSeconds;
+        }
+
+        public void setMaxDurationSeconds(long maxDurationSeconds) {
+            this.maxDurationSeconds = maxDurationSeconds;
+        }
+    }
+
+    public static class ConnectionPool {
+
+        /**
+         * Whether the maximum size of the Hikari pool is adjusted to the observed connection acquire times.
+         */
+        private boolean adaptiveSizing = false;
+
+        private int minSize = 10;
+
+        private int maxSize = 40;
+
+        /**
+         * Number of connections added or removed at each adjustment.
+         */
+        private int step = 2;
+
+        /**
+         * Mean connection acquire time (in ms) above which the pool grows.
+         */
+        private long targetWaitMs = 20;
+
+        /**
+         * Interval (in ms) between two adjustments.
+         */
+        private long intervalMs = 10000;
+
+        public boolean isAdaptiveSizing() {
+            return adaptiveSizing;
+        }
+
+        public void setAdaptiveSizing(boolean adaptiveSizing) {
+            this.adaptiveSizing = adaptiveSizing;
+        }
+
+        public int getMinSize() {
+            return minSize;
+        }
+
+        public void setMinSize(int minSize) {
+            this.minSize = minSize;
+        }
+
+        public int getMaxSize() {
+            return maxSize;
+        }
+
+        public void setMaxSize(int maxSize) {
+            this.maxSize = maxSize;
+        }
+
+        public int getStep() {
+            return step;
+        }
+
+        public void setStep(int step) {
+            this.step = step;
+        }
+
+        public long getTargetWaitMs() {
+            return targetWaitMs;
+        }
+
+        public void setTargetWaitMs(long targetWaitMs) {
+            this.targetWaitMs = targetWaitMs;
+        }
+
+        public long getIntervalMs() {
+            return intervalMs;
+        }
+
+        public void setIntervalMs(long intervalMs) {
+            this.intervalMs = intervalMs;
+        }
+    }
+
+    public static class Search {
+
+        /**
+         * Number of threads running the Elasticsearch searches of the "/api/_search" endpoints.
+         */
+        private int threads = 8;
+
+        /**
+         * Number of searches which may wait for a thread before requests are rejected with a 429.
+         */
+        private int queueCapacity = 64;
+
+        /**
+         * Time (in ms) after which a search, queued or running, is answered with a 504.
+         * Keep "spring.data.jest.read-timeout" below it, so that the thread of a timed out search is freed too.
+         */
+        private long timeoutMs = 5000;
+
+        public int getThreads() {
+            return threads;
+        }
+
+        public void setThreads(int threads) {
+            this.threads = threads;
+        }
+
+        public int getQueueCapacity() {
+            return queueCapacity;
+        }
+
+        public void setQueueCapacity(int queueCapacity) {
+            this.queueCapacity = queueCapacity;
+        }
+
+        public long getTimeoutMs() {
+            return timeoutMs;
+        }
+
+        public void setTimeoutMs(long timeoutMs) {
+            this.timeoutMs = timeoutMs;
+        }
+    }
+
+    public static class VirtualThreads {
+
+        /**
+         * Whether requests, @Async tasks and scheduled jobs run on virtual threads, when the JDK has them (21+).
+         */
+        private boolean enabled = false;
+
+        /**
+         * Number of @Async tasks running at a time on virtual threads, -1 for no limit.
+         */
+        private int asyncConcurrencyLimit = 200;
+
+        /**
+         * Number of threads holding a database connection at a time, 0 for no limit, -1 for one less than the number
+         * of carrier threads of the virtual threads. MySQL Connector/J 5.1 does its socket I/O in synchronized blocks,
+         * which pin a virtual thread to its carrier: the threads waiting on the database must leave a carrier free,
+         * or they starve all the other virtual threads. With Connector/J 8.0.33 or later, which no longer
+         * pins, it can be raised to the connection pool's maximum size.
+         */
+        private int dbConcurrency = -1;
+
+        /**
+         * Time (in ms) a thread waits for its turn to hold a database connection before failing.
+         */
+        private long dbAcquireTimeoutMs = 30000;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public int getAsyncConcurrencyLimit() {
+            return asyncConcurrencyLimit;
+        }
+
+        public void setAsyncConcurrencyLimit(int asyncConcurrencyLimit) {
+            this.asyncConcurrencyLimit = asyncConcurrencyLimit;
+        }
+
+        public int getDbConcurrency() {
+            return dbConcurrency;
+        }
+
+        public void setDbConcurrency(int dbConcurrency) {
+            this.dbConcurrency = dbConcurrency;
+        }
+
+        public long getDbAcquireTimeoutMs() {
+            return dbAcquireTimeoutMs;
+        }
+
+        public void setDbAcquireTimeoutMs(long dbAcquireTimeoutMs) {
+            this.dbAcquireTimeoutMs = dbAcquireTimeoutMs;
+        }
+    }
+
+    public static class Catalogue {
+
+        /**
+         * Time (in seconds) after which the ETags of the doctor and tip catalogues change, even without a change
+         * seen on this node. It bounds how long a change whose message to the other nodes was lost is served
+         * as not modified. 0 keeps the ETags until the next change.
+         */
+        private long etagMaxAgeSeconds = 300;
+
+        public long getEtagMaxAgeSeconds() {
+            return etagMaxAgeSeconds;
+        }
+
+        public void setEtagMaxAgeSeconds(long etagMaxAgeSeconds) {
+            this.etagMaxAgeSeconds = etagMaxAgeSeconds;
+        }
+    }
+
+    public static class Streaming {
+
+        /**
+         * Time (in ms) a write to a response may block on a client which does not read it, after which the
+         * connection is closed. It bounds how long a stalled client of a streamed list holds a database connection.
+         */
+        private int writeTimeoutMs = 10000;
+
+        public int getWriteTimeoutMs() {
+            return writeTimeoutMs;
+        }
+
+        public void setWriteTimeoutMs(int writeTimeoutMs) {
+            this.writeTimeoutMs = writeTimeoutMs;
+        }
+    }
 }
@@ -9,14 +9,25 @@ import org.springframework.aop.interceptor.AsyncUncaughtExceptionHandler;
 import org.springframework.aop.interceptor.SimpleAsyncUncaughtExceptionHandler;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
 import org.springframework.scheduling.annotation.*;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.scheduling.annotation.SchedulingConfigurer;
 import org.springframework.scheduling.config.ScheduledTaskRegistrar;
 
+import java.util.Optional;
 import java.util.concurrent.Executor;
 import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
 
+/**
+ * Executors of the @Async tasks and of the scheduled jobs.
+ * <p>
+ * With "application.virtual-threads.enabled" (the "virtual-threads" profile) and a JDK which has them, they run on
+ * virtual threads: each @Async task gets its own thread, and their number is bounded by
+ * "application.virtual-threads.async-concurrency-limit" instead of the pool sizes. Tasks beyond it wait in the queue,
+ * so submitting one never blocks the calling thread.
+ */
 @Configuration
 @EnableAsync
 @EnableScheduling
@@ -26,13 +37,35 @@ public class AsyncConfiguration implements AsyncConfigurer, SchedulingConfigurer
 
     private final JHipsterProperties jHipsterProperties;
 
-    public AsyncConfiguration(JHipsterProperties jHipsterProperties) {
+    private final ApplicationProperties applicationProperties;
+
+    public AsyncConfiguration(JHipsterProperties jHipsterProperties, ApplicationProperties applicationProperties) {
         this.jHipsterProperties = jHipsterProperties;
+        this.applicationProperties = applicationProperties;
     }
 
     @Override
     @Bean(name = "taskExecutor")
     public Executor getAsyncExecutor() {
+        Optional<ThreadFactory> virtualThreadFactory = virtualThreadFactory("doctors-platform-Executor-");
+        if (virtualThreadFactory.isPresent()) {
+            log.debug("Creating Async Task Executor on virtual threads");
+            int concurrencyLimit = applicationProperties.getVirtualThreads().getAsyncConcurrencyLimit();
+            if (concurrencyLimit < 0) {
+                return new ExceptionHandlingAsyncTaskExecutor(new SimpleAsyncTaskExecutor(virtualThreadFactory.get()));
+            }
+            // Not the concurrency limit of SimpleAsyncTaskExecutor: it makes the submitting thread wait on a monitor,
+            // which pins it to its carrier when it is a virtual thread
+            ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+            executor.setThreadFactory(virtualThreadFactory.get());
+            executor.setCorePoolSize(concurrencyLimit);
+            executor.setMaxPoolSize(concurrencyLimit);
+            executor.setQueueCapacity(jHipsterProperties.getAsync().getQueueCapacity());
+            // virtual threads are cheap to create, idle ones are not kept
+            executor.setKeepAliveSeconds(1);
+            executor.setAllowCoreThreadTimeOut(true);
+            return new ExceptionHandlingAsyncTaskExecutor(executor);
+        }
         log.debug("Creating Async Task Executor");
         ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
         executor.setCorePoolSize(jHipsterProperties.getAsync().getCorePoolSize());
@@ -42,6 +75,19 @@ public class AsyncConfiguration implements AsyncConfigurer, SchedulingConfigurer
         return new ExceptionHandlingAsyncTaskExecutor(executor);
     }
 
+    /**
+     * A single thread, so that domain events reach the Kafka producer in the order they were committed.
+     */
+    @Bean(name = "domainEventExecutor")
+    public Executor domainEventExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.setQueueCapacity(jHipsterProperties.getAsync().getQueueCapacity());
+        executor.setThreadNamePrefix("domain-event-");
+        return new ExceptionHandlingAsyncTaskExecutor(executor);
+    }
+
     @Override
     public AsyncUncaughtExceptionHandler getAsyncUncaughtExceptionHandler() {
         return new SimpleAsyncUncaughtExceptionHandler();
@@ -54,6 +100,16 @@ public class AsyncConfiguration implements AsyncConfigurer, SchedulingConfigurer
 
     @Bean
     public Executor scheduledTaskExecutor() {
-        return Executors.newScheduledThreadPool(jHipsterProperties.getAsync().getCorePoolSize());
+        int corePoolSize = jHipsterProperties.getAsync().getCorePoolSize();
+        return virtualThreadFactory("doctors-platform-Scheduler-")
+            .map(threadFactory -> Executors.newScheduledThreadPool(corePoolSize, threadFactory))
+            .orElseGet(() -> Executors.newScheduledThreadPool(corePoolSize));
+    }
+
+    private Optional<ThreadFactory> virtualThreadFactory(String prefix) {
+        if (!applicationProperties.getVirtualThreads().isEnabled()) {
+            return Optional.empty();
+        }
+        return VirtualThreadSupport.threadFactory(prefix);
     }
 }
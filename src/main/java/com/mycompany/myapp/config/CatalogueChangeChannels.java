@@ -0,0 +1,26 @@
+package com.mycompany.myapp.config;
+
+import org.springframework.cloud.stream.annotation.Input;
+import org.springframework.cloud.stream.annotation.Output;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.SubscribableChannel;
+
+/**
+ * Bindings replicating doctor and tip catalogue changes to every node, so none of them answers a conditional
+ * request with a stale "304 Not Modified".
+ * <p>
+ * The input has no consumer group, so each node gets every change. It only reads the changes made after it
+ * started, as its versions start afresh anyway.
+ */
+public interface CatalogueChangeChannels {
+
+    String INPUT = "catalogue-changes-in";
+
+    String OUTPUT = "catalogue-changes-out";
+
+    @Input(INPUT)
+    SubscribableChannel input();
+
+    @Output(OUTPUT)
+    MessageChannel output();
+}
@@ -0,0 +1,87 @@
+package com.mycompany.myapp.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.servlet.HandlerMapping;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Data source recording, in the "jdbc.connections.hold" timer, how long each endpoint holds its connections.
+ * <p>
+ * The endpoint is tagged like in "http.server.requests", by HTTP method and URI pattern. Connections used outside
+ * of a request, by scheduled jobs for instance, are tagged "none".
+ */
+public class ConnectionHoldTimeDataSource extends DelegatingDataSource {
+
+    static final String TIMER_NAME = "jdbc.connections.hold";
+
+    private static final String NONE = "none";
+
+    private static final String UNKNOWN = "UNKNOWN";
+
+    private final MeterRegistry meterRegistry;
+
+    private final ConcurrentMap<String, Timer> timers = new ConcurrentHashMap<>();
+
+    public ConnectionHoldTimeDataSource(DataSource targetDataSource, MeterRegistry meterRegistry) {
+        super(targetDataSource);
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return timed(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return timed(super.getConnection(username, password));
+    }
+
+    private Connection timed(Connection connection) {
+        long start = System.nanoTime();
+        return (Connection) Proxy.newProxyInstance(ConnectionHoldTimeDataSource.class.getClassLoader(),
+            new Class<?>[]{Connection.class}, (proxy, method, args) -> {
+                if ("close".equals(method.getName()) && method.getParameterCount() == 0 && !connection.isClosed()) {
+                    timer().record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                }
+                try {
+                    return method.invoke(connection, args);
+                } catch (InvocationTargetException e) {
+                    throw e.getTargetException();
+                }
+            });
+    }
+
+    private Timer timer() {
+        String method = NONE;
+        String uri = NONE;
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes instanceof ServletRequestAttributes) {
+            HttpServletRequest request = ((ServletRequestAttributes) attributes).getRequest();
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            method = request.getMethod();
+            uri = pattern != null ? pattern.toString() : UNKNOWN;
+        }
+        String endpointMethod = method;
+        String endpointUri = uri;
+        return timers.computeIfAbsent(method + ' ' + uri, key -> Timer.builder(TIMER_NAME)
+            .description("Time the connections are held, from their checkout to their release")
+            .tag("method", endpointMethod)
+            .tag("uri", endpointUri)
+            .register(meterRegistry));
+    }
+}
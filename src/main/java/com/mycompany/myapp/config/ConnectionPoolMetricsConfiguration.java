@@ -0,0 +1,48 @@
+package com.mycompany.myapp.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+
+/**
+ * Connection pool instrumentation, on top of the "hikaricp.*" meters bound by Spring Boot.
+ * <p>
+ * Connections are timed per endpoint by {@link ConnectionHoldTimeDataSource}, and the pool is resized by
+ * {@link HikariPoolSizeController} when "application.connection-pool.adaptive-sizing" is set.
+ */
+@Configuration
+public class ConnectionPoolMetricsConfiguration {
+
+    /**
+     * The registry is only looked up when a data source is created, so that it is not created before the other
+     * post processors are registered.
+     */
+    @Bean
+    public static BeanPostProcessor connectionHoldTimeDataSourcePostProcessor(ObjectProvider<MeterRegistry> meterRegistry) {
+        return new BeanPostProcessor() {
+
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource && !(bean instanceof ConnectionHoldTimeDataSource)) {
+                    return new ConnectionHoldTimeDataSource((DataSource) bean, meterRegistry.getObject());
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "application.connection-pool", name = "adaptive-sizing", havingValue = "true")
+    public HikariPoolSizeController hikariPoolSizeController(DataSource dataSource, MeterRegistry meterRegistry,
+                                                             ApplicationProperties applicationProperties) throws SQLException {
+        return new HikariPoolSizeController(dataSource.unwrap(HikariDataSource.class), meterRegistry,
+            applicationProperties.getConnectionPool());
+    }
+}
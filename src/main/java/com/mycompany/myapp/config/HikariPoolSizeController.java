@@ -0,0 +1,102 @@
+package com.mycompany.myapp.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Resizes the Hikari pool within bounds, from the connection acquire times observed since its last run.
+ * <p>
+ * The pool grows by a step when the mean acquire time is above the target or threads are waiting for a connection,
+ * and shrinks by a step once it has been quiet (mean acquire time under a tenth of the target, less than half of
+ * the connections active) for {@link #QUIET_RUNS_BEFORE_SHRINKING} runs in a row. The minimum idle connections
+ * follow the size down, and back up to their configured value when the pool grows again.
+ */
+public class HikariPoolSizeController {
+
+    static final int QUIET_RUNS_BEFORE_SHRINKING = 6;
+
+    private static final String ACQUIRE_TIMER = "hikaricp.connections.acquire";
+
+    private final Logger log = LoggerFactory.getLogger(HikariPoolSizeController.class);
+
+    private final HikariDataSource dataSource;
+
+    private final MeterRegistry meterRegistry;
+
+    private final ApplicationProperties.ConnectionPool properties;
+
+    private long lastCount;
+
+    private double lastTotalMs;
+
+    private int quietRuns;
+
+    private int configuredMinimumIdle = -1;
+
+    public HikariPoolSizeController(HikariDataSource dataSource, MeterRegistry meterRegistry,
+                                    ApplicationProperties.ConnectionPool properties) {
+        this.dataSource = dataSource;
+        this.meterRegistry = meterRegistry;
+        this.properties = properties;
+    }
+
+    @Scheduled(fixedDelayString = "${application.connection-pool.interval-ms:10000}")
+    public void resize() {
+        HikariPoolMXBean pool = dataSource.getHikariPoolMXBean();
+        Timer acquire = meterRegistry.find(ACQUIRE_TIMER).tag("pool", String.valueOf(dataSource.getPoolName())).timer();
+        if (pool == null || acquire == null) {
+            // The pool starts with its first connection
+            return;
+        }
+        if (configuredMinimumIdle < 0) {
+            // Hikari defaults it to the maximum pool size once the pool has started
+            configuredMinimumIdle = dataSource.getMinimumIdle();
+        }
+        long count = acquire.count();
+        double totalMs = acquire.totalTime(TimeUnit.MILLISECONDS);
+        double meanWaitMs = count > lastCount ? (totalMs - lastTotalMs) / (count - lastCount) : 0;
+        lastCount = count;
+        lastTotalMs = totalMs;
+
+        int size = dataSource.getMaximumPoolSize();
+        if (meanWaitMs > properties.getTargetWaitMs() || pool.getThreadsAwaitingConnection() > 0) {
+            quietRuns = 0;
+            if (size < properties.getMaxSize()) {
+                setSize(Math.min(properties.getMaxSize(), size + properties.getStep()), meanWaitMs);
+            }
+        } else if (meanWaitMs < properties.getTargetWaitMs() / 10.0 && pool.getActiveConnections() < size / 2) {
+            if (++quietRuns >= QUIET_RUNS_BEFORE_SHRINKING && size > properties.getMinSize()) {
+                quietRuns = 0;
+                setSize(Math.max(properties.getMinSize(), size - properties.getStep()), meanWaitMs);
+            }
+        } else {
+            quietRuns = 0;
+        }
+    }
+
+    private void setSize(int size, double meanWaitMs) {
+        log.info("Resizing connection pool {} from {} to {} connections (mean acquire time {} ms)",
+            dataSource.getPoolName(), dataSource.getMaximumPoolSize(), size, String.format("%.1f", meanWaitMs));
+        int minimumIdle = Math.min(configuredMinimumIdle, size);
+        if (size < dataSource.getMaximumPoolSize()) {
+            setMinimumIdle(minimumIdle);
+            dataSource.getHikariConfigMXBean().setMaximumPoolSize(size);
+        } else {
+            dataSource.getHikariConfigMXBean().setMaximumPoolSize(size);
+            setMinimumIdle(minimumIdle);
+        }
+    }
+
+    private void setMinimumIdle(int minimumIdle) {
+        if (dataSource.getMinimumIdle() != minimumIdle) {
+            dataSource.getHikariConfigMXBean().setMinimumIdle(minimumIdle);
+        }
+    }
+}
@@ -2,8 +2,9 @@ package com.mycompany.myapp.config;
 
 import com.mycompany.myapp.aop.logging.LoggingAspect;
 
-import io.github.jhipster.config.JHipsterConstants;
+import io.micrometer.core.instrument.MeterRegistry;
 
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.*;
 import org.springframework.core.env.Environment;
 
@@ -12,8 +13,8 @@ import org.springframework.core.env.Environment;
 public class LoggingAspectConfiguration {
 
     @Bean
-    @Profile(JHipsterConstants.SPRING_PROFILE_DEVELOPMENT)
-    public LoggingAspect loggingAspect(Environment env) {
-        return new LoggingAspect(env);
+    @ConditionalOnProperty(prefix = "application.tracing", name = "enabled", havingValue = "true")
+    public LoggingAspect loggingAspect(Environment env, MeterRegistry meterRegistry, ApplicationProperties applicationProperties) {
+        return new LoggingAspect(env, meterRegistry, applicationProperties);
     }
 }
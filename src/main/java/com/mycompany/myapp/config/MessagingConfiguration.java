@@ -1,16 +1,7 @@
 package com.mycompany.myapp.config;
 
-import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
-
 import org.springframework.cloud.stream.annotation.EnableBinding;
 import org.springframework.cloud.stream.messaging.Source;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.context.annotation.Bean;
-import org.springframework.integration.annotation.InboundChannelAdapter;
-import org.springframework.integration.annotation.Poller;
-import org.springframework.integration.core.MessageSource;
-import org.springframework.messaging.support.GenericMessage;
 
 /**
  * Configures Spring Cloud Stream support.
@@ -19,23 +10,15 @@ import org.springframework.messaging.support.GenericMessage;
  *
  * See http://docs.spring.io/spring-cloud-stream/docs/current/reference/htmlsingle/
  * for the official Spring Cloud Stream documentation.
+ *
+ * Domain events are sent on {@link Source#OUTPUT} by the
+ * {@link com.mycompany.myapp.service.event.DomainEventProducer}. In order to see them, you can use the Kafka
+ * command-line client:
+ * "./kafka-console-consumer.sh --bootstrap-server localhost:9092 --topic doctors-platform-events --from-beginning".
+ *
+ * Token revocations are replicated to every node through the {@link TokenRevocationChannels}, and doctor and tip
+ * catalogue changes through the {@link CatalogueChangeChannels}.
  */
-@EnableBinding(value = { Source.class })
+@EnableBinding(value = { Source.class, TokenRevocationChannels.class, CatalogueChangeChannels.class })
 public class MessagingConfiguration {
-
-    @Value("${spring.application.name:JhipsterService}")
-    private String applicationName;
-
-    /**
-     * This sends a test message at regular intervals set as fixedRate (in ms)
-     *
-     * In order to see the test messages, you can use the Kafka command-line client:
-     * "./kafka-console-consumer.sh --bootstrap-server localhost:9092 --topic topic-jhipster --from-beginning".
-     */
-    @Bean
-    @InboundChannelAdapter(value = Source.OUTPUT, poller = @Poller(fixedRate = "60000"))
-    public MessageSource<String> timerMessageSource() {
-        return () -> new GenericMessage<>("Test message from " + applicationName
-            + " sent at " + LocalDateTime.now().format(DateTimeFormatter.ISO_LOCAL_DATE_TIME));
-    }
 }
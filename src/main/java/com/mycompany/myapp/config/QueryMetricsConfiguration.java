@@ -0,0 +1,50 @@
+package com.mycompany.myapp.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+/**
+ * Wraps the data sources, so their statements are timed by {@link QueryMetricsListener}.
+ * <p>
+ * This replaces Hibernate statistics, which add bookkeeping to every session and are not exported.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "application.query-metrics", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class QueryMetricsConfiguration {
+
+    /**
+     * The registry and the properties are only looked up when a data source is created, so that they are not created
+     * before the other post processors are registered.
+     */
+    @Bean
+    public static BeanPostProcessor queryMetricsDataSourcePostProcessor(ObjectProvider<MeterRegistry> meterRegistry,
+                                                                        ObjectProvider<ApplicationProperties> applicationProperties) {
+        return new BeanPostProcessor() {
+
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof DataSource)) {
+                    return bean;
+                }
+                QueryMetricsListener listener = new QueryMetricsListener(meterRegistry.getObject(),
+                    applicationProperties.getObject().getQueryMetrics());
+                if (bean instanceof ProxyDataSource) {
+                    ((ProxyDataSource) bean).getProxyConfig().getQueryListener().addListener(listener);
+                    return bean;
+                }
+                return ProxyDataSourceBuilder.create((DataSource) bean)
+                    .name(beanName)
+                    .listener(listener)
+                    .build();
+            }
+        };
+    }
+}
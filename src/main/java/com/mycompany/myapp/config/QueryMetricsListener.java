@@ -0,0 +1,119 @@
+package com.mycompany.myapp.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * Times the SQL statements by fingerprint, and logs the slow ones.
+ * <p>
+ * The fingerprint is the statement with its literals replaced by "?", its "in" lists collapsed and its whitespace
+ * normalized, so the statements of a same query share a timer. A sample of the statements,
+ * "application.query-metrics.sample-rate", is recorded in the "sql.query" timer; once
+ * "application.query-metrics.max-fingerprints" fingerprints have a timer, the other ones are recorded as "other".
+ * The statements slower than "application.query-metrics.slow-query-ms" are always logged, sampled or not.
+ */
+public class QueryMetricsListener implements QueryExecutionListener {
+
+    static final String TIMER_NAME = "sql.query";
+
+    static final String OTHER_QUERIES = "other";
+
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+
+    private static final Pattern NUMBER_LITERAL = Pattern.compile("\\b\\d+(?:\\.\\d+)?\\b");
+
+    private static final Pattern IN_LIST = Pattern.compile("\\(\\s*\\?(?:\\s*,\\s*\\?)+\\s*\\)");
+
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private final Logger log = LoggerFactory.getLogger(QueryMetricsListener.class);
+
+    private final MeterRegistry meterRegistry;
+
+    private final double sampleRate;
+
+    private final long slowQueryMs;
+
+    private final int maxFingerprints;
+
+    private final ConcurrentMap<String, Timer> timers = new ConcurrentHashMap<>();
+
+    public QueryMetricsListener(MeterRegistry meterRegistry, ApplicationProperties.QueryMetrics properties) {
+        this.meterRegistry = meterRegistry;
+        this.sampleRate = properties.getSampleRate();
+        this.slowQueryMs = properties.getSlowQueryMs();
+        this.maxFingerprints = properties.getMaxFingerprints();
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        // Nothing to do before the execution, the proxy measures the elapsed time
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        if (queryInfoList.isEmpty()) {
+            return;
+        }
+        long elapsedMs = execInfo.getElapsedTime();
+        boolean sampled = isSampled();
+        boolean slow = slowQueryMs >= 0 && elapsedMs >= slowQueryMs;
+        if (!sampled && !slow) {
+            return;
+        }
+        QueryInfo query = queryInfoList.get(0);
+        String fingerprint = fingerprint(query.getQuery());
+        if (sampled) {
+            timer(fingerprint).record(elapsedMs, TimeUnit.MILLISECONDS);
+        }
+        if (slow) {
+            log.warn("Slow query ({} ms, {} bind parameter(s), {} execution(s)): {}", elapsedMs,
+                query.getParametersList().isEmpty() ? 0 : query.getParametersList().get(0).size(),
+                execInfo.isBatch() ? execInfo.getBatchSize() : queryInfoList.size(), fingerprint);
+        }
+    }
+
+    private boolean isSampled() {
+        return sampleRate >= 1 || (sampleRate > 0 && ThreadLocalRandom.current().nextDouble() < sampleRate);
+    }
+
+    private Timer timer(String fingerprint) {
+        Timer timer = timers.get(fingerprint);
+        if (timer != null) {
+            return timer;
+        }
+        // Bound the number of time series, the check may let a few more through under contention
+        String tag = timers.size() < maxFingerprints ? fingerprint : OTHER_QUERIES;
+        return timers.computeIfAbsent(tag, query -> Timer.builder(TIMER_NAME)
+            .description("Execution time of a sample of the SQL statements, by fingerprint")
+            .tag("query", query)
+            .publishPercentileHistogram()
+            .minimumExpectedValue(Duration.ofMillis(1))
+            .maximumExpectedValue(Duration.ofSeconds(30))
+            .register(meterRegistry));
+    }
+
+    /**
+     * Normalize a statement, so that executions of a same query with different literals get the same fingerprint.
+     */
+    static String fingerprint(String sql) {
+        String fingerprint = STRING_LITERAL.matcher(sql).replaceAll("?");
+        fingerprint = NUMBER_LITERAL.matcher(fingerprint).replaceAll("?");
+        fingerprint = IN_LIST.matcher(fingerprint).replaceAll("(?)");
+        return WHITESPACE.matcher(fingerprint).replaceAll(" ").trim().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,25 @@
+package com.mycompany.myapp.config;
+
+import org.springframework.cloud.stream.annotation.Input;
+import org.springframework.cloud.stream.annotation.Output;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.SubscribableChannel;
+
+/**
+ * Bindings replicating token revocations to every node.
+ * <p>
+ * The input has no consumer group, so each node gets every revocation, and reads the topic from the
+ * start, so a node joining the cluster learns the revocations still within the token validity.
+ */
+public interface TokenRevocationChannels {
+
+    String INPUT = "token-revocations-in";
+
+    String OUTPUT = "token-revocations-out";
+
+    @Input(INPUT)
+    SubscribableChannel input();
+
+    @Output(OUTPUT)
+    MessageChannel output();
+}
@@ -0,0 +1,66 @@
+package com.mycompany.myapp.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.embedded.undertow.UndertowServletWebServerFactory;
+import org.springframework.boot.web.server.WebServerFactoryCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+import java.util.Optional;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Virtual thread execution of the requests, enabled by the "virtual-threads" profile.
+ * <p>
+ * Undertow hands each request to a new virtual thread instead of its worker pool, and the threads holding a
+ * database connection are limited by a {@link ConcurrencyLimitedDataSource}. The @Async tasks and the scheduled
+ * jobs are moved to virtual threads by {@link AsyncConfiguration}.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "application.virtual-threads", name = "enabled", havingValue = "true")
+public class VirtualThreadConfiguration {
+
+    private final Logger log = LoggerFactory.getLogger(VirtualThreadConfiguration.class);
+
+    @Bean
+    public WebServerFactoryCustomizer<UndertowServletWebServerFactory> virtualThreadRequestCustomizer() {
+        Optional<ThreadFactory> threadFactory = VirtualThreadSupport.threadFactory("undertow-request-");
+        if (threadFactory.isPresent()) {
+            log.info("Requests, @Async tasks and scheduled jobs run on virtual threads");
+        } else {
+            log.warn("Virtual threads are enabled but need a JDK 21 or later, platform threads are used");
+        }
+        return server -> threadFactory.ifPresent(factory -> server.addDeploymentInfoCustomizers(deploymentInfo ->
+            deploymentInfo.setExecutor(task -> factory.newThread(task).start())));
+    }
+
+    /**
+     * The properties are only looked up when a data source is created, so that they are not bound before the other
+     * post processors are registered. Without virtual threads, the thread pools bound the database load already,
+     * and the data source is left as is.
+     */
+    @Bean
+    public static BeanPostProcessor concurrencyLimitedDataSourcePostProcessor(ObjectProvider<ApplicationProperties> applicationProperties) {
+        return new BeanPostProcessor() {
+
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource && !(bean instanceof ConcurrencyLimitedDataSource)
+                    && VirtualThreadSupport.isAvailable()) {
+                    ApplicationProperties.VirtualThreads virtualThreads = applicationProperties.getObject().getVirtualThreads();
+                    int dbConcurrency = VirtualThreadSupport.dbConcurrency(virtualThreads);
+                    if (dbConcurrency > 0) {
+                        return new ConcurrencyLimitedDataSource((DataSource) bean, dbConcurrency,
+                            virtualThreads.getDbAcquireTimeoutMs());
+                    }
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -0,0 +1,69 @@
+package com.mycompany.myapp.config;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.Optional;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Access to the virtual threads of JDK 21 and later.
+ * <p>
+ * The application is compiled for Java 8, so the Thread.Builder API is looked up at runtime, and is reported as
+ * unavailable on older JDKs.
+ */
+public final class VirtualThreadSupport {
+
+    private VirtualThreadSupport() {
+    }
+
+    /**
+     * Get the number of platform threads which carry the virtual threads.
+     *
+     * @return the "jdk.virtualThreadScheduler.parallelism" system property, or the number of processors
+     */
+    public static int carrierParallelism() {
+        return Integer.getInteger("jdk.virtualThreadScheduler.parallelism", Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Get the number of threads which may hold a database connection at a time.
+     *
+     * @param virtualThreads the virtual thread properties
+     * @return the configured "db-concurrency", one less than the carrier parallelism (at least 1) if it is negative,
+     * 0 for no limit
+     */
+    public static int dbConcurrency(ApplicationProperties.VirtualThreads virtualThreads) {
+        if (virtualThreads.getDbConcurrency() < 0) {
+            // leaves a carrier to the threads which are not waiting on the database
+            return Math.max(1, carrierParallelism() - 1);
+        }
+        return virtualThreads.getDbConcurrency();
+    }
+
+    /**
+     * @return true if the JDK has virtual threads
+     */
+    public static boolean isAvailable() {
+        return threadFactory("availability-check-").isPresent();
+    }
+
+    /**
+     * Create a factory of virtual threads.
+     *
+     * @param prefix the prefix of the thread names, followed by a counter
+     * @return the factory, or empty if the JDK has no virtual threads
+     */
+    public static Optional<ThreadFactory> threadFactory(String prefix) {
+        try {
+            Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+            Method name = builderClass.getMethod("name", String.class, long.class);
+            Method factory = builderClass.getMethod("factory");
+            Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            return Optional.of((ThreadFactory) factory.invoke(name.invoke(builder, prefix, 0L)));
+        } catch (ClassNotFoundException | NoSuchMethodException e) {
+            return Optional.empty();
+        } catch (IllegalAccessException | InvocationTargetException e) {
+            throw new IllegalStateException("Could not create a virtual thread factory", e);
+        }
+    }
+}
@@ -6,6 +6,7 @@ import io.github.jhipster.web.filter.CachingHttpHeadersFilter;
 import io.undertow.UndertowOptions;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.xnio.Options;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.web.embedded.undertow.UndertowServletWebServerFactory;
 import org.springframework.boot.web.server.*;
@@ -82,6 +83,17 @@ public class WebConfigurer implements ServletContextInitializer, WebServerFactor
         }
     }
 
+    /**
+     * The streamed lists write to the response within their read-only transaction, so a client which stops reading
+     * would otherwise hold a database connection until the TCP connection dies.
+     */
+    @Bean
+    public WebServerFactoryCustomizer<UndertowServletWebServerFactory> writeTimeoutCustomizer(ApplicationProperties applicationProperties) {
+        int writeTimeoutMs = applicationProperties.getStreaming().getWriteTimeoutMs();
+        return server -> server.addBuilderCustomizers(builder ->
+            builder.setSocketOption(Options.WRITE_TIMEOUT, writeTimeoutMs));
+    }
+
     private void setMimeMappings(WebServerFactory server) {
         if (server instanceof ConfigurableServletWebServerFactory) {
             MimeMappings mappings = new MimeMappings(MimeMappings.DEFAULT);
@@ -0,0 +1,102 @@
+package com.mycompany.myapp.domain;
+
+import javax.persistence.*;
+import javax.validation.constraints.*;
+
+import java.io.Serializable;
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.util.Objects;
+
+/**
+ * Records the reminder sent for an Appointment, so that the reminder job stays idempotent.
+ * <p>
+ * The appointment date is kept with the record: a rescheduled appointment no longer matches
+ * it and gets a new reminder.
+ */
+@Entity
+@Table(name = "appointment_reminder")
+public class AppointmentReminder implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    @Id
+    @Column(name = "appointment_id")
+    private Long appointmentId;
+
+    @NotNull
+    @Column(name = "date_and_hour", nullable = false)
+    private ZonedDateTime dateAndHour;
+
+    @NotNull
+    @Column(name = "sent_date", nullable = false)
+    private Instant sentDate;
+
+    public Long getAppointmentId() {
+        return appointmentId;
+    }
+
+    public AppointmentReminder appointmentId(Long appointmentId) {
+        this.appointmentId = appointmentId;
+        return this;
+    }
+
+    public void setAppointmentId(Long appointmentId) {
+        this.appointmentId = appointmentId;
+    }
+
+    public ZonedDateTime getDateAndHour() {
+        return dateAndHour;
+    }
+
+    public AppointmentReminder dateAndHour(ZonedDateTime dateAndHour) {
+        this.dateAndHour = dateAndHour;
+        return this;
+    }
+
+    public void setDateAndHour(ZonedDateTime dateAndHour) {
+        this.dateAndHour = dateAndHour;
+    }
+
+    public Instant getSentDate() {
+        return sentDate;
+    }
+
+    public AppointmentReminder sentDate(Instant sentDate) {
+        this.sentDate = sentDate;
+        return this;
+    }
+
+    public void setSentDate(Instant sentDate) {
+        this.sentDate = sentDate;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        AppointmentReminder appointmentReminder = (AppointmentReminder) o;
+        if (appointmentReminder.getAppointmentId() == null || getAppointmentId() == null) {
+            return false;
+        }
+        return Objects.equals(getAppointmentId(), appointmentReminder.getAppointmentId());
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hashCode(getAppointmentId());
+    }
+
+    @Override
+    public String toString() {
+        return "AppointmentReminder{" +
+            "appointmentId=" + getAppointmentId() +
+            ", dateAndHour='" + getDateAndHour() + "'" +
+            ", sentDate='" + getSentDate() + "'" +
+            "}";
+    }
+}
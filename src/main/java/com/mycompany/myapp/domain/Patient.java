@@ -2,6 +2,7 @@ package com.mycompany.myapp.domain;
 
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import org.hibernate.annotations.BatchSize;
 
 import javax.persistence.*;
 import javax.validation.constraints.*;
@@ -52,6 +53,7 @@ public class Patient implements Serializable {
     @OneToMany(mappedBy = "patient")
     private Set<Request> requests = new HashSet<>();
     @ManyToMany
+    @BatchSize(size = 20)
     @JoinTable(name = "patient_doctor",
                joinColumns = @JoinColumn(name = "patient_id", referencedColumnName = "id"),
                inverseJoinColumns = @JoinColumn(name = "doctor_id", referencedColumnName = "id"))
@@ -0,0 +1,238 @@
+package com.mycompany.myapp.domain;
+
+import javax.persistence.*;
+import javax.validation.constraints.*;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.time.ZonedDateTime;
+import java.util.Objects;
+
+/**
+ * One line of a patient's dashboard: a Request with its Doctor and its Appointment, if any.
+ * <p>
+ * This is a read model, kept up to date by the PatientDashboardService when requests, appointments
+ * and doctors are saved, so that the dashboard is read without joins.
+ */
+@Entity
+@Table(name = "patient_dashboard")
+public class PatientDashboard implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    @Id
+    @Column(name = "request_id")
+    private Long requestId;
+
+    @NotNull
+    @Column(name = "patient_id", nullable = false)
+    private Long patientId;
+
+    @NotNull
+    @Column(name = "doctor_id", nullable = false)
+    private Long doctorId;
+
+    @Column(name = "doctor_name")
+    private String doctorName;
+
+    @Column(name = "doctor_speciality")
+    private String doctorSpeciality;
+
+    @Column(name = "doctor_address")
+    private String doctorAddress;
+
+    @Column(name = "date_1")
+    private LocalDate date1;
+
+    @Column(name = "date_2")
+    private LocalDate date2;
+
+    @Column(name = "date_3")
+    private LocalDate date3;
+
+    @Column(name = "confirmation")
+    private Boolean confirmation;
+
+    @Column(name = "appointment_date_and_hour")
+    private ZonedDateTime appointmentDateAndHour;
+
+    public Long getRequestId() {
+        return requestId;
+    }
+
+    public PatientDashboard requestId(Long requestId) {
+        this.requestId = requestId;
+        return this;
+    }
+
+    public void setRequestId(Long requestId) {
+        this.requestId = requestId;
+    }
+
+    public Long getPatientId() {
+        return patientId;
+    }
+
+    public PatientDashboard patientId(Long patientId) {
+        this.patientId = patientId;
+        return this;
+    }
+
+    public void setPatientId(Long patientId) {
+        this.patientId = patientId;
+    }
+
+    public Long getDoctorId() {
+        return doctorId;
+    }
+
+    public PatientDashboard doctorId(Long doctorId) {
+        this.doctorId = doctorId;
+        return this;
+    }
+
+    public void setDoctorId(Long doctorId) {
+        this.doctorId = doctorId;
+    }
+
+    public String getDoctorName() {
+        return doctorName;
+    }
+
+    public PatientDashboard doctorName(String doctorName) {
+        this.doctorName = doctorName;
+        return this;
+    }
+
+    public void setDoctorName(String doctorName) {
+        this.doctorName = doctorName;
+    }
+
+    public String getDoctorSpeciality() {
+        return doctorSpeciality;
+    }
+
+    public PatientDashboard doctorSpeciality(String doctorSpeciality) {
+        this.doctorSpeciality = doctorSpeciality;
+        return this;
+    }
+
+    public void setDoctorSpeciality(String doctorSpeciality) {
+        this.doctorSpeciality = doctorSpeciality;
+    }
+
+    public String getDoctorAddress() {
+        return doctorAddress;
+    }
+
+    public PatientDashboard doctorAddress(String doctorAddress) {
+        this.doctorAddress = doctorAddress;
+        return this;
+    }
+
+    public void setDoctorAddress(String doctorAddress) {
+        this.doctorAddress = doctorAddress;
+    }
+
+    public LocalDate getDate1() {
+        return date1;
+    }
+
+    public PatientDashboard date1(LocalDate date1) {
+        this.date1 = date1;
+        return this;
+    }
+
+    public void setDate1(LocalDate date1) {
+        this.date1 = date1;
+    }
+
+    public LocalDate getDate2() {
+        return date2;
+    }
+
+    public PatientDashboard date2(LocalDate date2) {
+        this.date2 = date2;
+        return this;
+    }
+
+    public void setDate2(LocalDate date2) {
+        this.date2 = date2;
+    }
+
+    public LocalDate getDate3() {
+        return date3;
+    }
+
+    public PatientDashboard date3(LocalDate date3) {
+        this.date3 = date3;
+        return this;
+    }
+
+    public void setDate3(LocalDate date3) {
+        this.date3 = date3;
+    }
+
+    public Boolean isConfirmation() {
+        return confirmation;
+    }
+
+    public PatientDashboard confirmation(Boolean confirmation) {
+        this.confirmation = confirmation;
+        return this;
+    }
+
+    public void setConfirmation(Boolean confirmation) {
+        this.confirmation = confirmation;
+    }
+
+    public ZonedDateTime getAppointmentDateAndHour() {
+        return appointmentDateAndHour;
+    }
+
+    public PatientDashboard appointmentDateAndHour(ZonedDateTime appointmentDateAndHour) {
+        this.appointmentDateAndHour = appointmentDateAndHour;
+        return this;
+    }
+
+    public void setAppointmentDateAndHour(ZonedDateTime appointmentDateAndHour) {
+        this.appointmentDateAndHour = appointmentDateAndHour;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        PatientDashboard patientDashboard = (PatientDashboard) o;
+        if (patientDashboard.getRequestId() == null || getRequestId() == null) {
+            return false;
+        }
+        return Objects.equals(getRequestId(), patientDashboard.getRequestId());
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hashCode(getRequestId());
+    }
+
+    @Override
+    public String toString() {
+        return "PatientDashboard{" +
+            "requestId=" + getRequestId() +
+            ", patientId=" + getPatientId() +
+            ", doctorId=" + getDoctorId() +
+            ", doctorName='" + getDoctorName() + "'" +
+            ", doctorSpeciality='" + getDoctorSpeciality() + "'" +
+            ", doctorAddress='" + getDoctorAddress() + "'" +
+            ", date1='" + getDate1() + "'" +
+            ", date2='" + getDate2() + "'" +
+            ", date3='" + getDate3() + "'" +
+            ", confirmation='" + isConfirmation() + "'" +
+            ", appointmentDateAndHour='" + getAppointmentDateAndHour() + "'" +
+            "}";
+    }
+}
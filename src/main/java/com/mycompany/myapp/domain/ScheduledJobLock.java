@@ -0,0 +1,146 @@
+package com.mycompany.myapp.domain;
+
+import org.springframework.data.domain.Persistable;
+
+import javax.persistence.*;
+import javax.validation.constraints.*;
+
+import java.io.Serializable;
+import java.time.Instant;
+import java.util.Objects;
+
+/**
+ * The lease a node holds on a scheduled job, so that the job runs on a single node of the cluster.
+ * <p>
+ * A lease is free once {@code lockedUntil} is past: the node holding it renews it while the job
+ * runs, so the lease of a dead node expires and another node takes the job over.
+ * <p>
+ * The name is assigned, so a new lease is always inserted with {@code persist} rather than merged:
+ * of two nodes creating the same lease, the second one fails on the primary key instead of
+ * overwriting the row of the first one.
+ */
+@Entity
+@Table(name = "scheduled_job_lock")
+public class ScheduledJobLock implements Persistable<String>, Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    @Id
+    @Size(max = 64)
+    @Column(name = "name", length = 64)
+    private String name;
+
+    @NotNull
+    @Column(name = "locked_until", nullable = false)
+    private Instant lockedUntil;
+
+    @NotNull
+    @Column(name = "locked_at", nullable = false)
+    private Instant lockedAt;
+
+    @NotNull
+    @Size(max = 255)
+    @Column(name = "locked_by", length = 255, nullable = false)
+    private String lockedBy;
+
+    @Transient
+    private boolean isNew = true;
+
+    public String getName() {
+        return name;
+    }
+
+    public ScheduledJobLock name(String name) {
+        this.name = name;
+        return this;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public Instant getLockedUntil() {
+        return lockedUntil;
+    }
+
+    public ScheduledJobLock lockedUntil(Instant lockedUntil) {
+        this.lockedUntil = lockedUntil;
+        return this;
+    }
+
+    public void setLockedUntil(Instant lockedUntil) {
+        this.lockedUntil = lockedUntil;
+    }
+
+    public Instant getLockedAt() {
+        return lockedAt;
+    }
+
+    public ScheduledJobLock lockedAt(Instant lockedAt) {
+        this.lockedAt = lockedAt;
+        return this;
+    }
+
+    public void setLockedAt(Instant lockedAt) {
+        this.lockedAt = lockedAt;
+    }
+
+    public String getLockedBy() {
+        return lockedBy;
+    }
+
+    public ScheduledJobLock lockedBy(String lockedBy) {
+        this.lockedBy = lockedBy;
+        return this;
+    }
+
+    public void setLockedBy(String lockedBy) {
+        this.lockedBy = lockedBy;
+    }
+
+    @Override
+    public String getId() {
+        return name;
+    }
+
+    @Override
+    public boolean isNew() {
+        return isNew;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markNotNew() {
+        this.isNew = false;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        ScheduledJobLock scheduledJobLock = (ScheduledJobLock) o;
+        if (scheduledJobLock.getName() == null || getName() == null) {
+            return false;
+        }
+        return Objects.equals(getName(), scheduledJobLock.getName());
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hashCode(getName());
+    }
+
+    @Override
+    public String toString() {
+        return "ScheduledJobLock{" +
+            "name='" + getName() + "'" +
+            ", lockedUntil='" + getLockedUntil() + "'" +
+            ", lockedAt='" + getLockedAt() + "'" +
+            ", lockedBy='" + getLockedBy() + "'" +
+            "}";
+    }
+}
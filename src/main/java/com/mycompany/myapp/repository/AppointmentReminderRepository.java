@@ -0,0 +1,12 @@
+package com.mycompany.myapp.repository;
+
+import com.mycompany.myapp.domain.AppointmentReminder;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Spring Data  repository for the AppointmentReminder entity.
+ */
+@Repository
+public interface AppointmentReminderRepository extends JpaRepository<AppointmentReminder, Long> {
+}
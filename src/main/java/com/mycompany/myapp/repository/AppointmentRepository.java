@@ -1,9 +1,19 @@
 package com.mycompany.myapp.repository;
 
 import com.mycompany.myapp.domain.Appointment;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import javax.persistence.QueryHint;
+import java.time.ZonedDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
+
 
 /**
  * Spring Data  repository for the Appointment entity.
@@ -12,4 +22,30 @@ import org.springframework.stereotype.Repository;
 @Repository
 public interface AppointmentRepository extends JpaRepository<Appointment, Long>, JpaSpecificationExecutor<Appointment> {
 
+    @Query("select distinct request.patient.id from Appointment appointment join appointment.request request " +
+        "where appointment.dateAndHour >= :from and appointment.dateAndHour < :to " +
+        "and not exists (select reminder.appointmentId from AppointmentReminder reminder " +
+        "where reminder.appointmentId = appointment.id and reminder.dateAndHour = appointment.dateAndHour) " +
+        "order by request.patient.id")
+    List<Long> findPatientIdsToRemind(@Param("from") ZonedDateTime from, @Param("to") ZonedDateTime to, Pageable pageable);
+
+    @Query("select appointment from Appointment appointment join fetch appointment.request request " +
+        "join fetch request.patient join fetch request.doctor " +
+        "where request.patient.id in :patientIds " +
+        "and appointment.dateAndHour >= :from and appointment.dateAndHour < :to " +
+        "and not exists (select reminder.appointmentId from AppointmentReminder reminder " +
+        "where reminder.appointmentId = appointment.id and reminder.dateAndHour = appointment.dateAndHour) " +
+        "order by request.patient.id, appointment.dateAndHour")
+    List<Appointment> findAllToRemind(@Param("patientIds") Collection<Long> patientIds, @Param("from") ZonedDateTime from, @Param("to") ZonedDateTime to);
+
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "" + StreamingQueries.FETCH_SIZE))
+    @Query("select appointment from Appointment appointment join fetch appointment.request request " +
+        "left join fetch request.patient left join fetch request.doctor")
+    Stream<Appointment> streamAllWithRequest();
+
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "" + StreamingQueries.FETCH_SIZE))
+    @Query("select appointment from Appointment appointment join fetch appointment.request request " +
+        "left join fetch request.patient patient left join fetch request.doctor " +
+        "where patient.id = :patientId")
+    Stream<Appointment> streamAllWithRequestByPatientId(@Param("patientId") Long patientId);
 }
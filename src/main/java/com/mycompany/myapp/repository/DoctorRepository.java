@@ -2,8 +2,12 @@ package com.mycompany.myapp.repository;
 
 import com.mycompany.myapp.domain.Doctor;
 import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
 
 /**
  * Spring Data  repository for the Doctor entity.
@@ -12,5 +16,12 @@ import org.springframework.stereotype.Repository;
 @Repository
 public interface DoctorRepository extends JpaRepository<Doctor, Long>, JpaSpecificationExecutor<Doctor> {
 
+    Optional<Doctor> findOneByCin(BigDecimal cin);
+
+    /**
+     * @return the doctor of each request of the patient, in the order of the requests
+     */
+    @Query("select r.doctor from Request r where r.patient.id = :patientId order by r.id")
+    List<Doctor> findAllByRequestsOfPatient(@Param("patientId") Long patientId);
 
 }
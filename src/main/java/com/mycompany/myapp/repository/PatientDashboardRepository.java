@@ -0,0 +1,26 @@
+package com.mycompany.myapp.repository;
+
+import com.mycompany.myapp.domain.PatientDashboard;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * Spring Data  repository for the PatientDashboard entity.
+ */
+@Repository
+public interface PatientDashboardRepository extends JpaRepository<PatientDashboard, Long> {
+
+    List<PatientDashboard> findAllByPatientIdOrderByRequestIdDesc(Long patientId);
+
+    @Modifying
+    @Query("update PatientDashboard patientDashboard set patientDashboard.doctorName = :name," +
+        " patientDashboard.doctorSpeciality = :speciality, patientDashboard.doctorAddress = :address" +
+        " where patientDashboard.doctorId = :doctorId")
+    int updateDoctor(@Param("doctorId") Long doctorId, @Param("name") String name,
+                     @Param("speciality") String speciality, @Param("address") String address);
+}
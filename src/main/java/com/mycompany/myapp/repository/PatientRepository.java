@@ -7,6 +7,7 @@ import org.springframework.data.jpa.repository.*;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -27,5 +28,8 @@ public interface PatientRepository extends JpaRepository<Patient, Long>, JpaSpec
     @Query("select patient from Patient patient left join fetch patient.doctors where patient.id =:id")
     Optional<Patient> findOneWithEagerRelationships(@Param("id") Long id);
 
+    @Query("select distinct patient from Patient patient left join fetch patient.doctors where patient.id in :ids")
+    List<Patient> findAllWithEagerRelationshipsByIdIn(@Param("ids") Collection<Long> ids);
+
     Optional<Patient> findOneByCin(Long l);
 }
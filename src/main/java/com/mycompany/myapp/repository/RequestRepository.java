@@ -6,6 +6,8 @@ import org.springframework.data.jpa.repository.*;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 
@@ -19,4 +21,8 @@ public interface RequestRepository extends JpaRepository<Request, Long>, JpaSpec
     @Query("select request from Request request left join fetch request.appointment where request.id =:id")
     Optional<Request> findOneWithEagerRelationships(@Param("id") Long id);
 
+    @Query("select request from Request request join fetch request.patient join fetch request.doctor " +
+        "left join fetch request.appointment where request.id in :ids")
+    List<Request> findAllWithEagerRelationshipsByIdIn(@Param("ids") Collection<Long> ids);
+
 }
@@ -0,0 +1,35 @@
+package com.mycompany.myapp.repository;
+
+import com.mycompany.myapp.domain.ScheduledJobLock;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+
+/**
+ * Spring Data  repository for the ScheduledJobLock entity.
+ * <p>
+ * Leases are only changed through conditional updates, so that two nodes never both see their update succeed.
+ */
+@Repository
+public interface ScheduledJobLockRepository extends JpaRepository<ScheduledJobLock, String> {
+
+    @Modifying
+    @Query("update ScheduledJobLock l set l.lockedUntil = :lockedUntil, l.lockedAt = :now, l.lockedBy = :lockedBy " +
+        "where l.name = :name and l.lockedUntil <= :now")
+    int acquire(@Param("name") String name, @Param("lockedBy") String lockedBy, @Param("now") Instant now,
+                @Param("lockedUntil") Instant lockedUntil);
+
+    @Modifying
+    @Query("update ScheduledJobLock l set l.lockedUntil = :lockedUntil " +
+        "where l.name = :name and l.lockedBy = :lockedBy and l.lockedUntil > :now")
+    int renew(@Param("name") String name, @Param("lockedBy") String lockedBy, @Param("now") Instant now,
+              @Param("lockedUntil") Instant lockedUntil);
+
+    @Modifying
+    @Query("update ScheduledJobLock l set l.lockedUntil = :lockedUntil where l.name = :name and l.lockedBy = :lockedBy")
+    int release(@Param("name") String name, @Param("lockedBy") String lockedBy, @Param("lockedUntil") Instant lockedUntil);
+}
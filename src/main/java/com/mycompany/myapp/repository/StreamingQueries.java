@@ -0,0 +1,16 @@
+package com.mycompany.myapp.repository;
+
+/**
+ * Constants for the repository methods returning a {@link java.util.stream.Stream}.
+ */
+public final class StreamingQueries {
+
+    /**
+     * Rows fetched per round-trip by streaming queries. MySQL only honours it with "useCursorFetch", otherwise
+     * the driver reads the whole result set at once.
+     */
+    public static final int FETCH_SIZE = 500;
+
+    private StreamingQueries() {
+    }
+}
@@ -4,7 +4,11 @@ import com.mycompany.myapp.domain.Tip;
 import org.springframework.data.jpa.repository.*;
 import org.springframework.stereotype.Repository;
 
+import javax.persistence.QueryHint;
 import java.util.List;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
 
 
 /**
@@ -15,4 +19,8 @@ import java.util.List;
 public interface TipRepository extends JpaRepository<Tip, Long>, JpaSpecificationExecutor<Tip> {
 
     List<Tip> findAll();
+
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "" + StreamingQueries.FETCH_SIZE))
+    @Query("select tip from Tip tip")
+    Stream<Tip> streamAll();
 }
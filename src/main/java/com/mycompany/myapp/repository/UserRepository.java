@@ -6,7 +6,11 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.time.Instant;
@@ -21,6 +25,17 @@ public interface UserRepository extends JpaRepository<User, Long> {
 
     List<User> findAllByActivatedIsFalseAndCreatedDateBefore(Instant dateTime);
 
+    @Query("select user.id from User user where user.activated = false and user.createdDate < :dateTime order by user.id")
+    List<Long> findIdsByActivatedIsFalseAndCreatedDateBefore(@Param("dateTime") Instant dateTime, Pageable pageable);
+
+    @Modifying
+    @Query(value = "delete from jhi_user_authority where user_id in (:ids)", nativeQuery = true)
+    void deleteAuthoritiesByUserIdIn(@Param("ids") Collection<Long> ids);
+
+    @Modifying
+    @Query("delete from User user where user.id in (:ids)")
+    void deleteByIdIn(@Param("ids") Collection<Long> ids);
+
     Optional<User> findOneByResetKey(String resetKey);
 
     Optional<User> findOneByEmailIgnoreCase(String email);
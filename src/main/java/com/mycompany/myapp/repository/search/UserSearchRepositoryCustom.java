@@ -0,0 +1,43 @@
+package com.mycompany.myapp.repository.search;
+
+import com.mycompany.myapp.domain.User;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Operations of the UserSearchRepository which Spring Data Elasticsearch does not derive.
+ */
+public interface UserSearchRepositoryCustom {
+
+    /**
+     * Delete users from the index with a single request.
+     *
+     * @param ids the ids of the users to delete
+     */
+    void bulkDelete(Collection<Long> ids);
+
+    /**
+     * Search for a page of users, reading only the fields shown in the user management grid.
+     *
+     * @param query the query string
+     * @param pageable the pagination information
+     * @return the page of users, with only their summary fields set
+     */
+    Page<User> searchSummaries(String query, Pageable pageable);
+
+    /**
+     * Search for the users following a given one in id order, reading only the fields shown in the
+     * user management grid.
+     * <p>
+     * Unlike pages, this does not get slower nor hit the index result window as the scroll goes deeper.
+     *
+     * @param query the query string
+     * @param afterId the id of the last user already read, or null to start from the first one
+     * @param size the number of users to read
+     * @return the users, by increasing id, with only their summary fields set
+     */
+    List<User> searchSummariesAfter(String query, Long afterId, int size);
+}
@@ -0,0 +1,72 @@
+package com.mycompany.myapp.repository.search;
+
+import com.mycompany.myapp.domain.User;
+import org.elasticsearch.index.query.BoolQueryBuilder;
+import org.elasticsearch.search.sort.SortBuilders;
+import org.elasticsearch.search.sort.SortOrder;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.elasticsearch.core.ElasticsearchOperations;
+import org.springframework.data.elasticsearch.core.query.DeleteQuery;
+import org.springframework.data.elasticsearch.core.query.FetchSourceFilter;
+import org.springframework.data.elasticsearch.core.query.NativeSearchQueryBuilder;
+import org.springframework.data.elasticsearch.core.query.SearchQuery;
+
+import java.util.Collection;
+import java.util.List;
+
+import static org.elasticsearch.index.query.QueryBuilders.*;
+
+/**
+ * Implementation of {@link UserSearchRepositoryCustom}, picked up by Spring Data for the UserSearchRepository.
+ */
+public class UserSearchRepositoryImpl implements UserSearchRepositoryCustom {
+
+    /**
+     * Fields of the indexed users shown in the user management grid.
+     */
+    private static final String[] SUMMARY_FIELDS = {"id", "login", "firstName", "lastName", "email", "activated", "langKey"};
+
+    private final ElasticsearchOperations elasticsearchOperations;
+
+    public UserSearchRepositoryImpl(ElasticsearchOperations elasticsearchOperations) {
+        this.elasticsearchOperations = elasticsearchOperations;
+    }
+
+    @Override
+    public void bulkDelete(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        DeleteQuery deleteQuery = new DeleteQuery();
+        deleteQuery.setQuery(idsQuery().addIds(ids.stream().map(String::valueOf).toArray(String[]::new)));
+        elasticsearchOperations.delete(deleteQuery, User.class);
+    }
+
+    @Override
+    public Page<User> searchSummaries(String query, Pageable pageable) {
+        SearchQuery searchQuery = new NativeSearchQueryBuilder()
+            .withQuery(queryStringQuery(query))
+            .withSourceFilter(new FetchSourceFilter(SUMMARY_FIELDS, null))
+            .withPageable(pageable)
+            .build();
+        return elasticsearchOperations.queryForPage(searchQuery, User.class);
+    }
+
+    @Override
+    public List<User> searchSummariesAfter(String query, Long afterId, int size) {
+        BoolQueryBuilder boolQuery = boolQuery().must(queryStringQuery(query));
+        if (afterId != null) {
+            // The id is unique, so filtering on it resumes exactly where the previous batch stopped, as search_after would
+            boolQuery.filter(rangeQuery("id").gt(afterId));
+        }
+        SearchQuery searchQuery = new NativeSearchQueryBuilder()
+            .withQuery(boolQuery)
+            .withSourceFilter(new FetchSourceFilter(SUMMARY_FIELDS, null))
+            .withSort(SortBuilders.fieldSort("id").order(SortOrder.ASC))
+            .withPageable(PageRequest.of(0, size))
+            .build();
+        return elasticsearchOperations.queryForList(searchQuery, User.class);
+    }
+}
@@ -0,0 +1,93 @@
+package com.mycompany.myapp.security;
+
+import com.mycompany.myapp.web.rest.errors.TooManyRequestsException;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.*;
+
+/**
+ * BCrypt password encoder running the hashing on a dedicated, bounded thread pool.
+ * <p>
+ * At most one hash per pool thread runs at a time, so a login spike cannot take the CPU from the rest of
+ * the API. When the pool and its queue are full, the request is rejected with a
+ * {@link TooManyRequestsException} (429) instead of piling up.
+ */
+public class BoundedPasswordEncoder implements PasswordEncoder {
+
+    private static final Logger log = LoggerFactory.getLogger(BoundedPasswordEncoder.class);
+
+    private final PasswordEncoder delegate;
+
+    private final ThreadPoolExecutor executor;
+
+    public BoundedPasswordEncoder(PasswordEncoder delegate, int threads, int queueCapacity) {
+        this.delegate = delegate;
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(queueCapacity), new CustomizableThreadFactory("password-hashing-"));
+    }
+
+    /**
+     * Find the highest BCrypt strength whose hash takes less than the target time on this machine.
+     *
+     * @param targetMs the time (in ms) a hash should take
+     * @param minStrength the strength to use whatever the time it takes
+     * @param maxStrength the strength not to go over
+     * @return the calibrated strength
+     */
+    public static int calibrateStrength(long targetMs, int minStrength, int maxStrength) {
+        int strength = minStrength;
+        while (strength < maxStrength) {
+            long start = System.nanoTime();
+            new BCryptPasswordEncoder(strength).encode("calibration");
+            long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+            // each step doubles the cost of a hash
+            if (elapsedMs * 2 > targetMs) {
+                break;
+            }
+            strength++;
+        }
+        log.info("Calibrated BCrypt strength to {} for a target of {} ms", strength, targetMs);
+        return strength;
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return hash(() -> delegate.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return hash(() -> delegate.matches(rawPassword, encodedPassword));
+    }
+
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    private <T> T hash(Callable<T> hashing) {
+        Future<T> future;
+        try {
+            future = executor.submit(hashing);
+        } catch (RejectedExecutionException e) {
+            log.warn("Password hashing is saturated, rejecting the request");
+            throw new TooManyRequestsException();
+        }
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while hashing a password", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IllegalStateException("Password hashing failed", e.getCause());
+        }
+    }
+}
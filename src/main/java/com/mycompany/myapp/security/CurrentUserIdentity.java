@@ -0,0 +1,92 @@
+package com.mycompany.myapp.security;
+
+import com.mycompany.myapp.domain.Doctor;
+import com.mycompany.myapp.domain.Patient;
+import com.mycompany.myapp.repository.DoctorRepository;
+import com.mycompany.myapp.repository.PatientRepository;
+import com.mycompany.myapp.repository.UserRepository;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.context.annotation.RequestScope;
+
+import java.math.BigDecimal;
+import java.util.Optional;
+
+/**
+ * Resolves the identity of the current user once per HTTP request.
+ * <p>
+ * A JWT carries the identity in its claims (see {@link com.mycompany.myapp.security.jwt.TokenProvider}), so it
+ * costs no query; otherwise, e.g. for a token issued before the claims existed, it is read from the database.
+ */
+@Component
+@RequestScope
+public class CurrentUserIdentity {
+
+    private final Logger log = LoggerFactory.getLogger(CurrentUserIdentity.class);
+
+    private final UserRepository userRepository;
+
+    private final PatientRepository patientRepository;
+
+    private final DoctorRepository doctorRepository;
+
+    private Optional<UserIdentity> identity;
+
+    public CurrentUserIdentity(UserRepository userRepository, PatientRepository patientRepository, DoctorRepository doctorRepository) {
+        this.userRepository = userRepository;
+        this.patientRepository = patientRepository;
+        this.doctorRepository = doctorRepository;
+    }
+
+    /**
+     * @return the identity of the current user, empty if nobody is logged in
+     */
+    @Transactional(readOnly = true)
+    public Optional<UserIdentity> get() {
+        if (identity == null) {
+            identity = resolve();
+        }
+        return identity;
+    }
+
+    /**
+     * @return the id of the current patient, empty if the current user is not a patient
+     */
+    public Optional<Long> getPatientId() {
+        return get().map(UserIdentity::getPatientId);
+    }
+
+    /**
+     * @return the id of the current doctor, empty if the current user is not a doctor
+     */
+    public Optional<Long> getDoctorId() {
+        return get().map(UserIdentity::getDoctorId);
+    }
+
+    /**
+     * @return the id of the current user, empty if nobody is logged in
+     */
+    public Optional<Long> getUserId() {
+        return get().map(UserIdentity::getUserId);
+    }
+
+    private Optional<UserIdentity> resolve() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getDetails() instanceof UserIdentity) {
+            return Optional.of((UserIdentity) authentication.getDetails());
+        }
+        return SecurityUtils.getCurrentUserLogin()
+            .flatMap(userRepository::findOneByLogin)
+            .map(user -> {
+                log.debug("Reading the identity of user {} from the database", user.getLogin());
+                return new UserIdentity(user.getLogin(), user.getId(),
+                    patientRepository.findOneByCin(user.getId()).map(Patient::getId).orElse(null),
+                    doctorRepository.findOneByCin(BigDecimal.valueOf(user.getId())).map(Doctor::getId).orElse(null));
+            });
+    }
+}
@@ -1,7 +1,9 @@
 package com.mycompany.myapp.security;
 
+import com.mycompany.myapp.config.ApplicationProperties;
 import com.mycompany.myapp.domain.User;
 import com.mycompany.myapp.repository.UserRepository;
+import com.mycompany.myapp.service.event.UserChangedEvent;
 import org.hibernate.validator.internal.constraintvalidators.hv.EmailValidator;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -11,13 +13,21 @@ import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Component;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
 
 import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
 
 /**
  * Authenticate a user from the database.
+ * <p>
+ * The logins of activated users are cached (see {@link ApplicationProperties.LoginCache}), so that repeated
+ * authentications do not reach the database. A login is evicted when the UserService changes it, and a lookup
+ * which read the user before such a change committed is not cached. The other nodes evict it when the change
+ * reaches them through the TokenRevocationService; if that message is lost, they keep it until the TTL.
  */
 @Component("userDetailsService")
 public class DomainUserDetailsService implements UserDetailsService {
@@ -26,37 +36,131 @@ public class DomainUserDetailsService implements UserDetailsService {
 
     private final UserRepository userRepository;
 
-    public DomainUserDetailsService(UserRepository userRepository) {
+    private final long ttlMillis;
+
+    private final Map<String, CachedLogin> cache;
+
+    /**
+     * Incremented by each eviction, under the lock of the cache.
+     */
+    private final AtomicLong generation = new AtomicLong();
+
+    public DomainUserDetailsService(UserRepository userRepository, ApplicationProperties applicationProperties) {
         this.userRepository = userRepository;
+        int maxEntries = applicationProperties.getLoginCache().getMaxEntries();
+        this.ttlMillis = TimeUnit.SECONDS.toMillis(applicationProperties.getLoginCache().getTtlSeconds());
+        this.cache = Collections.synchronizedMap(new LinkedHashMap<String, CachedLogin>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedLogin> eldest) {
+                return size() > maxEntries;
+            }
+        });
     }
 
     @Override
-    @Transactional
     public UserDetails loadUserByUsername(final String login) {
         log.debug("Authenticating {}", login);
+        // read before the user, so that a change committed while they are read is noticed
+        long readGeneration = generation.get();
 
         if (new EmailValidator().isValid(login, null)) {
-            return userRepository.findOneWithAuthoritiesByEmail(login)
-                .map(user -> createSpringSecurityUser(login, user))
-                .orElseThrow(() -> new UsernameNotFoundException("User with email " + login + " was not found in the database"));
+            return cached(login).orElseGet(() -> userRepository.findOneWithAuthoritiesByEmail(login)
+                .map(user -> createSpringSecurityUser(login, user, readGeneration))
+                .orElseThrow(() -> new UsernameNotFoundException("User with email " + login + " was not found in the database")));
         }
 
         String lowercaseLogin = login.toLowerCase(Locale.ENGLISH);
-        return userRepository.findOneWithAuthoritiesByLogin(lowercaseLogin)
-            .map(user -> createSpringSecurityUser(lowercaseLogin, user))
-            .orElseThrow(() -> new UsernameNotFoundException("User " + lowercaseLogin + " was not found in the database"));
+        return cached(lowercaseLogin).orElseGet(() -> userRepository.findOneWithAuthoritiesByLogin(lowercaseLogin)
+            .map(user -> createSpringSecurityUser(lowercaseLogin, user, readGeneration))
+            .orElseThrow(() -> new UsernameNotFoundException("User " + lowercaseLogin + " was not found in the database")));
+
+    }
+
+    /**
+     * Evict a user from the cache once the change made to them has committed (or been rolled back).
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMPLETION, fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        evict(event.getLogin());
+    }
+
+    /**
+     * Evict a user from the cache.
+     *
+     * @param login the login of the user
+     */
+    public void evict(String login) {
+        log.debug("Evicting cached login {}", login);
+        // a user may be cached under their login and their email
+        synchronized (cache) {
+            generation.incrementAndGet();
+            cache.values().removeIf(cachedLogin -> cachedLogin.login.equals(login));
+        }
+    }
+
+    public void evictAll() {
+        synchronized (cache) {
+            generation.incrementAndGet();
+            cache.clear();
+        }
+    }
 
+    private Optional<UserDetails> cached(String key) {
+        CachedLogin cachedLogin = cache.get(key);
+        if (cachedLogin == null) {
+            return Optional.empty();
+        }
+        if (cachedLogin.expiresAt < System.currentTimeMillis()) {
+            cache.remove(key, cachedLogin);
+            return Optional.empty();
+        }
+        return Optional.of(cachedLogin.toUserDetails());
     }
 
-    private org.springframework.security.core.userdetails.User createSpringSecurityUser(String lowercaseLogin, User user) {
+    private UserDetails createSpringSecurityUser(String lowercaseLogin, User user, long readGeneration) {
         if (!user.getActivated()) {
             throw new UserNotActivatedException("User " + lowercaseLogin + " was not activated");
         }
         List<GrantedAuthority> grantedAuthorities = user.getAuthorities().stream()
             .map(authority -> new SimpleGrantedAuthority(authority.getName()))
             .collect(Collectors.toList());
-        return new org.springframework.security.core.userdetails.User(user.getLogin(),
-            user.getPassword(),
-            grantedAuthorities);
+        CachedLogin cachedLogin = new CachedLogin(user.getLogin(), user.getPassword(), grantedAuthorities,
+            System.currentTimeMillis() + ttlMillis);
+        // emails are stored in lowercase: other spellings are left to the collation of the database, uncached
+        if (lowercaseLogin.equals(lowercaseLogin.toLowerCase(Locale.ENGLISH))) {
+            synchronized (cache) {
+                // an eviction since the user was read means they may have been read before the change
+                if (generation.get() == readGeneration) {
+                    cache.put(lowercaseLogin, cachedLogin);
+                }
+            }
+        }
+        return cachedLogin.toUserDetails();
+    }
+
+    /**
+     * What a login needs from a user. A new UserDetails is built on each authentication, as Spring Security
+     * erases the password of the one it authenticated with.
+     */
+    private static final class CachedLogin {
+
+        private final String login;
+
+        private final String password;
+
+        private final List<GrantedAuthority> authorities;
+
+        private final long expiresAt;
+
+        private CachedLogin(String login, String password, List<GrantedAuthority> authorities, long expiresAt) {
+            this.login = login;
+            this.password = password;
+            this.authorities = Collections.unmodifiableList(authorities);
+            this.expiresAt = expiresAt;
+        }
+
+        private UserDetails toUserDetails() {
+            return new org.springframework.security.core.userdetails.User(login, password, authorities);
+        }
     }
 }
@@ -0,0 +1,60 @@
+package com.mycompany.myapp.security;
+
+import java.io.Serializable;
+
+/**
+ * The ids of the current user, and of the patient or doctor they are.
+ * <p>
+ * Patients and doctors are linked to their user through their "cin", which holds the id of the user.
+ */
+public class UserIdentity implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private final String login;
+
+    private final Long userId;
+
+    private final Long patientId;
+
+    private final Long doctorId;
+
+    public UserIdentity(String login, Long userId, Long patientId, Long doctorId) {
+        this.login = login;
+        this.userId = userId;
+        this.patientId = patientId;
+        this.doctorId = doctorId;
+    }
+
+    public String getLogin() {
+        return login;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    /**
+     * @return the id of the patient, or null if the user is not a patient
+     */
+    public Long getPatientId() {
+        return patientId;
+    }
+
+    /**
+     * @return the id of the doctor, or null if the user is not a doctor
+     */
+    public Long getDoctorId() {
+        return doctorId;
+    }
+
+    @Override
+    public String toString() {
+        return "UserIdentity{" +
+            "login='" + login + '\'' +
+            ", userId=" + userId +
+            ", patientId=" + patientId +
+            ", doctorId=" + doctorId +
+            "}";
+    }
+}
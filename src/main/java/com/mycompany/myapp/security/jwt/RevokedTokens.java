@@ -0,0 +1,53 @@
+package com.mycompany.myapp.security.jwt;
+
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.Date;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * The tokens revoked on this node, as a watermark per user: a token of the user issued before it is revoked.
+ * <p>
+ * Checking a token is a single map lookup, and the map only holds the users who revoked their tokens
+ * within the token validity. Token issue times are in seconds, so the watermark is rounded down to the
+ * second: a token issued in the same second as the revocation stays valid.
+ */
+@Component
+public class RevokedTokens {
+
+    private final ConcurrentMap<String, Long> watermarks = new ConcurrentHashMap<>();
+
+    /**
+     * Revoke the tokens of a user issued before a given time.
+     *
+     * @param login the login of the user
+     * @param before the time before which the tokens are revoked
+     */
+    public void revoke(String login, Instant before) {
+        watermarks.merge(login, before.getEpochSecond(), Math::max);
+    }
+
+    /**
+     * @param login the login of the user the token was issued to
+     * @param issuedAt the time the token was issued, null if the token does not tell
+     * @return true if the token is revoked
+     */
+    public boolean isRevoked(String login, Date issuedAt) {
+        Long watermark = watermarks.get(login);
+        if (watermark == null) {
+            return false;
+        }
+        return issuedAt == null || issuedAt.getTime() / 1000 < watermark;
+    }
+
+    /**
+     * Forget the revocations older than a given time, once the tokens they revoke have expired anyway.
+     *
+     * @param before the time before which revocations are forgotten
+     */
+    public void prune(Instant before) {
+        watermarks.values().removeIf(watermark -> watermark < before.getEpochSecond());
+    }
+}
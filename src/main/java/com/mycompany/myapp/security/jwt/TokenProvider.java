@@ -6,6 +6,8 @@ import java.util.*;
 import java.util.stream.Collectors;
 import javax.annotation.PostConstruct;
 
+import com.mycompany.myapp.security.UserIdentity;
+
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
@@ -28,6 +30,12 @@ public class TokenProvider {
 
     private static final String AUTHORITIES_KEY = "auth";
 
+    private static final String USER_ID_KEY = "uid";
+
+    private static final String PATIENT_ID_KEY = "pid";
+
+    private static final String DOCTOR_ID_KEY = "did";
+
     private Key key;
 
     private long tokenValidityInMilliseconds;
@@ -36,8 +44,11 @@ public class TokenProvider {
 
     private final JHipsterProperties jHipsterProperties;
 
-    public TokenProvider(JHipsterProperties jHipsterProperties) {
+    private final RevokedTokens revokedTokens;
+
+    public TokenProvider(JHipsterProperties jHipsterProperties, RevokedTokens revokedTokens) {
         this.jHipsterProperties = jHipsterProperties;
+        this.revokedTokens = revokedTokens;
     }
 
     @PostConstruct
@@ -61,6 +72,18 @@ public class TokenProvider {
     }
 
     public String createToken(Authentication authentication, boolean rememberMe) {
+        return createToken(authentication, rememberMe, null);
+    }
+
+    /**
+     * Create a token carrying the identity of the user, so that requests do not need to read it from the database.
+     *
+     * @param authentication the authentication of the user
+     * @param rememberMe whether the token has the long validity
+     * @param identity the identity of the user, or null to leave it out of the token
+     * @return the token
+     */
+    public String createToken(Authentication authentication, boolean rememberMe, UserIdentity identity) {
         String authorities = authentication.getAuthorities().stream()
             .map(GrantedAuthority::getAuthority)
             .collect(Collectors.joining(","));
@@ -73,9 +96,18 @@ public class TokenProvider {
             validity = new Date(now + this.tokenValidityInMilliseconds);
         }
 
-        return Jwts.builder()
+        JwtBuilder builder = Jwts.builder()
             .setSubject(authentication.getName())
             .claim(AUTHORITIES_KEY, authorities)
+            .setIssuedAt(new Date(now));
+        if (identity != null) {
+            // A null id leaves its claim out
+            builder
+                .claim(USER_ID_KEY, identity.getUserId())
+                .claim(PATIENT_ID_KEY, identity.getPatientId())
+                .claim(DOCTOR_ID_KEY, identity.getDoctorId());
+        }
+        return builder
             .signWith(key, SignatureAlgorithm.HS512)
             .setExpiration(validity)
             .compact();
@@ -94,12 +126,27 @@ public class TokenProvider {
 
         User principal = new User(claims.getSubject(), "", authorities);
 
-        return new UsernamePasswordAuthenticationToken(principal, token, authorities);
+        UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(principal, token, authorities);
+        if (claims.containsKey(USER_ID_KEY)) {
+            authentication.setDetails(new UserIdentity(claims.getSubject(), getId(claims, USER_ID_KEY),
+                getId(claims, PATIENT_ID_KEY), getId(claims, DOCTOR_ID_KEY)));
+        }
+        return authentication;
+    }
+
+    private Long getId(Claims claims, String key) {
+        // Small ids are parsed back as integers
+        Number id = claims.get(key, Number.class);
+        return id == null ? null : id.longValue();
     }
 
     public boolean validateToken(String authToken) {
         try {
-            Jwts.parser().setSigningKey(key).parseClaimsJws(authToken);
+            Claims claims = Jwts.parser().setSigningKey(key).parseClaimsJws(authToken).getBody();
+            if (revokedTokens.isRevoked(claims.getSubject(), claims.getIssuedAt())) {
+                log.info("Revoked JWT token.");
+                return false;
+            }
             return true;
         } catch (io.jsonwebtoken.security.SecurityException | MalformedJwtException e) {
             log.info("Invalid JWT signature.");
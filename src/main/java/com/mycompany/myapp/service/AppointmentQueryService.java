@@ -2,6 +2,7 @@ package com.mycompany.myapp.service;
 
 import java.util.List;
 
+import javax.persistence.criteria.Fetch;
 import javax.persistence.criteria.JoinType;
 
 import org.slf4j.Logger;
@@ -54,7 +55,7 @@ public class AppointmentQueryService extends QueryService<Appointment> {
     @Transactional(readOnly = true)
     public List<AppointmentDTO> findByCriteria(AppointmentCriteria criteria) {
         log.debug("find by criteria : {}", criteria);
-        final Specification<Appointment> specification = createSpecification(criteria);
+        final Specification<Appointment> specification = createSpecification(criteria).and(fetchRequest());
         return appointmentMapper.toDto(appointmentRepository.findAll(specification));
     }
 
@@ -67,7 +68,7 @@ public class AppointmentQueryService extends QueryService<Appointment> {
     @Transactional(readOnly = true)
     public Page<AppointmentDTO> findByCriteria(AppointmentCriteria criteria, Pageable page) {
         log.debug("find by criteria : {}, page: {}", criteria, page);
-        final Specification<Appointment> specification = createSpecification(criteria);
+        final Specification<Appointment> specification = createSpecification(criteria).and(fetchRequest());
         return appointmentRepository.findAll(specification, page)
             .map(appointmentMapper::toDto);
     }
@@ -87,7 +88,7 @@ public class AppointmentQueryService extends QueryService<Appointment> {
     /**
      * Function to convert AppointmentCriteria to a {@link Specification}
      */
-    private Specification<Appointment> createSpecification(AppointmentCriteria criteria) {
+    Specification<Appointment> createSpecification(AppointmentCriteria criteria) {
         Specification<Appointment> specification = Specification.where(null);
         if (criteria != null) {
             if (criteria.getId() != null) {
@@ -103,4 +104,19 @@ public class AppointmentQueryService extends QueryService<Appointment> {
         }
         return specification;
     }
+
+    /**
+     * Fetch the request of the appointments, with its patient and doctor, in the same query instead of one query per
+     * appointment. The count query of a page cannot fetch, so it is left as is.
+     */
+    private static Specification<Appointment> fetchRequest() {
+        return (root, query, builder) -> {
+            if (!Long.class.equals(query.getResultType())) {
+                Fetch<Appointment, Request> request = root.fetch(Appointment_.request);
+                request.fetch(Request_.patient);
+                request.fetch(Request_.doctor);
+            }
+            return null;
+        };
+    }
 }
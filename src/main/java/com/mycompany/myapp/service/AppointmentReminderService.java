@@ -0,0 +1,118 @@
+package com.mycompany.myapp.service;
+
+import com.mycompany.myapp.config.ApplicationProperties;
+import com.mycompany.myapp.domain.Appointment;
+import com.mycompany.myapp.domain.AppointmentReminder;
+import com.mycompany.myapp.domain.Patient;
+import com.mycompany.myapp.repository.AppointmentReminderRepository;
+import com.mycompany.myapp.repository.AppointmentRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Service sending reminder emails for upcoming appointments.
+ * <p>
+ * Appointments are read in chunks of patients, so that only one chunk is held in memory
+ * and each chunk is committed in its own transaction.
+ */
+@Service
+public class AppointmentReminderService {
+
+    private final Logger log = LoggerFactory.getLogger(AppointmentReminderService.class);
+
+    private final AppointmentRepository appointmentRepository;
+
+    private final AppointmentReminderRepository appointmentReminderRepository;
+
+    private final MailService mailService;
+
+    private final ApplicationProperties applicationProperties;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final ScheduledJobLockService scheduledJobLockService;
+
+    public AppointmentReminderService(AppointmentRepository appointmentRepository, AppointmentReminderRepository appointmentReminderRepository,
+            MailService mailService, ApplicationProperties applicationProperties, PlatformTransactionManager transactionManager,
+            ScheduledJobLockService scheduledJobLockService) {
+        this.appointmentRepository = appointmentRepository;
+        this.appointmentReminderRepository = appointmentReminderRepository;
+        this.mailService = mailService;
+        this.applicationProperties = applicationProperties;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.scheduledJobLockService = scheduledJobLockService;
+    }
+
+    /**
+     * Send reminders for the appointments of the next hours.
+     * <p>
+     * This is scheduled to get fired every 15 minutes, and only runs on the instance holding the job's lease.
+     */
+    @Scheduled(cron = "0 0/15 * * * ?")
+    public void sendAppointmentReminders() {
+        scheduledJobLockService.runExclusively("sendAppointmentReminders", this::sendReminders);
+    }
+
+    private void sendReminders() {
+        ZonedDateTime from = ZonedDateTime.now();
+        ZonedDateTime to = from.plusHours(applicationProperties.getReminder().getWindowHours());
+        int reminded = 0;
+        Map<Patient, List<Appointment>> chunk;
+        do {
+            chunk = transactionTemplate.execute(status -> recordNextChunk(from, to));
+            // Emails are only queued once the chunk is committed, so a rolled back chunk is not reminded twice
+            chunk.forEach(this::sendReminder);
+            reminded += chunk.values().stream().mapToInt(List::size).sum();
+        } while (!chunk.isEmpty());
+        log.debug("Sent reminders for {} appointment(s) between {} and {}", reminded, from, to);
+    }
+
+    /**
+     * Record the reminders of the next chunk of patients.
+     *
+     * @return the appointments to remind, grouped by patient, empty when there is nothing left to remind
+     */
+    private Map<Patient, List<Appointment>> recordNextChunk(ZonedDateTime from, ZonedDateTime to) {
+        // Reminded appointments are recorded below, so the first page always holds the next chunk
+        List<Long> patientIds = appointmentRepository.findPatientIdsToRemind(from, to,
+            PageRequest.of(0, applicationProperties.getReminder().getChunkSize()));
+        if (patientIds.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        List<Appointment> appointments = appointmentRepository.findAllToRemind(patientIds, from, to);
+        Instant now = Instant.now().truncatedTo(ChronoUnit.SECONDS);
+        appointmentReminderRepository.saveAll(appointments.stream()
+            .map(appointment -> new AppointmentReminder()
+                .appointmentId(appointment.getId())
+                .dateAndHour(appointment.getDateAndHour())
+                .sentDate(now))
+            .collect(Collectors.toList()));
+        appointmentReminderRepository.flush();
+        return appointments.stream()
+            .collect(Collectors.groupingBy(appointment -> appointment.getRequest().getPatient(),
+                LinkedHashMap::new, Collectors.toList()));
+    }
+
+    private void sendReminder(Patient patient, List<Appointment> appointments) {
+        if (patient.getEmail() == null) {
+            log.debug("Patient {} has no email, skipping {} reminder(s)", patient.getId(), appointments.size());
+            return;
+        }
+        mailService.sendAppointmentReminderEmail(patient, appointments);
+    }
+}
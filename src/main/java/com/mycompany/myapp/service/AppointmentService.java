@@ -5,17 +5,24 @@ import com.mycompany.myapp.repository.AppointmentRepository;
 import com.mycompany.myapp.repository.RequestRepository;
 import com.mycompany.myapp.repository.search.AppointmentSearchRepository;
 import com.mycompany.myapp.service.dto.AppointmentDTO;
+import com.mycompany.myapp.service.event.AppointmentChangedEvent;
+import com.mycompany.myapp.service.event.EntityChangedEvent.Action;
 import com.mycompany.myapp.service.mapper.AppointmentMapper;
+import com.mycompany.myapp.service.util.StreamUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import javax.persistence.EntityManager;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 import static org.elasticsearch.index.query.QueryBuilders.*;
 
@@ -36,11 +43,18 @@ public class AppointmentService {
 
     private final RequestRepository requestRepository;
 
-    public AppointmentService(AppointmentRepository appointmentRepository, AppointmentMapper appointmentMapper, AppointmentSearchRepository appointmentSearchRepository, RequestRepository requestRepository) {
+    private final ApplicationEventPublisher applicationEventPublisher;
+
+    private final EntityManager entityManager;
+
+    public AppointmentService(AppointmentRepository appointmentRepository, AppointmentMapper appointmentMapper, AppointmentSearchRepository appointmentSearchRepository, RequestRepository requestRepository,
+                              ApplicationEventPublisher applicationEventPublisher, EntityManager entityManager) {
         this.appointmentRepository = appointmentRepository;
         this.appointmentMapper = appointmentMapper;
         this.appointmentSearchRepository = appointmentSearchRepository;
         this.requestRepository = requestRepository;
+        this.applicationEventPublisher = applicationEventPublisher;
+        this.entityManager = entityManager;
     }
 
     /**
@@ -51,12 +65,14 @@ public class AppointmentService {
      */
     public AppointmentDTO save(AppointmentDTO appointmentDTO) {
         log.debug("Request to save Appointment : {}", appointmentDTO);
+        Action action = appointmentDTO.getId() == null ? Action.CREATED : Action.UPDATED;
         Appointment appointment = appointmentMapper.toEntity(appointmentDTO);
         long requestId = appointmentDTO.getRequestId();
         requestRepository.findById(requestId).ifPresent(appointment::request);
         appointment = appointmentRepository.save(appointment);
         AppointmentDTO result = appointmentMapper.toDto(appointment);
         appointmentSearchRepository.save(appointment);
+        applicationEventPublisher.publishEvent(new AppointmentChangedEvent(action, result, appointment));
         return result;
     }
 
@@ -94,6 +110,8 @@ public class AppointmentService {
      */
     public void delete(Long id) {
         log.debug("Request to delete Appointment : {}", id);
+        appointmentRepository.findById(id).ifPresent(appointment ->
+            applicationEventPublisher.publishEvent(new AppointmentChangedEvent(Action.DELETED, appointmentMapper.toDto(appointment), appointment)));
         appointmentRepository.deleteById(id);
         appointmentSearchRepository.deleteById(id);
     }
@@ -115,4 +133,31 @@ public class AppointmentService {
     public List<Appointment> findAll() {
         return appointmentRepository.findAll();
     }
+
+    /**
+     * Hand all the appointments, with their request, patient and doctor, to a consumer as they are read.
+     *
+     * @param consumer the consumer of the appointments, called within the transaction
+     */
+    @Transactional(readOnly = true)
+    public void streamAll(Consumer<Stream<Appointment>> consumer) {
+        log.debug("Request to stream all Appointments");
+        try (Stream<Appointment> appointments = appointmentRepository.streamAllWithRequest()) {
+            consumer.accept(StreamUtil.clearingEvery(appointments, entityManager));
+        }
+    }
+
+    /**
+     * Hand the appointments of a patient, with their request, patient and doctor, to a consumer as they are read.
+     *
+     * @param patientId the id of the patient
+     * @param consumer the consumer of the appointments, called within the transaction
+     */
+    @Transactional(readOnly = true)
+    public void streamAllByPatientId(Long patientId, Consumer<Stream<Appointment>> consumer) {
+        log.debug("Request to stream the Appointments of Patient : {}", patientId);
+        try (Stream<Appointment> appointments = appointmentRepository.streamAllWithRequestByPatientId(patientId)) {
+            consumer.accept(StreamUtil.clearingEvery(appointments, entityManager));
+        }
+    }
 }
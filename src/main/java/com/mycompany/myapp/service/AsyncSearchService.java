@@ -0,0 +1,97 @@
+package com.mycompany.myapp.service;
+
+import com.mycompany.myapp.config.ApplicationProperties;
+import com.mycompany.myapp.web.rest.errors.SearchTimeoutException;
+import com.mycompany.myapp.web.rest.errors.TooManyRequestsException;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.security.concurrent.DelegatingSecurityContextRunnable;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PreDestroy;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.function.Supplier;
+
+/**
+ * Service running the Elasticsearch searches on a dedicated, bounded thread pool.
+ * <p>
+ * The search endpoints return the future of their search, so the web server's worker thread is released while
+ * Elasticsearch answers. A slow search cluster then only fills this pool: when it and its queue are full, searches
+ * are rejected with a {@link TooManyRequestsException} (429), and a search not answered within the timeout, queue
+ * included, completes with a {@link SearchTimeoutException} (504).
+ * <p>
+ * A search runs with the security context and the logging context of the request that submitted it.
+ */
+@Service
+public class AsyncSearchService {
+
+    private final Logger log = LoggerFactory.getLogger(AsyncSearchService.class);
+
+    private final ThreadPoolExecutor executor;
+
+    private final ScheduledThreadPoolExecutor timeouts;
+
+    private final long timeoutMs;
+
+    public AsyncSearchService(ApplicationProperties applicationProperties) {
+        ApplicationProperties.Search search = applicationProperties.getSearch();
+        this.executor = new ThreadPoolExecutor(search.getThreads(), search.getThreads(), 0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(search.getQueueCapacity()), new CustomizableThreadFactory("search-"));
+        this.timeouts = new ScheduledThreadPoolExecutor(1, new CustomizableThreadFactory("search-timeout-"));
+        this.timeouts.setRemoveOnCancelPolicy(true);
+        this.timeoutMs = search.getTimeoutMs();
+    }
+
+    /**
+     * Run a search on the search pool.
+     *
+     * @param search the search, and the building of its response
+     * @param <T> the type of the result
+     * @return the future result, failed with a {@link SearchTimeoutException} if it is not there in time
+     * @throws TooManyRequestsException if too many searches are waiting already
+     */
+    public <T> CompletableFuture<T> submit(Supplier<T> search) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        Map<String, String> context = MDC.getCopyOfContextMap();
+        Runnable task = new DelegatingSecurityContextRunnable(() -> {
+            if (context != null) {
+                MDC.setContextMap(context);
+            }
+            try {
+                result.complete(search.get());
+            } catch (Throwable e) {
+                // an Error too must fail the request, not leave it waiting for the timeout
+                result.completeExceptionally(e);
+            } finally {
+                MDC.clear();
+            }
+        });
+        Future<?> running;
+        try {
+            running = executor.submit(task);
+        } catch (RejectedExecutionException e) {
+            log.warn("Search is saturated, rejecting the request");
+            throw new TooManyRequestsException();
+        }
+        ScheduledFuture<?> timeout = timeouts.schedule(() -> {
+            if (result.completeExceptionally(new SearchTimeoutException())) {
+                log.warn("Search did not answer within {} ms", timeoutMs);
+                // Frees the queue slot. A running search is interrupted, but the Jest client's blocking read
+                // ignores interrupts: its thread is freed by "spring.data.jest.read-timeout", kept below the timeout
+                running.cancel(true);
+            }
+        }, timeoutMs, TimeUnit.MILLISECONDS);
+        result.whenComplete((value, e) -> timeout.cancel(false));
+        return result;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        timeouts.shutdownNow();
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,115 @@
+package com.mycompany.myapp.service;
+
+import com.mycompany.myapp.config.ApplicationProperties;
+import com.mycompany.myapp.config.CatalogueChangeChannels;
+import com.mycompany.myapp.service.event.CatalogueChangedEvent;
+import com.mycompany.myapp.service.event.UserRegisteredEvent;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cloud.stream.annotation.StreamListener;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Service keeping a version of the doctor and tip catalogues, from which their ETags are derived.
+ * <p>
+ * A version is bumped once the change to its catalogue commits, here and, through the
+ * {@link CatalogueChangeChannels}, on the other nodes. The versions are counted in memory, so they are only
+ * meaningful on this node: the ETags carry an epoch drawn at startup, so that those of another node, or of a
+ * previous run, never match. A change whose message is lost is missed by the other nodes, so the ETags also
+ * carry the current period of "application.catalogue.etag-max-age-seconds", which bounds how long they answer
+ * with a stale 304.
+ */
+@Service
+public class CatalogueVersionService {
+
+    public static final String DOCTORS = "doctors";
+
+    public static final String TIPS = "tips";
+
+    private final Logger log = LoggerFactory.getLogger(CatalogueVersionService.class);
+
+    private final ApplicationEventPublisher applicationEventPublisher;
+
+    private final CatalogueChangeChannels catalogueChangeChannels;
+
+    private final String epoch = UUID.randomUUID().toString().substring(0, 8);
+
+    private final ConcurrentMap<String, AtomicLong> versions = new ConcurrentHashMap<>();
+
+    private final long etagMaxAgeMillis;
+
+    public CatalogueVersionService(ApplicationEventPublisher applicationEventPublisher,
+                                   CatalogueChangeChannels catalogueChangeChannels, ApplicationProperties applicationProperties) {
+        this.applicationEventPublisher = applicationEventPublisher;
+        this.catalogueChangeChannels = catalogueChangeChannels;
+        this.etagMaxAgeMillis = TimeUnit.SECONDS.toMillis(applicationProperties.getCatalogue().getEtagMaxAgeSeconds());
+    }
+
+    /**
+     * Get the strong ETag of the current version of a catalogue.
+     * <p>
+     * It must be read before the catalogue itself: a change committing in between then only makes the ETag
+     * older than the content, which costs a download but never serves stale content.
+     *
+     * @param catalogue {@link #DOCTORS} or {@link #TIPS}
+     * @return the ETag, quoted
+     */
+    public String getETag(String catalogue) {
+        long period = etagMaxAgeMillis > 0 ? System.currentTimeMillis() / etagMaxAgeMillis : 0;
+        return "\"" + catalogue + "-" + epoch + "-" + version(catalogue).get() + "-" + period + "\"";
+    }
+
+    /**
+     * Record a change to a catalogue, which takes effect when the current transaction commits.
+     *
+     * @param catalogue {@link #DOCTORS} or {@link #TIPS}
+     */
+    public void changed(String catalogue) {
+        applicationEventPublisher.publishEvent(new CatalogueChangedEvent(catalogue));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCatalogueChanged(CatalogueChangedEvent event) {
+        apply(event);
+        try {
+            catalogueChangeChannels.output().send(MessageBuilder.withPayload(event).build());
+        } catch (Exception e) {
+            // Other nodes keep answering with their version until they see another change, or the period ends
+            log.warn("Catalogue change {} could not be sent to the other nodes", event, e);
+        }
+    }
+
+    /**
+     * Registering as a doctor adds to the doctor catalogue.
+     */
+    @TransactionalEventListener
+    public void onUserRegistered(UserRegisteredEvent event) {
+        if (event.getDoctor() != null) {
+            onCatalogueChanged(new CatalogueChangedEvent(DOCTORS));
+        }
+    }
+
+    @StreamListener(CatalogueChangeChannels.INPUT)
+    public void onCatalogueChangedElsewhere(CatalogueChangedEvent event) {
+        apply(event);
+    }
+
+    private void apply(CatalogueChangedEvent event) {
+        log.debug("Catalogue changed : {}", event);
+        version(event.getCatalogue()).incrementAndGet();
+    }
+
+    private AtomicLong version(String catalogue) {
+        return versions.computeIfAbsent(catalogue, key -> new AtomicLong());
+    }
+}
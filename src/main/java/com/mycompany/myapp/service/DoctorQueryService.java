@@ -87,7 +87,7 @@ public class DoctorQueryService extends QueryService<Doctor> {
     /**
      * Function to convert DoctorCriteria to a {@link Specification}
      */
-    private Specification<Doctor> createSpecification(DoctorCriteria criteria) {
+    Specification<Doctor> createSpecification(DoctorCriteria criteria) {
         Specification<Doctor> specification = Specification.where(null);
         if (criteria != null) {
             if (criteria.getId() != null) {
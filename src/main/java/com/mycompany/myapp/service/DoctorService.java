@@ -13,8 +13,13 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 import static org.elasticsearch.index.query.QueryBuilders.*;
 
@@ -33,10 +38,17 @@ public class DoctorService {
 
     private final DoctorSearchRepository doctorSearchRepository;
 
-    public DoctorService(DoctorRepository doctorRepository, DoctorMapper doctorMapper, DoctorSearchRepository doctorSearchRepository) {
+    private final PatientDashboardService patientDashboardService;
+
+    private final CatalogueVersionService catalogueVersionService;
+
+    public DoctorService(DoctorRepository doctorRepository, DoctorMapper doctorMapper, DoctorSearchRepository doctorSearchRepository,
+                         PatientDashboardService patientDashboardService, CatalogueVersionService catalogueVersionService) {
         this.doctorRepository = doctorRepository;
         this.doctorMapper = doctorMapper;
         this.doctorSearchRepository = doctorSearchRepository;
+        this.patientDashboardService = patientDashboardService;
+        this.catalogueVersionService = catalogueVersionService;
     }
 
     /**
@@ -51,6 +63,10 @@ public class DoctorService {
         doctor = doctorRepository.save(doctor);
         DoctorDTO result = doctorMapper.toDto(doctor);
         doctorSearchRepository.save(doctor);
+        if (doctorDTO.getId() != null) {
+            patientDashboardService.updateDoctor(doctor);
+        }
+        catalogueVersionService.changed(CatalogueVersionService.DOCTORS);
         return result;
     }
 
@@ -86,6 +102,29 @@ public class DoctorService {
             .map(doctorMapper::toDto);
     }
 
+    /**
+     * Get the doctors with the given ids, in the order of the ids.
+     *
+     * @param ids the ids of the entities, unknown ones are skipped
+     * @return the list of entities
+     */
+    @Transactional(readOnly = true)
+    public List<DoctorDTO> findAllById(List<Long> ids) {
+        log.debug("Request to get Doctors : {}", ids);
+        if (ids.isEmpty()) {
+            return Collections.emptyList();
+        }
+        // One query for all of them, the order is restored afterwards
+        Map<Long, Doctor> doctors = doctorRepository.findAllById(ids).stream()
+            .collect(Collectors.toMap(Doctor::getId, Function.identity()));
+        return ids.stream()
+            .distinct()
+            .map(doctors::get)
+            .filter(Objects::nonNull)
+            .map(doctorMapper::toDto)
+            .collect(Collectors.toList());
+    }
+
     /**
      * Delete the doctor by id.
      *
@@ -95,6 +134,7 @@ public class DoctorService {
         log.debug("Request to delete Doctor : {}", id);
         doctorRepository.deleteById(id);
         doctorSearchRepository.deleteById(id);
+        catalogueVersionService.changed(CatalogueVersionService.DOCTORS);
     }
 
     /**
@@ -1,10 +1,14 @@
 package com.mycompany.myapp.service;
 
+import com.mycompany.myapp.config.Constants;
+import com.mycompany.myapp.domain.Appointment;
+import com.mycompany.myapp.domain.Patient;
 import com.mycompany.myapp.domain.User;
 
 import io.github.jhipster.config.JHipsterProperties;
 
 import java.nio.charset.StandardCharsets;
+import java.util.List;
 import java.util.Locale;
 import javax.mail.internet.MimeMessage;
 
@@ -30,6 +34,10 @@ public class MailService {
 
     private static final String USER = "user";
 
+    private static final String PATIENT = "patient";
+
+    private static final String APPOINTMENTS = "appointments";
+
     private static final String BASE_URL = "baseUrl";
 
     private final JHipsterProperties jHipsterProperties;
@@ -102,4 +110,17 @@ public class MailService {
         log.debug("Sending password reset email to '{}'", user.getEmail());
         sendEmailFromTemplate(user, "mail/passwordResetEmail", "email.reset.title");
     }
+
+    @Async
+    public void sendAppointmentReminderEmail(Patient patient, List<Appointment> appointments) {
+        log.debug("Sending appointment reminder email to '{}' for {} appointment(s)", patient.getEmail(), appointments.size());
+        Locale locale = Locale.forLanguageTag(Constants.DEFAULT_LANGUAGE);
+        Context context = new Context(locale);
+        context.setVariable(PATIENT, patient);
+        context.setVariable(APPOINTMENTS, appointments);
+        context.setVariable(BASE_URL, jHipsterProperties.getMail().getBaseUrl());
+        String content = templateEngine.process("mail/appointmentReminderEmail", context);
+        String subject = messageSource.getMessage("email.reminder.title", null, locale);
+        sendEmail(patient.getEmail(), subject, content, false, true);
+    }
 }
@@ -0,0 +1,111 @@
+package com.mycompany.myapp.service;
+
+import com.mycompany.myapp.domain.Doctor;
+import com.mycompany.myapp.domain.PatientDashboard;
+import com.mycompany.myapp.repository.DoctorRepository;
+import com.mycompany.myapp.repository.PatientDashboardRepository;
+import com.mycompany.myapp.service.dto.AppointmentDTO;
+import com.mycompany.myapp.service.dto.PatientDashboardDTO;
+import com.mycompany.myapp.service.dto.RequestDTO;
+import com.mycompany.myapp.service.event.AppointmentChangedEvent;
+import com.mycompany.myapp.service.event.EntityChangedEvent.Action;
+import com.mycompany.myapp.service.event.RequestChangedEvent;
+import com.mycompany.myapp.service.mapper.PatientDashboardMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * Service maintaining the PatientDashboard read model.
+ * <p>
+ * Lines are updated in the transaction which changes the request, appointment or doctor they
+ * are built from, so the dashboard is never out of date once that transaction commits.
+ */
+@Service
+@Transactional
+public class PatientDashboardService {
+
+    private final Logger log = LoggerFactory.getLogger(PatientDashboardService.class);
+
+    private final PatientDashboardRepository patientDashboardRepository;
+
+    private final PatientDashboardMapper patientDashboardMapper;
+
+    private final DoctorRepository doctorRepository;
+
+    public PatientDashboardService(PatientDashboardRepository patientDashboardRepository, PatientDashboardMapper patientDashboardMapper,
+                                   DoctorRepository doctorRepository) {
+        this.patientDashboardRepository = patientDashboardRepository;
+        this.patientDashboardMapper = patientDashboardMapper;
+        this.doctorRepository = doctorRepository;
+    }
+
+    /**
+     * Get the dashboard of a patient.
+     *
+     * @param patientId the id of the patient
+     * @return the dashboard lines, latest request first
+     */
+    @Transactional(readOnly = true)
+    public List<PatientDashboardDTO> findAllByPatient(Long patientId) {
+        return patientDashboardMapper.toDto(patientDashboardRepository.findAllByPatientIdOrderByRequestIdDesc(patientId));
+    }
+
+    @EventListener
+    public void onRequestChanged(RequestChangedEvent event) {
+        RequestDTO request = event.getEntity();
+        if (event.getAction() == Action.DELETED) {
+            patientDashboardRepository.findById(request.getId()).ifPresent(patientDashboardRepository::delete);
+            return;
+        }
+        PatientDashboard patientDashboard = patientDashboardRepository.findById(request.getId())
+            .orElseGet(() -> new PatientDashboard().requestId(request.getId()));
+        patientDashboard
+            .patientId(request.getPatientId())
+            .date1(request.getDate1())
+            .date2(request.getDate2())
+            .date3(request.getDate3())
+            .confirmation(request.isConfirmation());
+        if (!request.getDoctorId().equals(patientDashboard.getDoctorId())) {
+            patientDashboard.setDoctorId(request.getDoctorId());
+            doctorRepository.findById(request.getDoctorId()).ifPresent(doctor -> copyDoctor(doctor, patientDashboard));
+        }
+        log.debug("Request to save PatientDashboard : {}", patientDashboard);
+        patientDashboardRepository.save(patientDashboard);
+    }
+
+    @EventListener
+    public void onAppointmentChanged(AppointmentChangedEvent event) {
+        AppointmentDTO appointment = event.getEntity();
+        PatientDashboard patientDashboard = patientDashboardRepository.findById(appointment.getRequestId()).orElse(null);
+        if (patientDashboard == null) {
+            log.warn("No PatientDashboard line for the request of appointment {}", appointment.getId());
+            return;
+        }
+        patientDashboard.setAppointmentDateAndHour(event.getAction() == Action.DELETED ? null : appointment.getDateAndHour());
+        patientDashboardRepository.save(patientDashboard);
+    }
+
+    /**
+     * Copy the details of a saved doctor to the dashboard lines of their requests.
+     *
+     * @param doctor the saved doctor
+     */
+    public void updateDoctor(Doctor doctor) {
+        int updated = patientDashboardRepository.updateDoctor(doctor.getId(), doctor.getName(), doctor.getSpeciality(), doctor.getAddress());
+        log.debug("Updated {} PatientDashboard line(s) of Doctor : {}", updated, doctor.getId());
+    }
+
+    private void copyDoctor(Doctor doctor, PatientDashboard patientDashboard) {
+        patientDashboard
+            .doctorId(doctor.getId())
+            .doctorName(doctor.getName())
+            .doctorSpeciality(doctor.getSpeciality())
+            .doctorAddress(doctor.getAddress());
+    }
+}
@@ -87,7 +87,7 @@ public class PatientQueryService extends QueryService<Patient> {
     /**
      * Function to convert PatientCriteria to a {@link Specification}
      */
-    private Specification<Patient> createSpecification(PatientCriteria criteria) {
+    Specification<Patient> createSpecification(PatientCriteria criteria) {
         Specification<Patient> specification = Specification.where(null);
         if (criteria != null) {
             if (criteria.getId() != null) {
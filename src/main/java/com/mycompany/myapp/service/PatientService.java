@@ -13,7 +13,13 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 import static org.elasticsearch.index.query.QueryBuilders.*;
 
@@ -89,6 +95,29 @@ public class PatientService {
             .map(patientMapper::toDto);
     }
 
+    /**
+     * Get the patients with the given ids, in the order of the ids.
+     *
+     * @param ids the ids of the entities, unknown ones are skipped
+     * @return the list of entities
+     */
+    @Transactional(readOnly = true)
+    public List<PatientDTO> findAllById(List<Long> ids) {
+        log.debug("Request to get Patients : {}", ids);
+        if (ids.isEmpty()) {
+            return Collections.emptyList();
+        }
+        // One query for all of them, the order is restored afterwards
+        Map<Long, Patient> patients = patientRepository.findAllWithEagerRelationshipsByIdIn(ids).stream()
+            .collect(Collectors.toMap(Patient::getId, Function.identity()));
+        return ids.stream()
+            .distinct()
+            .map(patients::get)
+            .filter(Objects::nonNull)
+            .map(patientMapper::toDto)
+            .collect(Collectors.toList());
+    }
+
     /**
      * Delete the patient by id.
      *
@@ -0,0 +1,323 @@
+package com.mycompany.myapp.service;
+
+import com.mycompany.myapp.config.ApplicationProperties;
+import com.mycompany.myapp.service.dto.ProfilingRecordingDTO;
+import com.mycompany.myapp.service.dto.ProfilingSummaryDTO;
+import com.mycompany.myapp.web.rest.errors.BadRequestAlertException;
+import com.mycompany.myapp.web.rest.errors.InternalServerErrorException;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import javax.management.JMException;
+import javax.management.MBeanException;
+import javax.management.ObjectName;
+import java.io.Closeable;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.ToLongFunction;
+import java.util.stream.Collectors;
+
+/**
+ * Service running JDK Flight Recorder recordings on demand.
+ * <p>
+ * Recordings are driven through the DiagnosticCommand MBean, the JMX counterpart of "jcmd JFR.start", so this works
+ * on the JDK 8 updates shipping Flight Recorder as well as on later JDKs. One recording runs at a time on this node,
+ * and only the last one is kept on disk. Summaries are read with the jdk.jfr.consumer API, which is looked up at
+ * runtime as the application is compiled for Java 8.
+ */
+@Service
+public class ProfilingService {
+
+    /**
+     * The templates shipped with the JDK. Allocation events are only recorded by "profile".
+     */
+    public static final Set<String> TEMPLATES = Collections.unmodifiableSet(new HashSet<>(Arrays.asList("default", "profile")));
+
+    private static final String ENTITY_NAME = "profiling";
+
+    private static final String EXECUTION_SAMPLE = "jdk.ExecutionSample";
+
+    /**
+     * Allocation events, with the field holding the bytes they account for.
+     */
+    private static final Map<String, String> ALLOCATION_EVENTS = new HashMap<>();
+
+    static {
+        ALLOCATION_EVENTS.put("jdk.ObjectAllocationInNewTLAB", "tlabSize");
+        ALLOCATION_EVENTS.put("jdk.ObjectAllocationOutsideTLAB", "allocationSize");
+        ALLOCATION_EVENTS.put("jdk.ObjectAllocationSample", "weight");
+    }
+
+    private final Logger log = LoggerFactory.getLogger(ProfilingService.class);
+
+    private final ApplicationProperties applicationProperties;
+
+    private Recording recording;
+
+    public ProfilingService(ApplicationProperties applicationProperties) {
+        this.applicationProperties = applicationProperties;
+    }
+
+    /**
+     * Start a recording, which stops by itself after the given duration.
+     *
+     * @param template the JDK template of the recording, one of {@link #TEMPLATES}
+     * @param durationSeconds the duration of the recording
+     * @return the recording
+     */
+    public synchronized ProfilingRecordingDTO start(String template, long durationSeconds) {
+        if (recording != null && recording.isRunning()) {
+            throw new BadRequestAlertException("A recording is already running", ENTITY_NAME, "recordingrunning");
+        }
+        Instant startedAt = Instant.now();
+        String name = "doctors-platform-" + startedAt.getEpochSecond();
+        Path file;
+        try {
+            Path directory = Files.createDirectories(Paths.get(applicationProperties.getProfiling().getDirectory()));
+            if (recording != null) {
+                Files.deleteIfExists(recording.file);
+            }
+            file = directory.resolve(name + ".jfr").toAbsolutePath();
+        } catch (IOException e) {
+            throw new InternalServerErrorException("Could not prepare the recording file: " + e.getMessage());
+        }
+        flightRecorder("jfrStart", "name=" + name, "settings=" + template, "duration=" + durationSeconds + "s",
+            "filename=" + file);
+        recording = new Recording(name, template, durationSeconds, startedAt, file);
+        log.info("Started recording {} with template {} for {} seconds", name, template, durationSeconds);
+        return recording.toDto();
+    }
+
+    /**
+     * Stop the current recording before the end of its duration, and write it to disk.
+     *
+     * @return the recording, or empty if none was started
+     */
+    public synchronized Optional<ProfilingRecordingDTO> stop() {
+        if (recording == null) {
+            return Optional.empty();
+        }
+        if (recording.isRunning()) {
+            try {
+                flightRecorder("jfrStop", "name=" + recording.name, "filename=" + recording.file);
+            } catch (InternalServerErrorException e) {
+                // The recording may have reached its duration in the meantime
+                if (!Files.exists(recording.file)) {
+                    throw e;
+                }
+            }
+            recording.stopped = true;
+            log.info("Stopped recording {}", recording.name);
+        }
+        return Optional.of(recording.toDto());
+    }
+
+    /**
+     * @return the current recording, or empty if none was started
+     */
+    public synchronized Optional<ProfilingRecordingDTO> getRecording() {
+        return Optional.ofNullable(recording).map(Recording::toDto);
+    }
+
+    /**
+     * @return the file of the last recording, or empty if there is none or it is still running
+     */
+    public synchronized Optional<Path> getRecordingFile() {
+        if (recording == null || recording.isRunning() || !Files.exists(recording.file)) {
+            return Optional.empty();
+        }
+        return Optional.of(recording.file);
+    }
+
+    /**
+     * Summarize the last recording.
+     *
+     * @param top the number of allocation sites and hot methods returned
+     * @return the summary, or empty if there is no finished recording
+     */
+    public Optional<ProfilingSummaryDTO> summarize(int top) {
+        return getRecordingFile().map(file -> summarize(file, top));
+    }
+
+    private ProfilingSummaryDTO summarize(Path file, int top) {
+        Map<String, long[]> allocations = new HashMap<>();
+        Map<String, long[]> executions = new HashMap<>();
+        try {
+            RecordingReader reader = new RecordingReader(file);
+            try {
+                Object event;
+                while ((event = reader.next()) != null) {
+                    String type = reader.type(event);
+                    if (EXECUTION_SAMPLE.equals(type)) {
+                        add(executions, reader.topFrame(event), 0);
+                    } else if (ALLOCATION_EVENTS.containsKey(type)) {
+                        add(allocations, reader.topFrame(event), reader.getLong(event, ALLOCATION_EVENTS.get(type)));
+                    }
+                }
+            } finally {
+                reader.close();
+            }
+        } catch (ClassNotFoundException | NoSuchMethodException e) {
+            throw new InternalServerErrorException("Summaries need the jdk.jfr.consumer API, available from JDK 8u262");
+        } catch (ReflectiveOperationException | IOException e) {
+            Throwable cause = e instanceof InvocationTargetException ? e.getCause() : e;
+            throw new InternalServerErrorException("Could not read recording " + file.getFileName() + ": " + cause.getMessage());
+        }
+        ProfilingSummaryDTO summary = new ProfilingSummaryDTO();
+        summary.setRecording(file.getFileName().toString());
+        summary.setAllocationSites(top(allocations, top, counts -> counts[1]));
+        summary.setHotMethods(top(executions, top, counts -> counts[0]));
+        return summary;
+    }
+
+    private static void add(Map<String, long[]> counts, String frame, long bytes) {
+        long[] frameCounts = counts.computeIfAbsent(frame, key -> new long[2]);
+        frameCounts[0]++;
+        frameCounts[1] += bytes;
+    }
+
+    private static List<ProfilingSummaryDTO.Frame> top(Map<String, long[]> counts, int top, ToLongFunction<long[]> weight) {
+        return counts.entrySet().stream()
+            .sorted(Comparator.comparingLong((Map.Entry<String, long[]> entry) -> weight.applyAsLong(entry.getValue())).reversed())
+            .limit(top)
+            .map(entry -> new ProfilingSummaryDTO.Frame(entry.getKey(), entry.getValue()[0], entry.getValue()[1]))
+            .collect(Collectors.toList());
+    }
+
+    private String flightRecorder(String operation, String... arguments) {
+        try {
+            return (String) ManagementFactory.getPlatformMBeanServer().invoke(
+                new ObjectName("com.sun.management:type=DiagnosticCommand"), operation,
+                new Object[]{arguments}, new String[]{String[].class.getName()});
+        } catch (MBeanException e) {
+            log.warn("Flight Recorder command {} failed: {}", operation, e.getCause().getMessage());
+            throw new InternalServerErrorException("Flight Recorder command failed: " + e.getCause().getMessage());
+        } catch (JMException e) {
+            log.warn("Flight Recorder is not available: {}", e.getMessage());
+            throw new InternalServerErrorException("Flight Recorder is not available on this JVM");
+        }
+    }
+
+    private static final class Recording {
+
+        private final String name;
+
+        private final String template;
+
+        private final long durationSeconds;
+
+        private final Instant startedAt;
+
+        private final Path file;
+
+        private boolean stopped;
+
+        private Recording(String name, String template, long durationSeconds, Instant startedAt, Path file) {
+            this.name = name;
+            this.template = template;
+            this.durationSeconds = durationSeconds;
+            this.startedAt = startedAt;
+            this.file = file;
+        }
+
+        private boolean isRunning() {
+            return !stopped && Instant.now().isBefore(startedAt.plusSeconds(durationSeconds));
+        }
+
+        private ProfilingRecordingDTO toDto() {
+            return new ProfilingRecordingDTO(name, template, durationSeconds, startedAt, isRunning());
+        }
+    }
+
+    /**
+     * Reads the events of a recording through the jdk.jfr.consumer API, by reflection.
+     */
+    private static final class RecordingReader implements Closeable {
+
+        private final Object recordingFile;
+
+        private final Method hasMoreEvents;
+
+        private final Method readEvent;
+
+        private final Method getEventType;
+
+        private final Method getTypeName;
+
+        private final Method getStackTrace;
+
+        private final Method getFrames;
+
+        private final Method getMethod;
+
+        private final Method getMethodType;
+
+        private final Method getMethodName;
+
+        private final Method getClassName;
+
+        private final Method getLong;
+
+        private RecordingReader(Path file) throws ReflectiveOperationException {
+            Class<?> recordingFileClass = Class.forName("jdk.jfr.consumer.RecordingFile");
+            Class<?> eventClass = Class.forName("jdk.jfr.consumer.RecordedEvent");
+            Class<?> methodClass = Class.forName("jdk.jfr.consumer.RecordedMethod");
+            hasMoreEvents = recordingFileClass.getMethod("hasMoreEvents");
+            readEvent = recordingFileClass.getMethod("readEvent");
+            getEventType = eventClass.getMethod("getEventType");
+            getTypeName = Class.forName("jdk.jfr.EventType").getMethod("getName");
+            getStackTrace = eventClass.getMethod("getStackTrace");
+            getFrames = Class.forName("jdk.jfr.consumer.RecordedStackTrace").getMethod("getFrames");
+            getMethod = Class.forName("jdk.jfr.consumer.RecordedFrame").getMethod("getMethod");
+            getMethodType = methodClass.getMethod("getType");
+            getMethodName = methodClass.getMethod("getName");
+            getClassName = Class.forName("jdk.jfr.consumer.RecordedClass").getMethod("getName");
+            getLong = eventClass.getMethod("getLong", String.class);
+            recordingFile = recordingFileClass.getConstructor(Path.class).newInstance(file);
+        }
+
+        private Object next() throws ReflectiveOperationException {
+            return (Boolean) hasMoreEvents.invoke(recordingFile) ? readEvent.invoke(recordingFile) : null;
+        }
+
+        private String type(Object event) throws ReflectiveOperationException {
+            return (String) getTypeName.invoke(getEventType.invoke(event));
+        }
+
+        private long getLong(Object event, String field) throws ReflectiveOperationException {
+            return (Long) getLong.invoke(event, field);
+        }
+
+        private String topFrame(Object event) throws ReflectiveOperationException {
+            Object stackTrace = getStackTrace.invoke(event);
+            List<?> frames = stackTrace == null ? Collections.emptyList() : (List<?>) getFrames.invoke(stackTrace);
+            if (frames.isEmpty()) {
+                return "<unknown>";
+            }
+            Object method = getMethod.invoke(frames.get(0));
+            return getClassName.invoke(getMethodType.invoke(method)) + "." + getMethodName.invoke(method);
+        }
+
+        @Override
+        public void close() throws IOException {
+            ((Closeable) recordingFile).close();
+        }
+    }
+}
@@ -54,7 +54,7 @@ public class RequestQueryService extends QueryService<Request> {
     @Transactional(readOnly = true)
     public List<RequestDTO> findByCriteria(RequestCriteria criteria) {
         log.debug("find by criteria : {}", criteria);
-        final Specification<Request> specification = createSpecification(criteria);
+        final Specification<Request> specification = createSpecification(criteria).and(fetchRelationships());
         return requestMapper.toDto(requestRepository.findAll(specification));
     }
 
@@ -67,7 +67,7 @@ public class RequestQueryService extends QueryService<Request> {
     @Transactional(readOnly = true)
     public Page<RequestDTO> findByCriteria(RequestCriteria criteria, Pageable page) {
         log.debug("find by criteria : {}, page: {}", criteria, page);
-        final Specification<Request> specification = createSpecification(criteria);
+        final Specification<Request> specification = createSpecification(criteria).and(fetchRelationships());
         return requestRepository.findAll(specification, page)
             .map(requestMapper::toDto);
     }
@@ -87,7 +87,7 @@ public class RequestQueryService extends QueryService<Request> {
     /**
      * Function to convert RequestCriteria to a {@link Specification}
      */
-    private Specification<Request> createSpecification(RequestCriteria criteria) {
+    Specification<Request> createSpecification(RequestCriteria criteria) {
         Specification<Request> specification = Specification.where(null);
         if (criteria != null) {
             if (criteria.getId() != null) {
@@ -120,4 +120,19 @@ public class RequestQueryService extends QueryService<Request> {
         }
         return specification;
     }
+
+    /**
+     * Fetch the patient, doctor and appointment of the requests in the same query, instead of one query per request.
+     * The count query of a page cannot fetch, so it is left as is.
+     */
+    private static Specification<Request> fetchRelationships() {
+        return (root, query, builder) -> {
+            if (!Long.class.equals(query.getResultType())) {
+                root.fetch(Request_.patient);
+                root.fetch(Request_.doctor);
+                root.fetch(Request_.appointment, JoinType.LEFT);
+            }
+            return null;
+        };
+    }
 }
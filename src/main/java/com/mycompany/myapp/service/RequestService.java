@@ -4,18 +4,25 @@ import com.mycompany.myapp.domain.Request;
 import com.mycompany.myapp.repository.RequestRepository;
 import com.mycompany.myapp.repository.search.RequestSearchRepository;
 import com.mycompany.myapp.service.dto.RequestDTO;
+import com.mycompany.myapp.service.event.EntityChangedEvent.Action;
+import com.mycompany.myapp.service.event.RequestChangedEvent;
 import com.mycompany.myapp.service.mapper.RequestMapper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collections;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.util.stream.StreamSupport;
 
@@ -36,10 +43,14 @@ public class RequestService {
 
     private final RequestSearchRepository requestSearchRepository;
 
-    public RequestService(RequestRepository requestRepository, RequestMapper requestMapper, RequestSearchRepository requestSearchRepository) {
+    private final ApplicationEventPublisher applicationEventPublisher;
+
+    public RequestService(RequestRepository requestRepository, RequestMapper requestMapper, RequestSearchRepository requestSearchRepository,
+                          ApplicationEventPublisher applicationEventPublisher) {
         this.requestRepository = requestRepository;
         this.requestMapper = requestMapper;
         this.requestSearchRepository = requestSearchRepository;
+        this.applicationEventPublisher = applicationEventPublisher;
     }
 
     /**
@@ -50,10 +61,18 @@ public class RequestService {
      */
     public RequestDTO save(RequestDTO requestDTO) {
         log.debug("Request to save Request : {}", requestDTO);
+        Action action = requestDTO.getId() == null ? Action.CREATED : Action.UPDATED;
+        // Loaded into the persistence context, so the merge below does not select the request again
+        boolean wasConfirmed = requestDTO.getId() != null && requestRepository.findById(requestDTO.getId())
+            .map(Request::isConfirmation)
+            .map(Boolean.TRUE::equals)
+            .orElse(false);
         Request request = requestMapper.toEntity(requestDTO);
         request = requestRepository.save(request);
         RequestDTO result = requestMapper.toDto(request);
         requestSearchRepository.save(request);
+        boolean confirmed = !wasConfirmed && Boolean.TRUE.equals(result.isConfirmation());
+        applicationEventPublisher.publishEvent(new RequestChangedEvent(action, result, confirmed));
         return result;
     }
 
@@ -99,6 +118,29 @@ public class RequestService {
             .map(requestMapper::toDto);
     }
 
+    /**
+     * Get the requests with the given ids, in the order of the ids.
+     *
+     * @param ids the ids of the entities, unknown ones are skipped
+     * @return the list of entities
+     */
+    @Transactional(readOnly = true)
+    public List<RequestDTO> findAllById(List<Long> ids) {
+        log.debug("Request to get Requests : {}", ids);
+        if (ids.isEmpty()) {
+            return Collections.emptyList();
+        }
+        // One query for all of them, the order is restored afterwards
+        Map<Long, Request> requests = requestRepository.findAllWithEagerRelationshipsByIdIn(ids).stream()
+            .collect(Collectors.toMap(Request::getId, Function.identity()));
+        return ids.stream()
+            .distinct()
+            .map(requests::get)
+            .filter(Objects::nonNull)
+            .map(requestMapper::toDto)
+            .collect(Collectors.toList());
+    }
+
     /**
      * Delete the request by id.
      *
@@ -106,6 +148,8 @@ public class RequestService {
      */
     public void delete(Long id) {
         log.debug("Request to delete Request : {}", id);
+        requestRepository.findById(id).ifPresent(request ->
+            applicationEventPublisher.publishEvent(new RequestChangedEvent(Action.DELETED, requestMapper.toDto(request))));
         requestRepository.deleteById(id);
         requestSearchRepository.deleteById(id);
     }
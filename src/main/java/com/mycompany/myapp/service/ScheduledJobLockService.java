@@ -0,0 +1,167 @@
+package com.mycompany.myapp.service;
+
+import com.mycompany.myapp.config.ApplicationProperties;
+import com.mycompany.myapp.domain.ScheduledJobLock;
+import com.mycompany.myapp.repository.ScheduledJobLockRepository;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PreDestroy;
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Service making scheduled jobs run on a single node of the cluster.
+ * <p>
+ * A job runs only if this node acquires its lease in the "scheduled_job_lock" table. The lease is
+ * renewed while the job runs and released when it ends, but not before "application.scheduler.min-hold-seconds"
+ * after the job started: a node firing the same run a little later, because its clock or its scheduler is
+ * late, then finds the lease still held. If the node dies, the lease expires and the next node firing the job
+ * takes it over.
+ */
+@Service
+public class ScheduledJobLockService {
+
+    private final Logger log = LoggerFactory.getLogger(ScheduledJobLockService.class);
+
+    private final ScheduledJobLockRepository scheduledJobLockRepository;
+
+    private final ApplicationProperties applicationProperties;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final ScheduledExecutorService renewalExecutor =
+        Executors.newSingleThreadScheduledExecutor(new CustomizableThreadFactory("scheduled-job-lock-"));
+
+    private final String owner = ManagementFactory.getRuntimeMXBean().getName() + "/" + UUID.randomUUID();
+
+    public ScheduledJobLockService(ScheduledJobLockRepository scheduledJobLockRepository,
+            ApplicationProperties applicationProperties, PlatformTransactionManager transactionManager) {
+        this.scheduledJobLockRepository = scheduledJobLockRepository;
+        this.applicationProperties = applicationProperties;
+        // Leases are committed on their own, whatever the transaction the job runs in
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * @return the id this node holds leases under
+     */
+    public String getOwner() {
+        return owner;
+    }
+
+    /**
+     * Run a job if this node acquires its lease, and skip it otherwise.
+     *
+     * @param name the name of the job
+     * @param job the job to run
+     * @return true if the job was run on this node
+     */
+    public boolean runExclusively(String name, Runnable job) {
+        Duration lease = Duration.ofSeconds(applicationProperties.getScheduler().getLeaseSeconds());
+        Instant startedAt = Instant.now();
+        if (!acquire(name, lease)) {
+            log.debug("Job {} is running on another node, skipping it", name);
+            return false;
+        }
+        long renewalPeriod = Math.max(1, lease.toMillis() / 3);
+        ScheduledFuture<?> renewal = renewalExecutor.scheduleAtFixedRate(() -> renew(name, lease),
+            renewalPeriod, renewalPeriod, TimeUnit.MILLISECONDS);
+        try {
+            job.run();
+            return true;
+        } finally {
+            renewal.cancel(false);
+            release(name, startedAt.plusSeconds(applicationProperties.getScheduler().getMinHoldSeconds()));
+        }
+    }
+
+    /**
+     * Acquire the lease of a job, if it is free.
+     *
+     * @param name the name of the job
+     * @param lease how long the lease is held without renewal
+     * @return true if this node now holds the lease
+     */
+    public boolean acquire(String name, Duration lease) {
+        Instant now = Instant.now();
+        Instant lockedUntil = now.plus(lease);
+        if (transactionTemplate.execute(status -> scheduledJobLockRepository.acquire(name, owner, now, lockedUntil)) == 1) {
+            return true;
+        }
+        try {
+            // The first node running the job creates its row; a concurrent node fails on the primary key
+            return transactionTemplate.execute(status -> {
+                if (scheduledJobLockRepository.existsById(name)) {
+                    return false;
+                }
+                scheduledJobLockRepository.saveAndFlush(new ScheduledJobLock()
+                    .name(name)
+                    .lockedBy(owner)
+                    .lockedAt(now)
+                    .lockedUntil(lockedUntil));
+                return true;
+            });
+        } catch (DataIntegrityViolationException e) {
+            log.debug("Lease of job {} was just created by another node", name);
+            return false;
+        }
+    }
+
+    /**
+     * Extend the lease this node holds on a job.
+     *
+     * @param name the name of the job
+     * @param lease how long the lease is held from now
+     * @return false if the lease expired and may have been taken over
+     */
+    public boolean renew(String name, Duration lease) {
+        Instant now = Instant.now();
+        boolean renewed = transactionTemplate.execute(status ->
+            scheduledJobLockRepository.renew(name, owner, now, now.plus(lease))) == 1;
+        if (!renewed) {
+            log.warn("Lease of job {} expired before being renewed, another node may run it", name);
+        }
+        return renewed;
+    }
+
+    /**
+     * Release the lease this node holds on a job, so that the next run may happen on any node.
+     *
+     * @param name the name of the job
+     */
+    public void release(String name) {
+        release(name, Instant.now());
+    }
+
+    /**
+     * Release the lease this node holds on a job, keeping it until a given time if that is still to come.
+     *
+     * @param name the name of the job
+     * @param notBefore the time before which no other node may acquire the lease
+     */
+    public void release(String name, Instant notBefore) {
+        Instant now = Instant.now();
+        Instant lockedUntil = notBefore.isAfter(now) ? notBefore : now;
+        transactionTemplate.execute(status -> scheduledJobLockRepository.release(name, owner, lockedUntil));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        renewalExecutor.shutdownNow();
+    }
+}
@@ -81,7 +81,7 @@ public class TipQueryService extends QueryService<Tip> {
     /**
      * Function to convert TipCriteria to a {@link Specification}
      */
-    private Specification<Tip> createSpecification(TipCriteria criteria) {
+    Specification<Tip> createSpecification(TipCriteria criteria) {
         Specification<Tip> specification = Specification.where(null);
         if (criteria != null) {
             if (criteria.getId() != null) {
@@ -6,6 +6,8 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
 import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 /**
  * Service Interface for managing Tip.
@@ -19,6 +21,13 @@ public interface TipService {
      */
     List<Tip> findAll();
 
+    /**
+     * Hand all the Tips to a consumer as they are read.
+     *
+     * @param consumer the consumer of the tips, called within the transaction
+     */
+    void streamAll(Consumer<Stream<Tip>> consumer);
+
 
     /**
      * Save a tip.
@@ -0,0 +1,98 @@
+package com.mycompany.myapp.service;
+
+import com.mycompany.myapp.config.TokenRevocationChannels;
+import com.mycompany.myapp.security.DomainUserDetailsService;
+import com.mycompany.myapp.security.jwt.RevokedTokens;
+import com.mycompany.myapp.service.event.TokensRevokedEvent;
+import com.mycompany.myapp.service.event.UserChangedEvent;
+
+import io.github.jhipster.config.JHipsterProperties;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cloud.stream.annotation.StreamListener;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Instant;
+
+/**
+ * Service revoking the tokens of users on every node.
+ * <p>
+ * A revocation is applied locally as soon as it is committed, and sent on the
+ * {@link TokenRevocationChannels#OUTPUT} binding for the other nodes to apply it. Applying it also evicts the
+ * user from the login cache, so that no node issues a new token with the credentials they had before. The other
+ * changes to what a user logs in with are sent the same way, as revocations of no token, so that the login caches
+ * of the other nodes drop them too.
+ */
+@Service
+public class TokenRevocationService {
+
+    private final Logger log = LoggerFactory.getLogger(TokenRevocationService.class);
+
+    private final RevokedTokens revokedTokens;
+
+    private final TokenRevocationChannels tokenRevocationChannels;
+
+    private final JHipsterProperties jHipsterProperties;
+
+    private final DomainUserDetailsService domainUserDetailsService;
+
+    public TokenRevocationService(RevokedTokens revokedTokens, TokenRevocationChannels tokenRevocationChannels,
+                                  JHipsterProperties jHipsterProperties, DomainUserDetailsService domainUserDetailsService) {
+        this.revokedTokens = revokedTokens;
+        this.tokenRevocationChannels = tokenRevocationChannels;
+        this.jHipsterProperties = jHipsterProperties;
+        this.domainUserDetailsService = domainUserDetailsService;
+    }
+
+    /**
+     * Revoke the tokens issued to a user so far.
+     *
+     * @param login the login of the user
+     */
+    public void revokeTokens(String login) {
+        onTokensRevoked(new TokensRevokedEvent(login, Instant.now()));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTokensRevoked(TokensRevokedEvent event) {
+        apply(event);
+        send(event);
+    }
+
+    /**
+     * This node's login cache is evicted by the DomainUserDetailsService itself.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        send(new TokensRevokedEvent(event.getLogin(), null));
+    }
+
+    @StreamListener(TokenRevocationChannels.INPUT)
+    public void onTokensRevokedElsewhere(TokensRevokedEvent event) {
+        apply(event);
+    }
+
+    private void send(TokensRevokedEvent event) {
+        try {
+            tokenRevocationChannels.output().send(MessageBuilder.withPayload(event).build());
+        } catch (Exception e) {
+            // Other nodes keep accepting the tokens until they expire, and the login until their cache expires
+            log.warn("Token revocation {} could not be sent to the other nodes", event, e);
+        }
+    }
+
+    private void apply(TokensRevokedEvent event) {
+        if (event.getRevokedBefore() != null) {
+            log.debug("Revoking tokens : {}", event);
+            revokedTokens.revoke(event.getLogin(), event.getRevokedBefore());
+            long validity = Math.max(
+                jHipsterProperties.getSecurity().getAuthentication().getJwt().getTokenValidityInSeconds(),
+                jHipsterProperties.getSecurity().getAuthentication().getJwt().getTokenValidityInSecondsForRememberMe());
+            revokedTokens.prune(Instant.now().minusSeconds(validity));
+        }
+        domainUserDetailsService.evict(event.getLogin());
+    }
+}
@@ -0,0 +1,60 @@
+package com.mycompany.myapp.service;
+
+import com.mycompany.myapp.repository.search.DoctorSearchRepository;
+import com.mycompany.myapp.repository.search.PatientSearchRepository;
+import com.mycompany.myapp.repository.search.UserSearchRepository;
+import com.mycompany.myapp.service.event.UserRegisteredEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Indexes a registered user and sends them the activation email, once their registration has committed.
+ * <p>
+ * This runs on the async executor, so the registration request does not wait for Elasticsearch or
+ * the mail server.
+ */
+@Service
+public class UserRegistrationListener {
+
+    private final Logger log = LoggerFactory.getLogger(UserRegistrationListener.class);
+
+    private final UserSearchRepository userSearchRepository;
+
+    private final PatientSearchRepository patientSearchRepository;
+
+    private final DoctorSearchRepository doctorSearchRepository;
+
+    private final MailService mailService;
+
+    public UserRegistrationListener(UserSearchRepository userSearchRepository, PatientSearchRepository patientSearchRepository,
+                                    DoctorSearchRepository doctorSearchRepository, MailService mailService) {
+        this.userSearchRepository = userSearchRepository;
+        this.patientSearchRepository = patientSearchRepository;
+        this.doctorSearchRepository = doctorSearchRepository;
+        this.mailService = mailService;
+    }
+
+    @Async
+    @TransactionalEventListener
+    public void onUserRegistered(UserRegisteredEvent event) {
+        log.debug("Indexing registered User : {}", event.getUser().getLogin());
+        try {
+            userSearchRepository.save(event.getUser());
+            if (event.getPatient() != null) {
+                patientSearchRepository.save(event.getPatient());
+            }
+            if (event.getDoctor() != null) {
+                doctorSearchRepository.save(event.getDoctor());
+            }
+        } catch (Exception e) {
+            // the registration is committed already, it must not be lost because of the index
+            log.warn("Registered User {} could not be indexed", event.getUser().getLogin(), e);
+        }
+        // only a registration publishes the event, and it always leaves the user to activate
+        mailService.sendActivationEmail(event.getUser());
+    }
+}
@@ -2,8 +2,12 @@ package com.mycompany.myapp.service;
 
 import com.mycompany.myapp.config.Constants;
 import com.mycompany.myapp.domain.Authority;
+import com.mycompany.myapp.domain.Doctor;
+import com.mycompany.myapp.domain.Patient;
 import com.mycompany.myapp.domain.User;
 import com.mycompany.myapp.repository.AuthorityRepository;
+import com.mycompany.myapp.repository.DoctorRepository;
+import com.mycompany.myapp.repository.PatientRepository;
 import com.mycompany.myapp.repository.UserRepository;
 import com.mycompany.myapp.repository.search.UserSearchRepository;
 import com.mycompany.myapp.security.AuthoritiesConstants;
@@ -11,17 +15,25 @@ import com.mycompany.myapp.security.SecurityUtils;
 import com.mycompany.myapp.service.dto.DoctorDTO;
 import com.mycompany.myapp.service.dto.PatientDTO;
 import com.mycompany.myapp.service.dto.UserDTO;
+import com.mycompany.myapp.service.event.TokensRevokedEvent;
+import com.mycompany.myapp.service.event.UserChangedEvent;
+import com.mycompany.myapp.service.event.UserRegisteredEvent;
 import com.mycompany.myapp.service.util.RandomUtil;
 import com.mycompany.myapp.web.rest.errors.*;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
 import java.time.Instant;
@@ -38,6 +50,8 @@ import static com.mycompany.myapp.domain.Request_.patient;
 @Transactional
 public class UserService {
 
+    private static final int NOT_ACTIVATED_USERS_CHUNK_SIZE = 500;
+
     private final Logger log = LoggerFactory.getLogger(UserService.class);
 
     private final UserRepository userRepository;
@@ -48,16 +62,28 @@ public class UserService {
 
     private final AuthorityRepository authorityRepository;
 
-    private final PatientService patientService;
+    private final PatientRepository patientRepository;
+
+    private final DoctorRepository doctorRepository;
+
+    private final ApplicationEventPublisher applicationEventPublisher;
 
+    private final TransactionTemplate transactionTemplate;
 
+    private final ScheduledJobLockService scheduledJobLockService;
 
-    public UserService(UserRepository userRepository, PasswordEncoder passwordEncoder, UserSearchRepository userSearchRepository, AuthorityRepository authorityRepository, PatientService patientService) {
+    public UserService(UserRepository userRepository, PasswordEncoder passwordEncoder, UserSearchRepository userSearchRepository, AuthorityRepository authorityRepository,
+                       PatientRepository patientRepository, DoctorRepository doctorRepository, ApplicationEventPublisher applicationEventPublisher,
+                       PlatformTransactionManager transactionManager, ScheduledJobLockService scheduledJobLockService) {
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
         this.userSearchRepository = userSearchRepository;
         this.authorityRepository = authorityRepository;
-        this.patientService = patientService;
+        this.patientRepository = patientRepository;
+        this.doctorRepository = doctorRepository;
+        this.applicationEventPublisher = applicationEventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.scheduledJobLockService = scheduledJobLockService;
     }
 
     public Optional<User> activateRegistration(String key) {
@@ -68,6 +94,7 @@ public class UserService {
                 user.setActivated(true);
                 user.setActivationKey(null);
                 userSearchRepository.save(user);
+                applicationEventPublisher.publishEvent(new UserChangedEvent(user.getLogin()));
                 log.debug("Activated user: {}", user);
                 return user;
             });
@@ -81,6 +108,8 @@ public class UserService {
                 user.setPassword(passwordEncoder.encode(newPassword));
                 user.setResetKey(null);
                 user.setResetDate(null);
+                applicationEventPublisher.publishEvent(new UserChangedEvent(user.getLogin()));
+                applicationEventPublisher.publishEvent(new TokensRevokedEvent(user.getLogin(), Instant.now()));
                 return user;
             });
     }
@@ -95,6 +124,16 @@ public class UserService {
             });
     }
 
+    /**
+     * Register a new user, with the Patient or Doctor matching the role they registered with.
+     * <p>
+     * All rows are written in this transaction; indexing and the activation email are left to
+     * the {@link UserRegistrationListener}, once the transaction has committed.
+     *
+     * @param userDTO the user to register
+     * @param password the clear text password
+     * @return the registered user
+     */
     public User registerUser(UserDTO userDTO, String password) {
         userRepository.findOneByLogin(userDTO.getLogin().toLowerCase()).ifPresent(existingUser -> {
             boolean removed = removeNonActivatedUser(existingUser);
@@ -108,6 +147,7 @@ public class UserService {
                 throw new EmailAlreadyUsedException();
             }
         });
+        String role = userDTO.getAuthorities().iterator().next();
         User newUser = new User();
         String encryptedPassword = passwordEncoder.encode(password);
         newUser.setLogin(userDTO.getLogin().toLowerCase());
@@ -118,34 +158,51 @@ public class UserService {
         newUser.setEmail(userDTO.getEmail().toLowerCase());
         newUser.setImageUrl(userDTO.getImageUrl());
         newUser.setLangKey(userDTO.getLangKey());
-        // new user is not active
-        newUser.setActivated(false);
-        // new user gets registration key
-        newUser.setActivationKey(RandomUtil.generateActivationKey());
-        Set<Authority> authorities = new HashSet<>();
-         authorityRepository.findById(AuthoritiesConstants.USER).ifPresent(authorities::add);
-        System.out.println("d5altch");
-        if (userDTO.getAuthorities().iterator().next().equals("ROLE_PATIENT"))
-        {  System.out.println("doReMe");
-        authorityRepository.findById(AuthoritiesConstants.PATIENT).ifPresent(authorities::add); }
-        if (userDTO.getAuthorities().iterator().next().equals("ROLE_Doctor"))
-        {  System.out.println("docfo");
-            authorityRepository.findById(AuthoritiesConstants.DOCTOR).ifPresent(authorities::add); }
-        newUser.setAuthorities(authorities);
+        // patients and doctors can use the platform as soon as they are registered
+        newUser.setActivated(true);
+        newUser.setActivationKey(null);
+        List<String> authorityNames = new ArrayList<>();
+        authorityNames.add(AuthoritiesConstants.USER);
+        if (role.equals("ROLE_PATIENT")) {
+            authorityNames.add(AuthoritiesConstants.PATIENT);
+        }
+        if (role.equals("ROLE_Doctor")) {
+            authorityNames.add(AuthoritiesConstants.DOCTOR);
+        }
+        newUser.setAuthorities(new HashSet<>(authorityRepository.findAllById(authorityNames)));
         userRepository.save(newUser);
-        userSearchRepository.save(newUser);
+
+        // patients and doctors hold the id of their user in their "cin"
+        Patient patient = null;
+        Doctor doctor = null;
+        if (role.equals("ROLE_PATIENT")) {
+            patient = patientRepository.save(new Patient()
+                .cin(newUser.getId())
+                .name(newUser.getLogin())
+                .email(newUser.getEmail())
+                .phoneNumber(216000000L));
+        }
+        if (role.equals("ROLE_Doctor")) {
+            doctor = doctorRepository.save(new Doctor()
+                .cin(new BigDecimal(newUser.getId()))
+                .name(newUser.getLogin())
+                .email(newUser.getEmail())
+                .phoneNumber(new BigDecimal("2160000"))
+                .address("please provide your adress ")
+                .speciality("please provide your speciality"));
+        }
+        applicationEventPublisher.publishEvent(new UserRegisteredEvent(newUser, patient, doctor));
         log.debug("Created Information for User: {}", newUser);
         return newUser;
-
     }
 
-
     private boolean removeNonActivatedUser(User existingUser){
         if (existingUser.getActivated()) {
              return false;
         }
         userRepository.delete(existingUser);
         userRepository.flush();
+        applicationEventPublisher.publishEvent(new UserChangedEvent(existingUser.getLogin()));
         return true;
     }
 
@@ -201,6 +258,7 @@ public class UserService {
                 user.setLangKey(langKey);
                 user.setImageUrl(imageUrl);
                 userSearchRepository.save(user);
+                applicationEventPublisher.publishEvent(new UserChangedEvent(user.getLogin()));
                 log.debug("Changed Information for User: {}", user);
             });
     }
@@ -217,6 +275,7 @@ public class UserService {
             .filter(Optional::isPresent)
             .map(Optional::get)
             .map(user -> {
+                applicationEventPublisher.publishEvent(new UserChangedEvent(user.getLogin()));
                 user.setLogin(userDTO.getLogin().toLowerCase());
                 user.setFirstName(userDTO.getFirstName());
                 user.setLastName(userDTO.getLastName());
@@ -242,6 +301,8 @@ public class UserService {
         userRepository.findOneByLogin(login).ifPresent(user -> {
             userRepository.delete(user);
             userSearchRepository.delete(user);
+            applicationEventPublisher.publishEvent(new UserChangedEvent(user.getLogin()));
+            applicationEventPublisher.publishEvent(new TokensRevokedEvent(user.getLogin(), Instant.now()));
             log.debug("Deleted User: {}", user);
         });
     }
@@ -256,6 +317,8 @@ public class UserService {
                 }
                 String encryptedPassword = passwordEncoder.encode(newPassword);
                 user.setPassword(encryptedPassword);
+                applicationEventPublisher.publishEvent(new UserChangedEvent(user.getLogin()));
+                applicationEventPublisher.publishEvent(new TokensRevokedEvent(user.getLogin(), Instant.now()));
                 log.debug("Changed password for User: {}", user);
             });
     }
@@ -284,16 +347,32 @@ public class UserService {
      * Not activated users should be automatically deleted after 3 days.
      * <p>
      * This is scheduled to get fired everyday, at 01:00 (am).
+     * <p>
+     * Users are deleted in chunks, each one committed on its own so that jhi_user is never locked for long,
+     * and removed from the index once committed. It only runs on the instance holding the job's lease.
      */
     @Scheduled(cron = "0 0 1 * * ?")
+    @Transactional(propagation = Propagation.SUPPORTS)
     public void removeNotActivatedUsers() {
-        userRepository
-            .findAllByActivatedIsFalseAndCreatedDateBefore(Instant.now().minus(3, ChronoUnit.DAYS))
-            .forEach(user -> {
-                log.debug("Deleting not activated user {}", user.getLogin());
-                userRepository.delete(user);
-                userSearchRepository.delete(user);
-            });
+        scheduledJobLockService.runExclusively("removeNotActivatedUsers", () -> {
+            Instant createdBefore = Instant.now().minus(3, ChronoUnit.DAYS);
+            List<Long> ids;
+            do {
+                ids = transactionTemplate.execute(status -> removeNotActivatedUsersChunk(createdBefore));
+                userSearchRepository.bulkDelete(ids);
+            } while (ids.size() == NOT_ACTIVATED_USERS_CHUNK_SIZE);
+        });
+    }
+
+    private List<Long> removeNotActivatedUsersChunk(Instant createdBefore) {
+        List<Long> ids = userRepository.findIdsByActivatedIsFalseAndCreatedDateBefore(createdBefore,
+            PageRequest.of(0, NOT_ACTIVATED_USERS_CHUNK_SIZE));
+        if (!ids.isEmpty()) {
+            userRepository.deleteAuthoritiesByUserIdIn(ids);
+            userRepository.deleteByIdIn(ids);
+            log.debug("Deleted {} not activated users", ids.size());
+        }
+        return ids;
     }
 
     /**
@@ -0,0 +1,159 @@
+package com.mycompany.myapp.service.dto;
+import java.time.LocalDate;
+import java.time.ZonedDateTime;
+import java.io.Serializable;
+import java.util.Objects;
+
+/**
+ * A DTO for the PatientDashboard read model: one line of a patient's dashboard.
+ */
+public class PatientDashboardDTO implements Serializable {
+
+    private Long requestId;
+
+    private Long patientId;
+
+    private Long doctorId;
+
+    private String doctorName;
+
+    private String doctorSpeciality;
+
+    private String doctorAddress;
+
+    private LocalDate date1;
+
+    private LocalDate date2;
+
+    private LocalDate date3;
+
+    private Boolean confirmation;
+
+    private ZonedDateTime appointmentDateAndHour;
+
+    public Long getRequestId() {
+        return requestId;
+    }
+
+    public void setRequestId(Long requestId) {
+        this.requestId = requestId;
+    }
+
+    public Long getPatientId() {
+        return patientId;
+    }
+
+    public void setPatientId(Long patientId) {
+        this.patientId = patientId;
+    }
+
+    public Long getDoctorId() {
+        return doctorId;
+    }
+
+    public void setDoctorId(Long doctorId) {
+        this.doctorId = doctorId;
+    }
+
+    public String getDoctorName() {
+        return doctorName;
+    }
+
+    public void setDoctorName(String doctorName) {
+        this.doctorName = doctorName;
+    }
+
+    public String getDoctorSpeciality() {
+        return doctorSpeciality;
+    }
+
+    public void setDoctorSpeciality(String doctorSpeciality) {
+        this.doctorSpeciality = doctorSpeciality;
+    }
+
+    public String getDoctorAddress() {
+        return doctorAddress;
+    }
+
+    public void setDoctorAddress(String doctorAddress) {
+        this.doctorAddress = doctorAddress;
+    }
+
+    public LocalDate getDate1() {
+        return date1;
+    }
+
+    public void setDate1(LocalDate date1) {
+        this.date1 = date1;
+    }
+
+    public LocalDate getDate2() {
+        return date2;
+    }
+
+    public void setDate2(LocalDate date2) {
+        this.date2 = date2;
+    }
+
+    public LocalDate getDate3() {
+        return date3;
+    }
+
+    public void setDate3(LocalDate date3) {
+        this.date3 = date3;
+    }
+
+    public Boolean isConfirmation() {
+        return confirmation;
+    }
+
+    public void setConfirmation(Boolean confirmation) {
+        this.confirmation = confirmation;
+    }
+
+    public ZonedDateTime getAppointmentDateAndHour() {
+        return appointmentDateAndHour;
+    }
+
+    public void setAppointmentDateAndHour(ZonedDateTime appointmentDateAndHour) {
+        this.appointmentDateAndHour = appointmentDateAndHour;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+
+        PatientDashboardDTO patientDashboardDTO = (PatientDashboardDTO) o;
+        if (patientDashboardDTO.getRequestId() == null || getRequestId() == null) {
+            return false;
+        }
+        return Objects.equals(getRequestId(), patientDashboardDTO.getRequestId());
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hashCode(getRequestId());
+    }
+
+    @Override
+    public String toString() {
+        return "PatientDashboardDTO{" +
+            "requestId=" + getRequestId() +
+            ", patientId=" + getPatientId() +
+            ", doctorId=" + getDoctorId() +
+            ", doctorName='" + getDoctorName() + "'" +
+            ", doctorSpeciality='" + getDoctorSpeciality() + "'" +
+            ", doctorAddress='" + getDoctorAddress() + "'" +
+            ", date1='" + getDate1() + "'" +
+            ", date2='" + getDate2() + "'" +
+            ", date3='" + getDate3() + "'" +
+            ", confirmation='" + isConfirmation() + "'" +
+            ", appointmentDateAndHour='" + getAppointmentDateAndHour() + "'" +
+            "}";
+    }
+}
@@ -0,0 +1,82 @@
+package com.mycompany.myapp.service.dto;
+
+import java.time.Instant;
+
+/**
+ * A DTO representing a Flight Recorder recording started from the profiling endpoints.
+ */
+public class ProfilingRecordingDTO {
+
+    private String name;
+
+    private String template;
+
+    private long durationSeconds;
+
+    private Instant startedAt;
+
+    private boolean running;
+
+    public ProfilingRecordingDTO() {
+        // Empty constructor needed for Jackson.
+    }
+
+    public ProfilingRecordingDTO(String name, String template, long durationSeconds, Instant startedAt, boolean running) {
+        this.name = name;
+        this.template = template;
+        this.durationSeconds = durationSeconds;
+        this.startedAt = startedAt;
+        this.running = running;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public String getTemplate() {
+        return template;
+    }
+
+    public void setTemplate(String template) {
+        this.template = template;
+    }
+
+    public long getDurationSeconds() {
+        return durationSeconds;
+    }
+
+    public void setDurationSeconds(long durationSeconds) {
+        this.durationSeconds = durationSeconds;
+    }
+
+    public Instant getStartedAt() {
+        return startedAt;
+    }
+
+    public void setStartedAt(Instant startedAt) {
+        this.startedAt = startedAt;
+    }
+
+    public boolean isRunning() {
+        return running;
+    }
+
+    public void setRunning(boolean running) {
+        this.running = running;
+    }
+
+    @Override
+    public String toString() {
+        return "ProfilingRecordingDTO{" +
+            "name='" + name + '\'' +
+            ", template='" + template + '\'' +
+            ", durationSeconds=" + durationSeconds +
+            ", startedAt=" + startedAt +
+            ", running=" + running +
+            '}';
+    }
+}
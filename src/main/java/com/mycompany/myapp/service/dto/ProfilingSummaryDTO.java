@@ -0,0 +1,87 @@
+package com.mycompany.myapp.service.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A DTO representing the top allocation sites and hot methods of a Flight Recorder recording.
+ */
+public class ProfilingSummaryDTO {
+
+    private String recording;
+
+    private List<Frame> allocationSites = new ArrayList<>();
+
+    private List<Frame> hotMethods = new ArrayList<>();
+
+    public String getRecording() {
+        return recording;
+    }
+
+    public void setRecording(String recording) {
+        this.recording = recording;
+    }
+
+    public List<Frame> getAllocationSites() {
+        return allocationSites;
+    }
+
+    public void setAllocationSites(List<Frame> allocationSites) {
+        this.allocationSites = allocationSites;
+    }
+
+    public List<Frame> getHotMethods() {
+        return hotMethods;
+    }
+
+    public void setHotMethods(List<Frame> hotMethods) {
+        this.hotMethods = hotMethods;
+    }
+
+    /**
+     * A method at the top of the sampled stacks, with the number of samples and, for allocations, the bytes
+     * they account for.
+     */
+    public static class Frame {
+
+        private String method;
+
+        private long samples;
+
+        private long bytes;
+
+        public Frame() {
+            // Empty constructor needed for Jackson.
+        }
+
+        public Frame(String method, long samples, long bytes) {
+            this.method = method;
+            this.samples = samples;
+            this.bytes = bytes;
+        }
+
+        public String getMethod() {
+            return method;
+        }
+
+        public void setMethod(String method) {
+            this.method = method;
+        }
+
+        public long getSamples() {
+            return samples;
+        }
+
+        public void setSamples(long samples) {
+            this.samples = samples;
+        }
+
+        public long getBytes() {
+            return bytes;
+        }
+
+        public void setBytes(long bytes) {
+            this.bytes = bytes;
+        }
+    }
+}
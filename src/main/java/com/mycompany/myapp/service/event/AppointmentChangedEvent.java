@@ -0,0 +1,23 @@
+package com.mycompany.myapp.service.event;
+
+import com.mycompany.myapp.domain.Appointment;
+import com.mycompany.myapp.domain.Request;
+import com.mycompany.myapp.service.dto.AppointmentDTO;
+
+/**
+ * Published by the AppointmentService when an appointment is created, updated or deleted.
+ */
+public class AppointmentChangedEvent extends EntityChangedEvent<AppointmentDTO> {
+
+    public AppointmentChangedEvent(Action action, AppointmentDTO appointmentDTO, Appointment appointment) {
+        super(action, appointmentDTO, patientIdOf(appointment.getRequest()), doctorIdOf(appointment.getRequest()));
+    }
+
+    private static Long patientIdOf(Request request) {
+        return request != null && request.getPatient() != null ? request.getPatient().getId() : null;
+    }
+
+    private static Long doctorIdOf(Request request) {
+        return request != null && request.getDoctor() != null ? request.getDoctor().getId() : null;
+    }
+}
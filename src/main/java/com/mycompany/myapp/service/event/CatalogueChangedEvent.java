@@ -0,0 +1,34 @@
+package com.mycompany.myapp.service.event;
+
+/**
+ * Published when a doctor or a tip is saved or deleted, to invalidate the ETags of its catalogue.
+ * <p>
+ * It is also the payload replicating the change to the other nodes, through the
+ * {@link com.mycompany.myapp.config.CatalogueChangeChannels}.
+ */
+public class CatalogueChangedEvent {
+
+    private String catalogue;
+
+    public CatalogueChangedEvent() {
+    }
+
+    public CatalogueChangedEvent(String catalogue) {
+        this.catalogue = catalogue;
+    }
+
+    public String getCatalogue() {
+        return catalogue;
+    }
+
+    public void setCatalogue(String catalogue) {
+        this.catalogue = catalogue;
+    }
+
+    @Override
+    public String toString() {
+        return "CatalogueChangedEvent{" +
+            "catalogue='" + getCatalogue() + "'" +
+            "}";
+    }
+}
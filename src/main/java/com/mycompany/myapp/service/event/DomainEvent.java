@@ -0,0 +1,129 @@
+package com.mycompany.myapp.service.event;
+
+import java.io.Serializable;
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.util.UUID;
+
+/**
+ * A domain event, as published on the "output" binding for downstream consumers.
+ * <p>
+ * The {@link #getType() type} and {@link #getVersion() version} are also sent as message headers, so
+ * consumers can route or skip events without reading the payload. Fields may be added to a version;
+ * renaming or removing one requires a new version.
+ */
+public class DomainEvent implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    public static final int VERSION = 1;
+
+    public enum Type {
+        REQUEST_CREATED, REQUEST_CONFIRMED, APPOINTMENT_BOOKED, APPOINTMENT_CANCELLED
+    }
+
+    private String id = UUID.randomUUID().toString();
+
+    private Type type;
+
+    private int version = VERSION;
+
+    private Instant occurredAt;
+
+    private Long requestId;
+
+    private Long appointmentId;
+
+    private Long patientId;
+
+    private Long doctorId;
+
+    private ZonedDateTime dateAndHour;
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public void setType(Type type) {
+        this.type = type;
+    }
+
+    public int getVersion() {
+        return version;
+    }
+
+    public void setVersion(int version) {
+        this.version = version;
+    }
+
+    public Instant getOccurredAt() {
+        return occurredAt;
+    }
+
+    public void setOccurredAt(Instant occurredAt) {
+        this.occurredAt = occurredAt;
+    }
+
+    public Long getRequestId() {
+        return requestId;
+    }
+
+    public void setRequestId(Long requestId) {
+        this.requestId = requestId;
+    }
+
+    public Long getAppointmentId() {
+        return appointmentId;
+    }
+
+    public void setAppointmentId(Long appointmentId) {
+        this.appointmentId = appointmentId;
+    }
+
+    public Long getPatientId() {
+        return patientId;
+    }
+
+    public void setPatientId(Long patientId) {
+        this.patientId = patientId;
+    }
+
+    public Long getDoctorId() {
+        return doctorId;
+    }
+
+    public void setDoctorId(Long doctorId) {
+        this.doctorId = doctorId;
+    }
+
+    public ZonedDateTime getDateAndHour() {
+        return dateAndHour;
+    }
+
+    public void setDateAndHour(ZonedDateTime dateAndHour) {
+        this.dateAndHour = dateAndHour;
+    }
+
+    @Override
+    public String toString() {
+        return "DomainEvent{" +
+            "id='" + getId() + "'" +
+            ", type=" + getType() +
+            ", version=" + getVersion() +
+            ", occurredAt='" + getOccurredAt() + "'" +
+            ", requestId=" + getRequestId() +
+            ", appointmentId=" + getAppointmentId() +
+            ", patientId=" + getPatientId() +
+            ", doctorId=" + getDoctorId() +
+            ", dateAndHour='" + getDateAndHour() + "'" +
+            "}";
+    }
+}
@@ -0,0 +1,106 @@
+package com.mycompany.myapp.service.event;
+
+import com.mycompany.myapp.service.dto.AppointmentDTO;
+import com.mycompany.myapp.service.dto.RequestDTO;
+import com.mycompany.myapp.service.event.EntityChangedEvent.Action;
+
+import java.nio.charset.StandardCharsets;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cloud.stream.messaging.Source;
+import org.springframework.kafka.support.KafkaHeaders;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Turns committed request and appointment changes into {@link DomainEvent}s on the "output" binding.
+ * <p>
+ * Events are sent on a single background thread, so the HTTP request which made the change never waits for the
+ * broker, and the events are sent in the order their changes were committed.
+ * Sending only hands the record to the Kafka producer, which batches and compresses it in the background, and
+ * waits at most "max.block.ms" for the broker's metadata (see the "spring.cloud.stream.kafka.bindings.output.producer"
+ * configuration). A failed send is logged, not retried.
+ */
+@Component
+public class DomainEventProducer {
+
+    public static final String TYPE_HEADER = "eventType";
+
+    public static final String VERSION_HEADER = "eventVersion";
+
+    private final Logger log = LoggerFactory.getLogger(DomainEventProducer.class);
+
+    private final Source source;
+
+    public DomainEventProducer(Source source) {
+        this.source = source;
+    }
+
+    @Async("domainEventExecutor")
+    @TransactionalEventListener
+    public void onRequestChanged(RequestChangedEvent event) {
+        DomainEvent.Type type;
+        if (event.getAction() == Action.CREATED) {
+            type = DomainEvent.Type.REQUEST_CREATED;
+        } else if (event.isConfirmed()) {
+            type = DomainEvent.Type.REQUEST_CONFIRMED;
+        } else {
+            return;
+        }
+        RequestDTO request = event.getEntity();
+        DomainEvent domainEvent = domainEvent(type, event);
+        domainEvent.setRequestId(request.getId());
+        send(domainEvent, request.getId());
+    }
+
+    @Async("domainEventExecutor")
+    @TransactionalEventListener
+    public void onAppointmentChanged(AppointmentChangedEvent event) {
+        DomainEvent.Type type;
+        if (event.getAction() == Action.CREATED) {
+            type = DomainEvent.Type.APPOINTMENT_BOOKED;
+        } else if (event.getAction() == Action.DELETED) {
+            type = DomainEvent.Type.APPOINTMENT_CANCELLED;
+        } else {
+            return;
+        }
+        AppointmentDTO appointment = event.getEntity();
+        DomainEvent domainEvent = domainEvent(type, event);
+        domainEvent.setAppointmentId(appointment.getId());
+        domainEvent.setRequestId(appointment.getRequestId());
+        domainEvent.setDateAndHour(appointment.getDateAndHour());
+        send(domainEvent, appointment.getRequestId());
+    }
+
+    private DomainEvent domainEvent(DomainEvent.Type type, EntityChangedEvent<?> event) {
+        DomainEvent domainEvent = new DomainEvent();
+        domainEvent.setType(type);
+        domainEvent.setOccurredAt(event.getTime());
+        domainEvent.setPatientId(event.getPatientId());
+        domainEvent.setDoctorId(event.getDoctorId());
+        return domainEvent;
+    }
+
+    /**
+     * Keyed by request, so all the events of a request (and of its appointment) go to the same partition, where they
+     * keep the order of the single sending thread.
+     */
+    private void send(DomainEvent domainEvent, Long requestId) {
+        log.debug("Publishing domain event : {}", domainEvent);
+        MessageBuilder<DomainEvent> message = MessageBuilder.withPayload(domainEvent)
+            .setHeader(TYPE_HEADER, domainEvent.getType().name())
+            .setHeader(VERSION_HEADER, domainEvent.getVersion());
+        if (requestId != null) {
+            message.setHeader(KafkaHeaders.MESSAGE_KEY, requestId.toString().getBytes(StandardCharsets.UTF_8));
+        }
+        try {
+            source.output().send(message.build());
+        } catch (Exception e) {
+            // The change is committed already: there is no one to report the failure to
+            log.warn("Domain event {} could not be published", domainEvent, e);
+        }
+    }
+}
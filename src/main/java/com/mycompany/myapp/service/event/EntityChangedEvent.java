@@ -0,0 +1,62 @@
+package com.mycompany.myapp.service.event;
+
+import java.time.Instant;
+
+/**
+ * Base class of the events published when an entity shared by a patient and a doctor changes.
+ *
+ * @param <T> the DTO of the changed entity
+ */
+public abstract class EntityChangedEvent<T> {
+
+    public enum Action {
+        CREATED, UPDATED, DELETED
+    }
+
+    private final Action action;
+
+    private final T entity;
+
+    private final Long patientId;
+
+    private final Long doctorId;
+
+    private final Instant time = Instant.now();
+
+    protected EntityChangedEvent(Action action, T entity, Long patientId, Long doctorId) {
+        this.action = action;
+        this.entity = entity;
+        this.patientId = patientId;
+        this.doctorId = doctorId;
+    }
+
+    public Action getAction() {
+        return action;
+    }
+
+    public T getEntity() {
+        return entity;
+    }
+
+    public Long getPatientId() {
+        return patientId;
+    }
+
+    public Long getDoctorId() {
+        return doctorId;
+    }
+
+    public Instant getTime() {
+        return time;
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + "{" +
+            "action=" + getAction() +
+            ", entity=" + getEntity() +
+            ", patientId=" + getPatientId() +
+            ", doctorId=" + getDoctorId() +
+            "}";
+    }
+}
@@ -0,0 +1,27 @@
+package com.mycompany.myapp.service.event;
+
+import com.mycompany.myapp.service.dto.RequestDTO;
+
+/**
+ * Published by the RequestService when a request is created, updated or deleted.
+ */
+public class RequestChangedEvent extends EntityChangedEvent<RequestDTO> {
+
+    private final boolean confirmed;
+
+    public RequestChangedEvent(Action action, RequestDTO requestDTO) {
+        this(action, requestDTO, false);
+    }
+
+    /**
+     * @param confirmed whether this change is the one which confirmed the request
+     */
+    public RequestChangedEvent(Action action, RequestDTO requestDTO, boolean confirmed) {
+        super(action, requestDTO, requestDTO.getPatientId(), requestDTO.getDoctorId());
+        this.confirmed = confirmed;
+    }
+
+    public boolean isConfirmed() {
+        return confirmed;
+    }
+}
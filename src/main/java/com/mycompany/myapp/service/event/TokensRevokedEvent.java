@@ -0,0 +1,53 @@
+package com.mycompany.myapp.service.event;
+
+import java.time.Instant;
+
+/**
+ * Published when the tokens issued to a user must no longer be accepted: on logout, password
+ * change or reset, and deletion.
+ * <p>
+ * It is also the payload replicating the revocation to the other nodes, through the
+ * {@link com.mycompany.myapp.config.TokenRevocationChannels}. Without a revocation time, it only tells them to
+ * evict the user from their login cache.
+ */
+public class TokensRevokedEvent {
+
+    private String login;
+
+    private Instant revokedBefore;
+
+    public TokensRevokedEvent() {
+    }
+
+    public TokensRevokedEvent(String login, Instant revokedBefore) {
+        this.login = login;
+        this.revokedBefore = revokedBefore;
+    }
+
+    public String getLogin() {
+        return login;
+    }
+
+    public void setLogin(String login) {
+        this.login = login;
+    }
+
+    /**
+     * @return the time before which the tokens of the user are revoked, or null if none is
+     */
+    public Instant getRevokedBefore() {
+        return revokedBefore;
+    }
+
+    public void setRevokedBefore(Instant revokedBefore) {
+        this.revokedBefore = revokedBefore;
+    }
+
+    @Override
+    public String toString() {
+        return "TokensRevokedEvent{" +
+            "login='" + getLogin() + "'" +
+            ", revokedBefore='" + getRevokedBefore() + "'" +
+            "}";
+    }
+}
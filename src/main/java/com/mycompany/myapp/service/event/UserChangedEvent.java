@@ -0,0 +1,25 @@
+package com.mycompany.myapp.service.event;
+
+/**
+ * Published by the UserService when what a user logs in with (login, email, password, activation
+ * or authorities) may have changed, or the user was deleted.
+ */
+public class UserChangedEvent {
+
+    private final String login;
+
+    public UserChangedEvent(String login) {
+        this.login = login;
+    }
+
+    public String getLogin() {
+        return login;
+    }
+
+    @Override
+    public String toString() {
+        return "UserChangedEvent{" +
+            "login='" + getLogin() + "'" +
+            "}";
+    }
+}
@@ -0,0 +1,50 @@
+package com.mycompany.myapp.service.event;
+
+import com.mycompany.myapp.domain.Doctor;
+import com.mycompany.myapp.domain.Patient;
+import com.mycompany.myapp.domain.User;
+
+/**
+ * Published by the UserService when a user registers, with the Patient or Doctor created for them.
+ */
+public class UserRegisteredEvent {
+
+    private final User user;
+
+    private final Patient patient;
+
+    private final Doctor doctor;
+
+    public UserRegisteredEvent(User user, Patient patient, Doctor doctor) {
+        this.user = user;
+        this.patient = patient;
+        this.doctor = doctor;
+    }
+
+    public User getUser() {
+        return user;
+    }
+
+    /**
+     * @return the patient created for the user, or null if they registered as a doctor
+     */
+    public Patient getPatient() {
+        return patient;
+    }
+
+    /**
+     * @return the doctor created for the user, or null if they registered as a patient
+     */
+    public Doctor getDoctor() {
+        return doctor;
+    }
+
+    @Override
+    public String toString() {
+        return "UserRegisteredEvent{" +
+            "user=" + getUser() +
+            ", patient=" + getPatient() +
+            ", doctor=" + getDoctor() +
+            "}";
+    }
+}
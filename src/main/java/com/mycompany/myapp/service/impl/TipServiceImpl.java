@@ -1,9 +1,11 @@
 package com.mycompany.myapp.service.impl;
 
+import com.mycompany.myapp.service.CatalogueVersionService;
 import com.mycompany.myapp.service.TipService;
 import com.mycompany.myapp.domain.Tip;
 import com.mycompany.myapp.repository.TipRepository;
 import com.mycompany.myapp.repository.search.TipSearchRepository;
+import com.mycompany.myapp.service.util.StreamUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -12,8 +14,11 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import javax.persistence.EntityManager;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 import static org.elasticsearch.index.query.QueryBuilders.*;
 
@@ -30,9 +35,16 @@ public class TipServiceImpl implements TipService {
 
     private final TipSearchRepository tipSearchRepository;
 
-    public TipServiceImpl(TipRepository tipRepository, TipSearchRepository tipSearchRepository) {
+    private final CatalogueVersionService catalogueVersionService;
+
+    private final EntityManager entityManager;
+
+    public TipServiceImpl(TipRepository tipRepository, TipSearchRepository tipSearchRepository,
+                          CatalogueVersionService catalogueVersionService, EntityManager entityManager) {
         this.tipRepository = tipRepository;
         this.tipSearchRepository = tipSearchRepository;
+        this.catalogueVersionService = catalogueVersionService;
+        this.entityManager = entityManager;
     }
 
     @Override
@@ -43,6 +55,20 @@ public class TipServiceImpl implements TipService {
         return tipRepository.findAll();
     }
 
+    /**
+     * Hand all the tips to a consumer as they are read.
+     *
+     * @param consumer the consumer of the tips, called within the transaction
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public void streamAll(Consumer<Stream<Tip>> consumer) {
+        log.debug("Request to stream all Tips");
+        try (Stream<Tip> tips = tipRepository.streamAll()) {
+            consumer.accept(StreamUtil.clearingEvery(tips, entityManager));
+        }
+    }
+
     /**
      * Save a tip.
      *
@@ -54,6 +80,7 @@ public class TipServiceImpl implements TipService {
         log.debug("Request to save Tip : {}", tip);
         Tip result = tipRepository.save(tip);
         tipSearchRepository.save(result);
+        catalogueVersionService.changed(CatalogueVersionService.TIPS);
         return result;
     }
 
@@ -94,6 +121,7 @@ public class TipServiceImpl implements TipService {
         log.debug("Request to delete Tip : {}", id);
         tipRepository.deleteById(id);
         tipSearchRepository.deleteById(id);
+        catalogueVersionService.changed(CatalogueVersionService.TIPS);
     }
 
 
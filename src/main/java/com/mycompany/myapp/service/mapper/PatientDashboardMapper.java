@@ -0,0 +1,14 @@
+package com.mycompany.myapp.service.mapper;
+
+import com.mycompany.myapp.domain.*;
+import com.mycompany.myapp.service.dto.PatientDashboardDTO;
+
+import org.mapstruct.*;
+
+/**
+ * Mapper for the read model PatientDashboard and its DTO PatientDashboardDTO.
+ */
+@Mapper(componentModel = "spring", uses = {})
+public interface PatientDashboardMapper extends EntityMapper<PatientDashboardDTO, PatientDashboard> {
+
+}
@@ -0,0 +1,39 @@
+package com.mycompany.myapp.service.util;
+
+import javax.persistence.EntityManager;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * Utility class for streaming entities out of a transaction.
+ */
+public final class StreamUtil {
+
+    /**
+     * Number of rows kept in the persistence context while streaming.
+     */
+    public static final int CLEAR_INTERVAL = 100;
+
+    private StreamUtil() {
+    }
+
+    /**
+     * Clear the persistence context every {@link #CLEAR_INTERVAL} rows, so that the entities already consumed
+     * are not kept until the end of the transaction.
+     * <p>
+     * The row being handed out is detached as well, so the consumer must only read what was fetched with it.
+     *
+     * @param rows the rows, read from the entity manager
+     * @param entityManager the entity manager of the current transaction
+     * @param <T> the type of the rows
+     * @return the rows
+     */
+    public static <T> Stream<T> clearingEvery(Stream<T> rows, EntityManager entityManager) {
+        AtomicLong count = new AtomicLong();
+        return rows.peek(row -> {
+            if (count.incrementAndGet() % CLEAR_INTERVAL == 0) {
+                entityManager.clear();
+            }
+        });
+    }
+}
@@ -1,13 +1,16 @@
 package com.mycompany.myapp.web.rest;
 import com.mycompany.myapp.domain.Appointment;
 import com.mycompany.myapp.repository.AppointmentRepository;
+import com.mycompany.myapp.service.AsyncSearchService;
 import com.mycompany.myapp.service.AppointmentService;
 import com.mycompany.myapp.web.rest.errors.BadRequestAlertException;
 import com.mycompany.myapp.web.rest.util.HeaderUtil;
 import com.mycompany.myapp.web.rest.util.PaginationUtil;
+import com.mycompany.myapp.web.rest.util.StreamingResponseUtil;
 import com.mycompany.myapp.service.dto.AppointmentDTO;
 import com.mycompany.myapp.service.dto.AppointmentCriteria;
 import com.mycompany.myapp.service.AppointmentQueryService;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.github.jhipster.web.util.ResponseUtil;
 import io.micrometer.core.annotation.Timed;
 import org.slf4j.Logger;
@@ -19,6 +22,8 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
 import javax.validation.Valid;
 import java.net.URI;
 import java.net.URISyntaxException;
@@ -26,6 +31,7 @@ import java.net.URISyntaxException;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.StreamSupport;
 
 import static org.elasticsearch.index.query.QueryBuilders.*;
@@ -47,10 +53,18 @@ public class AppointmentResource {
 
     private final AppointmentQueryService appointmentQueryService;
 
-    public AppointmentResource(AppointmentService appointmentService, AppointmentQueryService appointmentQueryService,  AppointmentRepository appointmentRepository) {
+    private final ObjectMapper objectMapper;
+
+    private final AsyncSearchService asyncSearchService;
+
+    public AppointmentResource(AppointmentService appointmentService, AppointmentQueryService appointmentQueryService,  AppointmentRepository appointmentRepository,
+                               ObjectMapper objectMapper,
+                               AsyncSearchService asyncSearchService) {
         this.appointmentService = appointmentService;
         this.appointmentQueryService = appointmentQueryService;
         this.appointmentRepository = appointmentRepository;
+        this.objectMapper = objectMapper;
+        this.asyncSearchService = asyncSearchService;
     }
 
     /**
@@ -155,23 +169,29 @@ public class AppointmentResource {
      *
      * @param query the query of the appointment search
      * @param pageable the pagination information
-     * @return the result of the search
+     * @return the future result of the search, run on the search pool
      */
     @GetMapping("/_search/appointments")
-    public ResponseEntity<List<AppointmentDTO>> searchAppointments(@RequestParam String query, Pageable pageable) {
+    public CompletableFuture<ResponseEntity<List<AppointmentDTO>>> searchAppointments(@RequestParam String query, Pageable pageable) {
         log.debug("REST request to search for a page of Appointments for query {}", query);
-        Page<AppointmentDTO> page = appointmentService.search(query, pageable);
-        HttpHeaders headers = PaginationUtil.generateSearchPaginationHttpHeaders(query, page, "/api/_search/appointments");
-        return ResponseEntity.ok().headers(headers).body(page.getContent());
+        return asyncSearchService.submit(() -> {
+            Page<AppointmentDTO> page = appointmentService.search(query, pageable);
+            HttpHeaders headers = PaginationUtil.generateSearchPaginationHttpHeaders(query, page, "/api/_search/appointments");
+            return ResponseEntity.ok().headers(headers).body(page.getContent());
+        });
     }
 
     /**
-     * @return a string list of the all of the appointments
+     * GET  /appointment/list : get all the appointments, with their request, written as they are read.
+     *
+     * @param request the request, for its "Accept-Encoding" header
+     * @param response the response the appointments are written to, with status 200 (OK)
      */
     @GetMapping("/appointment/list")
     @Timed
-    public List<Appointment> geAppointmentsList() {
-        return appointmentRepository.findAll();
+    public void geAppointmentsList(HttpServletRequest request, HttpServletResponse response) {
+        appointmentService.streamAll(appointments ->
+            StreamingResponseUtil.writeJsonArray(appointments, objectMapper, request, response));
     }
 
 }
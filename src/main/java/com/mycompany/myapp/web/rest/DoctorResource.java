@@ -1,9 +1,10 @@
 package com.mycompany.myapp.web.rest;
 import com.mycompany.myapp.domain.Doctor;
 import com.mycompany.myapp.domain.Patient;
-import com.mycompany.myapp.domain.User;
 import com.mycompany.myapp.repository.PatientRepository;
-import com.mycompany.myapp.repository.UserRepository;
+import com.mycompany.myapp.security.CurrentUserIdentity;
+import com.mycompany.myapp.service.CatalogueVersionService;
+import com.mycompany.myapp.service.AsyncSearchService;
 import com.mycompany.myapp.service.DoctorService;
 import com.mycompany.myapp.web.rest.errors.BadRequestAlertException;
 import com.mycompany.myapp.web.rest.util.HeaderUtil;
@@ -16,13 +17,12 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import javax.validation.Valid;
 import java.net.URI;
@@ -30,6 +30,8 @@ import java.net.URISyntaxException;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
 import java.util.stream.StreamSupport;
 
 import static org.elasticsearch.index.query.QueryBuilders.*;
@@ -45,20 +47,39 @@ public class DoctorResource {
 
     private static final String ENTITY_NAME = "doctor";
 
+    /**
+     * Maximum number of ids which may be looked up at once.
+     */
+    static final int MAX_IDS = 100;
+
+    /**
+     * The doctors may be kept by the client, but not by shared caches as the API is authenticated, and are
+     * revalidated with their ETag on each use.
+     */
+    private static final CacheControl CATALOGUE_CACHE_CONTROL = CacheControl.noCache().cachePrivate();
+
     private final DoctorService doctorService;
 
-    private final UserRepository userRepository;
+    private final CurrentUserIdentity currentUserIdentity;
 
     private final PatientRepository patientRepository;
 
 
     private final DoctorQueryService doctorQueryService;
 
-    public DoctorResource(DoctorService doctorService, DoctorQueryService doctorQueryService,UserRepository userRepository,PatientRepository patientRepository) {
+    private final CatalogueVersionService catalogueVersionService;
+
+    private final AsyncSearchService asyncSearchService;
+
+    public DoctorResource(DoctorService doctorService, DoctorQueryService doctorQueryService,CurrentUserIdentity currentUserIdentity,PatientRepository patientRepository,
+                          CatalogueVersionService catalogueVersionService,
+                          AsyncSearchService asyncSearchService) {
         this.doctorService = doctorService;
         this.doctorQueryService = doctorQueryService;
-        this.userRepository=userRepository;
+        this.currentUserIdentity=currentUserIdentity;
         this.patientRepository=patientRepository;
+        this.catalogueVersionService = catalogueVersionService;
+        this.asyncSearchService = asyncSearchService;
     }
 
     /**
@@ -103,17 +124,28 @@ public class DoctorResource {
 
     /**
      * GET  /doctors : get all the doctors.
+     * <p>
+     * The response carries the ETag of the doctor catalogue, and a request whose "If-None-Match" still matches
+     * it is answered without reading the doctors. Filtering on the requests is left out: they are not part of the
+     * catalogue, and its version does not change with them.
      *
      * @param pageable the pagination information
      * @param criteria the criterias which the requested entities should match
-     * @return the ResponseEntity with status 200 (OK) and the list of doctors in body
+     * @param request the request, for its "If-None-Match" header
+     * @return the ResponseEntity with status 200 (OK) and the list of doctors in body,
+     * or with status 304 (Not Modified) if the doctors did not change
      */
     @GetMapping("/doctors")
-    public ResponseEntity<List<DoctorDTO>> getAllDoctors(DoctorCriteria criteria, Pageable pageable) {
+    public ResponseEntity<List<DoctorDTO>> getAllDoctors(DoctorCriteria criteria, Pageable pageable, WebRequest request) {
         log.debug("REST request to get Doctors by criteria: {}", criteria);
+        // Sets the ETag, and the status to 304 if the client has it already
+        if (criteria.getRequestsId() == null
+            && request.checkNotModified(catalogueVersionService.getETag(CatalogueVersionService.DOCTORS))) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).cacheControl(CATALOGUE_CACHE_CONTROL).build();
+        }
         Page<DoctorDTO> page = doctorQueryService.findByCriteria(criteria, pageable);
         HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(page, "/api/doctors");
-        return ResponseEntity.ok().headers(headers).body(page.getContent());
+        return ResponseEntity.ok().headers(headers).cacheControl(CATALOGUE_CACHE_CONTROL).body(page.getContent());
     }
 
 
@@ -136,25 +168,28 @@ public class DoctorResource {
         }
         return ResponseEntity.ok().body(doc);
     }
-    public String getCurrentUserLogin() {
-        org.springframework.security.core.context.SecurityContext securityContext = SecurityContextHolder.getContext();
-        Authentication authentication = securityContext.getAuthentication();
-        String login = null;
-        if (authentication != null)
-            if (authentication.getPrincipal() instanceof UserDetails)
-                login = ((UserDetails) authentication.getPrincipal()).getUsername();
-            else if (authentication.getPrincipal() instanceof String)
-                login = (String) authentication.getPrincipal();
-
-        return login;
-    }
-
     @GetMapping("/getCurrentUser")
     public ResponseEntity<Patient> getCurrentUser() {
-        User user=userRepository.findOneByLogin(getCurrentUserLogin()).get();
-        Long l= new Long(user.getId());
-        Patient patient=patientRepository.findOneByCin(l).get();
-        return ResponseEntity.ok().body(patient);
+        Optional<Patient> patient = currentUserIdentity.getPatientId().flatMap(patientRepository::findById);
+        return ResponseUtil.wrapOrNotFound(patient);
+    }
+
+    /**
+     * GET  /doctors?ids=:ids : get the doctors with the given ids, in one query.
+     *
+     * @param ids the ids of the doctors to retrieve, at most {@link #MAX_IDS} distinct ones
+     * @return the ResponseEntity with status 200 (OK) and the list of doctors in body, in the order of the ids and
+     * without the unknown ones, or with status 400 (Bad Request) if there are too many ids
+     */
+    @GetMapping(value = "/doctors", params = "ids")
+    public ResponseEntity<List<DoctorDTO>> getDoctorsById(@RequestParam List<Long> ids) {
+        log.debug("REST request to get Doctors : {}", ids);
+        // a repeated id is only looked up once, so it counts once
+        List<Long> distinctIds = ids.stream().distinct().collect(Collectors.toList());
+        if (distinctIds.size() > MAX_IDS) {
+            throw new BadRequestAlertException("At most " + MAX_IDS + " ids may be requested at once", ENTITY_NAME, "toomanyids");
+        }
+        return ResponseEntity.ok().body(doctorService.findAllById(distinctIds));
     }
 
     /**
@@ -201,14 +236,16 @@ public class DoctorResource {
      *
      * @param query the query of the doctor search
      * @param pageable the pagination information
-     * @return the result of the search
+     * @return the future result of the search, run on the search pool
      */
     @GetMapping("/_search/doctors")
-    public ResponseEntity<List<DoctorDTO>> searchDoctors(@RequestParam String query, Pageable pageable) {
+    public CompletableFuture<ResponseEntity<List<DoctorDTO>>> searchDoctors(@RequestParam String query, Pageable pageable) {
         log.debug("REST request to search for a page of Doctors for query {}", query);
-        Page<DoctorDTO> page = doctorService.search(query, pageable);
-        HttpHeaders headers = PaginationUtil.generateSearchPaginationHttpHeaders(query, page, "/api/_search/doctors");
-        return ResponseEntity.ok().headers(headers).body(page.getContent());
+        return asyncSearchService.submit(() -> {
+            Page<DoctorDTO> page = doctorService.search(query, pageable);
+            HttpHeaders headers = PaginationUtil.generateSearchPaginationHttpHeaders(query, page, "/api/_search/doctors");
+            return ResponseEntity.ok().headers(headers).body(page.getContent());
+        });
     }
 
 }
@@ -0,0 +1,47 @@
+package com.mycompany.myapp.web.rest;
+
+import com.mycompany.myapp.security.CurrentUserIdentity;
+import com.mycompany.myapp.service.PatientDashboardService;
+import com.mycompany.myapp.service.dto.PatientDashboardDTO;
+import io.micrometer.core.annotation.Timed;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * REST controller for the dashboard of the current patient.
+ */
+@RestController
+@RequestMapping("/api")
+public class PatientDashboardResource {
+
+    private final Logger log = LoggerFactory.getLogger(PatientDashboardResource.class);
+
+    private final PatientDashboardService patientDashboardService;
+
+    private final CurrentUserIdentity currentUserIdentity;
+
+    public PatientDashboardResource(PatientDashboardService patientDashboardService, CurrentUserIdentity currentUserIdentity) {
+        this.patientDashboardService = patientDashboardService;
+        this.currentUserIdentity = currentUserIdentity;
+    }
+
+    /**
+     * GET  /user/dashboard : get the requests of the current patient, with their doctor and appointment.
+     *
+     * @return the ResponseEntity with status 200 (OK) and the list of dashboard lines in body
+     */
+    @GetMapping("/user/dashboard")
+    @Timed
+    public List<PatientDashboardDTO> getDashboard() {
+        log.debug("REST request to get the dashboard of the current patient");
+        return currentUserIdentity.getPatientId()
+            .map(patientDashboardService::findAllByPatient)
+            .orElse(Collections.emptyList());
+    }
+}
@@ -1,4 +1,5 @@
 package com.mycompany.myapp.web.rest;
+import com.mycompany.myapp.service.AsyncSearchService;
 import com.mycompany.myapp.service.PatientService;
 import com.mycompany.myapp.web.rest.errors.BadRequestAlertException;
 import com.mycompany.myapp.web.rest.util.HeaderUtil;
@@ -22,6 +23,8 @@ import java.net.URISyntaxException;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
 import java.util.stream.StreamSupport;
 
 import static org.elasticsearch.index.query.QueryBuilders.*;
@@ -37,13 +40,22 @@ public class PatientResource {
 
     private static final String ENTITY_NAME = "patient";
 
+    /**
+     * Maximum number of ids which may be looked up at once.
+     */
+    static final int MAX_IDS = 100;
+
     private final PatientService patientService;
 
     private final PatientQueryService patientQueryService;
 
-    public PatientResource(PatientService patientService, PatientQueryService patientQueryService) {
+    private final AsyncSearchService asyncSearchService;
+
+    public PatientResource(PatientService patientService, PatientQueryService patientQueryService,
+                           AsyncSearchService asyncSearchService) {
         this.patientService = patientService;
         this.patientQueryService = patientQueryService;
+        this.asyncSearchService = asyncSearchService;
     }
 
     /**
@@ -101,6 +113,24 @@ public class PatientResource {
         return ResponseEntity.ok().headers(headers).body(page.getContent());
     }
 
+    /**
+     * GET  /patients?ids=:ids : get the patients with the given ids, in one query.
+     *
+     * @param ids the ids of the patients to retrieve, at most {@link #MAX_IDS} distinct ones
+     * @return the ResponseEntity with status 200 (OK) and the list of patients in body, in the order of the ids and
+     * without the unknown ones, or with status 400 (Bad Request) if there are too many ids
+     */
+    @GetMapping(value = "/patients", params = "ids")
+    public ResponseEntity<List<PatientDTO>> getPatientsById(@RequestParam List<Long> ids) {
+        log.debug("REST request to get Patients : {}", ids);
+        // a repeated id is only looked up once, so it counts once
+        List<Long> distinctIds = ids.stream().distinct().collect(Collectors.toList());
+        if (distinctIds.size() > MAX_IDS) {
+            throw new BadRequestAlertException("At most " + MAX_IDS + " ids may be requested at once", ENTITY_NAME, "toomanyids");
+        }
+        return ResponseEntity.ok().body(patientService.findAllById(distinctIds));
+    }
+
     /**
     * GET  /patients/count : count all the patients.
     *
@@ -145,14 +175,16 @@ public class PatientResource {
      *
      * @param query the query of the patient search
      * @param pageable the pagination information
-     * @return the result of the search
+     * @return the future result of the search, run on the search pool
      */
     @GetMapping("/_search/patients")
-    public ResponseEntity<List<PatientDTO>> searchPatients(@RequestParam String query, Pageable pageable) {
+    public CompletableFuture<ResponseEntity<List<PatientDTO>>> searchPatients(@RequestParam String query, Pageable pageable) {
         log.debug("REST request to search for a page of Patients for query {}", query);
-        Page<PatientDTO> page = patientService.search(query, pageable);
-        HttpHeaders headers = PaginationUtil.generateSearchPaginationHttpHeaders(query, page, "/api/_search/patients");
-        return ResponseEntity.ok().headers(headers).body(page.getContent());
+        return asyncSearchService.submit(() -> {
+            Page<PatientDTO> page = patientService.search(query, pageable);
+            HttpHeaders headers = PaginationUtil.generateSearchPaginationHttpHeaders(query, page, "/api/_search/patients");
+            return ResponseEntity.ok().headers(headers).body(page.getContent());
+        });
     }
 
 }
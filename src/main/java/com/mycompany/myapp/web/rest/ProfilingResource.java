@@ -0,0 +1,109 @@
+package com.mycompany.myapp.web.rest;
+
+import com.mycompany.myapp.config.ApplicationProperties;
+import com.mycompany.myapp.service.ProfilingService;
+import com.mycompany.myapp.service.dto.ProfilingRecordingDTO;
+import com.mycompany.myapp.service.dto.ProfilingSummaryDTO;
+import com.mycompany.myapp.web.rest.errors.BadRequestAlertException;
+
+import io.github.jhipster.web.util.ResponseUtil;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.nio.file.Path;
+import java.util.Optional;
+
+/**
+ * Controller for profiling the application at runtime with Flight Recorder.
+ * <p>
+ * Like the other "/management" endpoints, it is restricted to administrators. Recordings are local to the node
+ * serving the request.
+ */
+@RestController
+@RequestMapping("/management/profiling")
+public class ProfilingResource {
+
+    private static final String ENTITY_NAME = "profiling";
+
+    private final ProfilingService profilingService;
+
+    private final ApplicationProperties applicationProperties;
+
+    public ProfilingResource(ProfilingService profilingService, ApplicationProperties applicationProperties) {
+        this.profilingService = profilingService;
+        this.applicationProperties = applicationProperties;
+    }
+
+    /**
+     * POST /profiling/start : start a recording, which stops by itself after its duration.
+     *
+     * @param template the JDK template, "default" or "profile" (which also records allocations)
+     * @param duration the duration of the recording, in seconds
+     * @return the ResponseEntity with status 200 (OK) and the recording in body, or with status 400 (Bad Request)
+     * if the template or duration is invalid or a recording is already running
+     */
+    @PostMapping("/start")
+    public ProfilingRecordingDTO start(@RequestParam(defaultValue = "profile") String template,
+                                      @RequestParam(defaultValue = "60") long duration) {
+        if (!ProfilingService.TEMPLATES.contains(template)) {
+            throw new BadRequestAlertException("Unknown template " + template, ENTITY_NAME, "unknowntemplate");
+        }
+        if (duration <= 0 || duration > applicationProperties.getProfiling().getMaxDurationSeconds()) {
+            throw new BadRequestAlertException("The duration must be between 1 and " +
+                applicationProperties.getProfiling().getMaxDurationSeconds() + " seconds", ENTITY_NAME, "invalidduration");
+        }
+        return profilingService.start(template, duration);
+    }
+
+    /**
+     * POST /profiling/stop : stop the current recording before the end of its duration.
+     *
+     * @return the ResponseEntity with status 200 (OK) and the recording in body, or with status 404 (Not Found)
+     */
+    @PostMapping("/stop")
+    public ResponseEntity<ProfilingRecordingDTO> stop() {
+        return ResponseUtil.wrapOrNotFound(profilingService.stop());
+    }
+
+    /**
+     * GET /profiling : get the current recording.
+     *
+     * @return the ResponseEntity with status 200 (OK) and the recording in body, or with status 404 (Not Found)
+     */
+    @GetMapping
+    public ResponseEntity<ProfilingRecordingDTO> getRecording() {
+        return ResponseUtil.wrapOrNotFound(profilingService.getRecording());
+    }
+
+    /**
+     * GET /profiling/recording.jfr : download the last finished recording, to open it in Mission Control.
+     *
+     * @return the ResponseEntity with status 200 (OK) and the .jfr file in body, or with status 404 (Not Found)
+     */
+    @GetMapping("/recording.jfr")
+    public ResponseEntity<Resource> download() {
+        Optional<Path> file = profilingService.getRecordingFile();
+        if (!file.isPresent()) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok()
+            .contentType(MediaType.APPLICATION_OCTET_STREAM)
+            .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + file.get().getFileName() + "\"")
+            .body(new FileSystemResource(file.get().toFile()));
+    }
+
+    /**
+     * GET /profiling/summary : get the top allocation sites and hot methods of the last finished recording.
+     *
+     * @param top the number of allocation sites and hot methods
+     * @return the ResponseEntity with status 200 (OK) and the summary in body, or with status 404 (Not Found)
+     */
+    @GetMapping("/summary")
+    public ResponseEntity<ProfilingSummaryDTO> getSummary(@RequestParam(defaultValue = "20") int top) {
+        return ResponseUtil.wrapOrNotFound(profilingService.summarize(Math.max(1, Math.min(top, 100))));
+    }
+}
@@ -1,4 +1,5 @@
 package com.mycompany.myapp.web.rest;
+import com.mycompany.myapp.service.AsyncSearchService;
 import com.mycompany.myapp.service.RequestService;
 import com.mycompany.myapp.web.rest.errors.BadRequestAlertException;
 import com.mycompany.myapp.web.rest.util.HeaderUtil;
@@ -22,6 +23,8 @@ import java.net.URISyntaxException;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
 import java.util.stream.StreamSupport;
 
 import static org.elasticsearch.index.query.QueryBuilders.*;
@@ -37,13 +40,22 @@ public class RequestResource {
 
     private static final String ENTITY_NAME = "request";
 
+    /**
+     * Maximum number of ids which may be looked up at once.
+     */
+    static final int MAX_IDS = 100;
+
     private final RequestService requestService;
 
     private final RequestQueryService requestQueryService;
 
-    public RequestResource(RequestService requestService, RequestQueryService requestQueryService) {
+    private final AsyncSearchService asyncSearchService;
+
+    public RequestResource(RequestService requestService, RequestQueryService requestQueryService,
+                           AsyncSearchService asyncSearchService) {
         this.requestService = requestService;
         this.requestQueryService = requestQueryService;
+        this.asyncSearchService = asyncSearchService;
     }
 
     /**
@@ -103,6 +115,24 @@ public class RequestResource {
         return ResponseEntity.ok().headers(headers).body(page.getContent());
     }
 
+    /**
+     * GET  /requests?ids=:ids : get the requests with the given ids, in one query.
+     *
+     * @param ids the ids of the requests to retrieve, at most {@link #MAX_IDS} distinct ones
+     * @return the ResponseEntity with status 200 (OK) and the list of requests in body, in the order of the ids and
+     * without the unknown ones, or with status 400 (Bad Request) if there are too many ids
+     */
+    @GetMapping(value = "/requests", params = "ids")
+    public ResponseEntity<List<RequestDTO>> getRequestsById(@RequestParam List<Long> ids) {
+        log.debug("REST request to get Requests : {}", ids);
+        // a repeated id is only looked up once, so it counts once
+        List<Long> distinctIds = ids.stream().distinct().collect(Collectors.toList());
+        if (distinctIds.size() > MAX_IDS) {
+            throw new BadRequestAlertException("At most " + MAX_IDS + " ids may be requested at once", ENTITY_NAME, "toomanyids");
+        }
+        return ResponseEntity.ok().body(requestService.findAllById(distinctIds));
+    }
+
     /**
     * GET  /requests/count : count all the requests.
     *
@@ -147,14 +177,16 @@ public class RequestResource {
      *
      * @param query the query of the request search
      * @param pageable the pagination information
-     * @return the result of the search
+     * @return the future result of the search, run on the search pool
      */
     @GetMapping("/_search/requests")
-    public ResponseEntity<List<RequestDTO>> searchRequests(@RequestParam String query, Pageable pageable) {
+    public CompletableFuture<ResponseEntity<List<RequestDTO>>> searchRequests(@RequestParam String query, Pageable pageable) {
         log.debug("REST request to search for a page of Requests for query {}", query);
-        Page<RequestDTO> page = requestService.search(query, pageable);
-        HttpHeaders headers = PaginationUtil.generateSearchPaginationHttpHeaders(query, page, "/api/_search/requests");
-        return ResponseEntity.ok().headers(headers).body(page.getContent());
+        return asyncSearchService.submit(() -> {
+            Page<RequestDTO> page = requestService.search(query, pageable);
+            HttpHeaders headers = PaginationUtil.generateSearchPaginationHttpHeaders(query, page, "/api/_search/requests");
+            return ResponseEntity.ok().headers(headers).body(page.getContent());
+        });
     }
 
 }
@@ -1,27 +1,35 @@
 package com.mycompany.myapp.web.rest;
 import com.mycompany.myapp.domain.Tip;
+import com.mycompany.myapp.service.CatalogueVersionService;
+import com.mycompany.myapp.service.AsyncSearchService;
 import com.mycompany.myapp.service.TipService;
 import com.mycompany.myapp.web.rest.errors.BadRequestAlertException;
 import com.mycompany.myapp.web.rest.util.HeaderUtil;
 import com.mycompany.myapp.web.rest.util.PaginationUtil;
+import com.mycompany.myapp.web.rest.util.StreamingResponseUtil;
 import com.mycompany.myapp.service.dto.TipCriteria;
 import com.mycompany.myapp.service.TipQueryService;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.github.jhipster.web.util.ResponseUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpHeaders;
-import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
 import javax.validation.Valid;
 import java.net.URI;
 import java.net.URISyntaxException;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.StreamSupport;
 
 import static org.elasticsearch.index.query.QueryBuilders.*;
@@ -37,13 +45,30 @@ public class TipResource {
 
     private static final String ENTITY_NAME = "tip";
 
+    /**
+     * The tips may be kept by the client, but not by shared caches as the API is authenticated, and are
+     * revalidated with their ETag on each use.
+     */
+    private static final CacheControl CATALOGUE_CACHE_CONTROL = CacheControl.noCache().cachePrivate();
+
     private final TipService tipService;
 
     private final TipQueryService tipQueryService;
 
-    public TipResource(TipService tipService, TipQueryService tipQueryService) {
+    private final CatalogueVersionService catalogueVersionService;
+
+    private final ObjectMapper objectMapper;
+
+    private final AsyncSearchService asyncSearchService;
+
+    public TipResource(TipService tipService, TipQueryService tipQueryService, CatalogueVersionService catalogueVersionService,
+                       ObjectMapper objectMapper,
+                       AsyncSearchService asyncSearchService) {
         this.tipService = tipService;
         this.tipQueryService = tipQueryService;
+        this.catalogueVersionService = catalogueVersionService;
+        this.objectMapper = objectMapper;
+        this.asyncSearchService = asyncSearchService;
     }
 
     /**
@@ -102,16 +127,27 @@ public class TipResource {
     }
 
     /**
-     * GET  /tipsAll : get all the tips.
+     * GET  /tipsAll : get all the tips, written as they are read.
+     * <p>
+     * The response carries the ETag of the tip catalogue, and a request whose "If-None-Match" still matches
+     * it is answered without reading the tips.
      *
-     * @return the ResponseEntity with status 200 (OK) and the list of tips in body
+     * @param webRequest the request, for its "If-None-Match" header
+     * @param request the request, for its "Accept-Encoding" header
+     * @param response the response the tips are written to, with status 200 (OK),
+     * or with status 304 (Not Modified) if the tips did not change
      */
     @GetMapping("/tipsAll")
-    public List<Tip> getAllTipsSimple(@RequestParam(required = false, defaultValue = "false") boolean eagerload) {
-        log.debug("REST request to get Tips by criteria: {}");
-        List<Tip> Tips = tipService.findAll();
-
-        return Tips ;
+    public void getAllTipsSimple(@RequestParam(required = false, defaultValue = "false") boolean eagerload,
+                                 WebRequest webRequest, HttpServletRequest request, HttpServletResponse response) {
+        log.debug("REST request to get all Tips");
+        String eTag = catalogueVersionService.getETag(CatalogueVersionService.TIPS);
+        response.setHeader(HttpHeaders.CACHE_CONTROL, CATALOGUE_CACHE_CONTROL.getHeaderValue());
+        // Sets the ETag, and the status to 304 if the client has it already
+        if (webRequest.checkNotModified(eTag)) {
+            return;
+        }
+        tipService.streamAll(tips -> StreamingResponseUtil.writeJsonArray(tips, objectMapper, request, response));
     }
 
     /**
@@ -158,14 +194,16 @@ public class TipResource {
      *
      * @param query the query of the tip search
      * @param pageable the pagination information
-     * @return the result of the search
+     * @return the future result of the search, run on the search pool
      */
     @GetMapping("/_search/tips")
-    public ResponseEntity<List<Tip>> searchTips(@RequestParam String query, Pageable pageable) {
+    public CompletableFuture<ResponseEntity<List<Tip>>> searchTips(@RequestParam String query, Pageable pageable) {
         log.debug("REST request to search for a page of Tips for query {}", query);
-        Page<Tip> page = tipService.search(query, pageable);
-        HttpHeaders headers = PaginationUtil.generateSearchPaginationHttpHeaders(query, page, "/api/_search/tips");
-        return ResponseEntity.ok().headers(headers).body(page.getContent());
+        return asyncSearchService.submit(() -> {
+            Page<Tip> page = tipService.search(query, pageable);
+            HttpHeaders headers = PaginationUtil.generateSearchPaginationHttpHeaders(query, page, "/api/_search/tips");
+            return ResponseEntity.ok().headers(headers).body(page.getContent());
+        });
     }
 
 }
@@ -1,7 +1,10 @@
 package com.mycompany.myapp.web.rest;
 
+import com.mycompany.myapp.security.CurrentUserIdentity;
+import com.mycompany.myapp.security.SecurityUtils;
 import com.mycompany.myapp.security.jwt.JWTFilter;
 import com.mycompany.myapp.security.jwt.TokenProvider;
+import com.mycompany.myapp.service.TokenRevocationService;
 import com.mycompany.myapp.web.rest.vm.LoginVM;
 
 import com.fasterxml.jackson.annotation.JsonProperty;
@@ -28,9 +31,16 @@ public class UserJWTController {
 
     private final AuthenticationManager authenticationManager;
 
-    public UserJWTController(TokenProvider tokenProvider, AuthenticationManager authenticationManager) {
+    private final CurrentUserIdentity currentUserIdentity;
+
+    private final TokenRevocationService tokenRevocationService;
+
+    public UserJWTController(TokenProvider tokenProvider, AuthenticationManager authenticationManager,
+                             CurrentUserIdentity currentUserIdentity, TokenRevocationService tokenRevocationService) {
         this.tokenProvider = tokenProvider;
         this.authenticationManager = authenticationManager;
+        this.currentUserIdentity = currentUserIdentity;
+        this.tokenRevocationService = tokenRevocationService;
     }
 
     @PostMapping("/authenticate")
@@ -42,12 +52,24 @@ public class UserJWTController {
         Authentication authentication = this.authenticationManager.authenticate(authenticationToken);
         SecurityContextHolder.getContext().setAuthentication(authentication);
         boolean rememberMe = (loginVM.isRememberMe() == null) ? false : loginVM.isRememberMe();
-        String jwt = tokenProvider.createToken(authentication, rememberMe);
+        // The identity is read once here and carried by the token for the following requests
+        String jwt = tokenProvider.createToken(authentication, rememberMe, currentUserIdentity.get().orElse(null));
         HttpHeaders httpHeaders = new HttpHeaders();
         httpHeaders.add(JWTFilter.AUTHORIZATION_HEADER, "Bearer " + jwt);
         return new ResponseEntity<>(new JWTToken(jwt), httpHeaders, HttpStatus.OK);
     }
 
+    /**
+     * POST  /logout : revoke the tokens issued to the current user, on all their devices.
+     *
+     * @return the ResponseEntity with status 200 (OK)
+     */
+    @PostMapping("/logout")
+    public ResponseEntity<Void> logout() {
+        SecurityUtils.getCurrentUserLogin().ifPresent(tokenRevocationService::revokeTokens);
+        return ResponseEntity.ok().build();
+    }
+
     /**
      * Object to return as body in JWT Authentication.
      */
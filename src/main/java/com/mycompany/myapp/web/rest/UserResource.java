@@ -8,6 +8,7 @@ import com.mycompany.myapp.repository.RequestRepository;
 import com.mycompany.myapp.repository.UserRepository;
 import com.mycompany.myapp.repository.search.UserSearchRepository;
 import com.mycompany.myapp.security.AuthoritiesConstants;
+import com.mycompany.myapp.security.CurrentUserIdentity;
 import com.mycompany.myapp.security.SecurityUtils;
 import com.mycompany.myapp.service.*;
 import com.mycompany.myapp.service.dto.UserDTO;
@@ -16,12 +17,15 @@ import com.mycompany.myapp.web.rest.errors.EmailAlreadyUsedException;
 import com.mycompany.myapp.web.rest.errors.LoginAlreadyUsedException;
 import com.mycompany.myapp.web.rest.util.HeaderUtil;
 import com.mycompany.myapp.web.rest.util.PaginationUtil;
+import com.mycompany.myapp.web.rest.util.StreamingResponseUtil;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.github.jhipster.web.util.ResponseUtil;
 
 import io.micrometer.core.annotation.Timed;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
@@ -29,15 +33,16 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
 import javax.validation.Valid;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.util.*;
 import java.util.stream.Collectors;
-import java.util.stream.StreamSupport;
+import java.util.stream.Stream;
 
 import static com.mycompany.myapp.domain.Request_.patient;
-import static org.elasticsearch.index.query.QueryBuilders.*;
 
 /**
  * REST controller for managing users.
@@ -67,6 +72,16 @@ import static org.elasticsearch.index.query.QueryBuilders.*;
 @RequestMapping("/api")
 public class UserResource {
 
+    /**
+     * Maximum number of users returned by a search.
+     */
+    static final int MAX_SEARCH_PAGE_SIZE = 100;
+
+    /**
+     * Deepest result a paged search may reach, matching the default "index.max_result_window" of Elasticsearch.
+     */
+    static final int MAX_SEARCH_RESULT_WINDOW = 10000;
+
     private final Logger log = LoggerFactory.getLogger(UserResource.class);
 
     private final UserService userService;
@@ -94,7 +109,12 @@ public class UserResource {
 
     private final UserSearchRepository userSearchRepository;
 
-    public UserResource(UserService userService, UserRepository userRepository, MailService mailService, RequestService requestService, DoctorRepository doctorRepository, AppointmentService appointmentService, PatientRepository patientRepository, RequestRepository requestRepository, UserSearchRepository userSearchRepository) {
+    private final CurrentUserIdentity currentUserIdentity;
+
+    private final ObjectMapper objectMapper;
+
+    public UserResource(UserService userService, UserRepository userRepository, MailService mailService, RequestService requestService, DoctorRepository doctorRepository, AppointmentService appointmentService, PatientRepository patientRepository, RequestRepository requestRepository, UserSearchRepository userSearchRepository, CurrentUserIdentity currentUserIdentity,
+                        ObjectMapper objectMapper) {
 
         this.userService = userService;
         this.userRepository = userRepository;
@@ -106,6 +126,8 @@ public class UserResource {
         this.patientRepository = patientRepository;
         this.requestRepository = requestRepository;
         this.userSearchRepository = userSearchRepository;
+        this.currentUserIdentity = currentUserIdentity;
+        this.objectMapper = objectMapper;
     }
 
     /**
@@ -220,88 +242,98 @@ public class UserResource {
     }
 
     /**
-     * SEARCH /_search/users/:query : search for the User corresponding
-     * to the query.
+     * SEARCH /_search/users?query=:query : search for a page of users corresponding to the query.
+     * <p>
+     * Only the fields shown in the user management grid are returned, and pages are capped to
+     * {@link #MAX_SEARCH_PAGE_SIZE} users.
      *
      * @param query the query to search
-     * @return the result of the search
+     * @param pageable the pagination information
+     * @return the ResponseEntity with status 200 (OK) and with body the page of users,
+     * or with status 400 (Bad Request) if the page is beyond the index result window
      */
-    @GetMapping("/_search/users/{query}")
-    public List<User> search(@PathVariable String query) {
-        return StreamSupport
-            .stream(userSearchRepository.search(queryStringQuery(query)).spliterator(), false)
+    @GetMapping("/_search/users")
+    @Timed
+    public ResponseEntity<List<UserDTO>> search(@RequestParam String query, Pageable pageable) {
+        log.debug("REST request to search for a page of Users for query {}", query);
+        Pageable capped = PageRequest.of(pageable.getPageNumber(), Math.min(pageable.getPageSize(), MAX_SEARCH_PAGE_SIZE),
+            pageable.getSort());
+        if (capped.getOffset() + capped.getPageSize() > MAX_SEARCH_RESULT_WINDOW) {
+            throw new BadRequestAlertException("Page is too deep, scroll with /_search/users/scroll instead",
+                "userManagement", "searchtoodeep");
+        }
+        Page<UserDTO> page = userSearchRepository.searchSummaries(query, capped).map(UserDTO::new);
+        HttpHeaders headers = PaginationUtil.generateSearchPaginationHttpHeaders(query, page, "/api/_search/users");
+        return ResponseEntity.ok().headers(headers).body(page.getContent());
+    }
+
+    /**
+     * SEARCH /_search/users/scroll?query=:query&amp;after=:id : scroll through all the users corresponding to the query.
+     * <p>
+     * Users come by increasing id; the "next" link of the response resumes after the last one returned.
+     *
+     * @param query the query to search
+     * @param after the id of the last user already read, none to start from the first one
+     * @param size the number of users to return, capped to {@link #MAX_SEARCH_PAGE_SIZE}
+     * @return the ResponseEntity with status 200 (OK) and with body the users
+     */
+    @GetMapping("/_search/users/scroll")
+    @Timed
+    @PreAuthorize("hasRole(\"" + AuthoritiesConstants.ADMIN + "\")")
+    public ResponseEntity<List<UserDTO>> scroll(@RequestParam String query, @RequestParam(required = false) Long after,
+                                                @RequestParam(defaultValue = "20") int size) {
+        log.debug("REST request to scroll Users for query {} after {}", query, after);
+        int capped = Math.max(1, Math.min(size, MAX_SEARCH_PAGE_SIZE));
+        List<UserDTO> users = userSearchRepository.searchSummariesAfter(query, after, capped).stream()
+            .map(UserDTO::new)
             .collect(Collectors.toList());
+        Long lastId = users.size() < capped ? null : users.get(users.size() - 1).getId();
+        HttpHeaders headers = PaginationUtil.generateSearchAfterHttpHeaders(query, lastId, capped, "/api/_search/users/scroll");
+        return ResponseEntity.ok().headers(headers).body(users);
     }
 
     @GetMapping("/user/MyDoctors")
     @Timed
     public List<Doctor> getDoctors() {
-        String userLogin = SecurityUtils.getCurrentUserLogin().get();
-        User currentUser = userService.getUserWithAuthoritiesByLogin(userLogin).get();
-        List<Request> requests= requestService.findAll();
-        List<Doctor> result = new ArrayList<>();
-        log.debug(currentUser.getLogin());
-
-        for (Request request : requests ){
-            log.debug(request.getPatient().getName() , "allll");
-            if (request.getPatient().getCin()==currentUser.getId()){
-                log.debug(request.getPatient().getName());
-                Long id = request.getDoctor().getId();
-                Doctor doctor = doctorRepository.findById(id).get();
-                result.add(doctor);
-            }
-        }
-        return result;
+        return currentUserIdentity.getPatientId()
+            .map(doctorRepository::findAllByRequestsOfPatient)
+            .orElseGet(ArrayList::new);
     }
 
+    /**
+     * GET  /user/MyAppointments : get the appointments of the current patient, or all of them for the other users,
+     * written as they are read.
+     *
+     * @param request the request, for its "Accept-Encoding" header
+     * @param response the response the appointments are written to, with status 200 (OK)
+     */
     @GetMapping("/user/MyAppointments")
     @Timed
-    public List<Appointment> getAppointments() {
-        String userLogin = SecurityUtils.getCurrentUserLogin().get();
-        User currentUser = userService.getUserWithAuthoritiesByLogin(userLogin).get();
-        log.debug(currentUser.getAuthorities().iterator().next().getName()+" heyyyyyy !!!!!!!!!!!");
-        if (currentUser.getAuthorities().iterator().next().getName().equals("ROLE_PATIENT")){
-            List<Appointment> appointments= appointmentService.findAll();
-            List<Appointment> result = new ArrayList<>();
-            log.debug(currentUser.getLogin());
-
-            for (Appointment appointment : appointments ){
-
-                //Patient patient = patientRepository.findOneWithEagerRelationships(appointment.getRequest().getPatient().getId()).get();
-                Patient patient = appointment.getRequest().getPatient();
-                log.debug("here !!!");
-                log.debug(patient.toString());
-
-
-                if (patient.getCin()==currentUser.getId()){
-                    result.add(appointment);
-                }
+    public void getAppointments(HttpServletRequest request, HttpServletResponse response) {
+        if (SecurityUtils.isCurrentUserInRole("ROLE_PATIENT")){
+            Optional<Long> patientId = currentUserIdentity.getPatientId();
+            if (patientId.isPresent()) {
+                appointmentService.streamAllByPatientId(patientId.get(), appointments ->
+                    StreamingResponseUtil.writeJsonArray(appointments, objectMapper, request, response));
+            } else {
+                StreamingResponseUtil.writeJsonArray(Stream.empty(), objectMapper, request, response);
             }
-            return result;
         }
         else{
-            return appointmentService.findAll();
+            appointmentService.streamAll(appointments ->
+                StreamingResponseUtil.writeJsonArray(appointments, objectMapper, request, response));
         }
     }
 
     @GetMapping("/user/MyAppointmentsDoctor")
     @Timed
     public List<Doctor> getAppointmentDoctorName() {
-        String userLogin = SecurityUtils.getCurrentUserLogin().get();
-        User currentUser = userService.getUserWithAuthoritiesByLogin(userLogin).get();
+        Optional<Long> patientId = currentUserIdentity.getPatientId();
         List<Appointment> appointments= appointmentService.findAll();
         List<Doctor> result = new ArrayList<>();
-        //log.debug(currentUser.getLogin());
 
         for (Appointment appointment : appointments ){
-
-            //Patient patient = patientRepository.findOneWithEagerRelationships(appointment.getRequest().getPatient().getId()).get();
-            Patient patient = appointment.getRequest().getPatient();
-            log.debug("here !!!");
-            log.debug(patient.toString());
-
-
-            if (patient.getCin()==currentUser.getId()){
+            if (patientId.isPresent() && patientId.get().equals(appointment.getRequest().getPatient().getId())){
                 result.add(appointment.getRequest().getDoctor());
                 log.debug("calling doctor details !!!!!!!");
                 log.debug(appointment.getRequest().getDoctor().toString());
@@ -313,8 +345,7 @@ public class UserResource {
 
     @GetMapping("/user/getCurrentUser")
     public ResponseEntity<User> getCurrentUser() {
-        User user=userRepository.findOneByLogin(SecurityUtils.getCurrentUserLogin().get()).get();
-        return ResponseEntity.ok().body(user);
+        return ResponseUtil.wrapOrNotFound(currentUserIdentity.getUserId().flatMap(userRepository::findById));
     }
 
 
@@ -0,0 +1,13 @@
+package com.mycompany.myapp.web.rest.errors;
+
+import org.zalando.problem.AbstractThrowableProblem;
+import org.zalando.problem.Status;
+
+public class SearchTimeoutException extends AbstractThrowableProblem {
+
+    private static final long serialVersionUID = 1L;
+
+    public SearchTimeoutException() {
+        super(ErrorConstants.SEARCH_TIMEOUT_TYPE, "The search did not answer in time, please retry later", Status.GATEWAY_TIMEOUT);
+    }
+}
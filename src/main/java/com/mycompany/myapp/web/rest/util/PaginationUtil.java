@@ -73,4 +73,27 @@ public final class PaginationUtil {
         headers.add(HttpHeaders.LINK, link);
         return headers;
     }
+
+    /**
+     * Generate the headers of a search scrolled by "after" cursors: the next link resumes after the last result.
+     *
+     * @param query the query of the search
+     * @param lastId the id of the last result, or null if there are no more results
+     * @param size the number of results per batch
+     * @param baseUrl the url of the search
+     * @return the headers, with a next link if there may be more results
+     */
+    public static HttpHeaders generateSearchAfterHttpHeaders(String query, Long lastId, int size, String baseUrl) {
+        HttpHeaders headers = new HttpHeaders();
+        if (lastId != null) {
+            String next = UriComponentsBuilder.fromUriString(baseUrl)
+                .queryParam("query", query)
+                .queryParam("after", lastId)
+                .queryParam("size", size)
+                .encode()
+                .toUriString();
+            headers.add(HttpHeaders.LINK, "<" + next + ">; rel=\"next\"");
+        }
+        return headers;
+    }
 }
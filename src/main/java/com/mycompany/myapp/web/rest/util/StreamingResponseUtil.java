@@ -0,0 +1,77 @@
+package com.mycompany.myapp.web.rest.util;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Utility class for writing large lists to the response as they are read, instead of building them in memory.
+ */
+public final class StreamingResponseUtil {
+
+    private static final int GZIP_BUFFER_SIZE = 8192;
+
+    private StreamingResponseUtil() {
+    }
+
+    /**
+     * Write rows to the response as a JSON array, one at a time, gzipped on the fly if the client accepts it.
+     * <p>
+     * The rows are serialized like the message converters would serialize a list of them. As the response is
+     * committed with the first bytes, an error while streaming can only abort it.
+     *
+     * @param rows the rows, which the caller must close
+     * @param objectMapper the application's object mapper
+     * @param request the request, for its "Accept-Encoding" header
+     * @param response the response to write to
+     */
+    public static void writeJsonArray(Stream<?> rows, ObjectMapper objectMapper, HttpServletRequest request,
+                                      HttpServletResponse response) {
+        boolean gzip = acceptsGzip(request.getHeader(HttpHeaders.ACCEPT_ENCODING));
+        response.setContentType(MediaType.APPLICATION_JSON_UTF8_VALUE);
+        response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            // The server does not compress responses which already have an encoding
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        // Let the generator fill its buffer rather than flushing every row
+        ObjectWriter writer = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        try (OutputStream out = gzip ? new GZIPOutputStream(response.getOutputStream(), GZIP_BUFFER_SIZE) : response.getOutputStream();
+             JsonGenerator generator = objectMapper.getFactory().createGenerator(out, JsonEncoding.UTF8)) {
+            generator.writeStartArray();
+            Iterator<?> iterator = rows.iterator();
+            while (iterator.hasNext()) {
+                writer.writeValue(generator, iterator.next());
+            }
+            generator.writeEndArray();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.trim().split(";");
+            if ("gzip".equalsIgnoreCase(parts[0].trim())) {
+                return parts.length < 2 || !parts[1].replace(" ", "").matches("q=0(\\.0*)?");
+            }
+        }
+        return false;
+    }
+}
@@ -6,43 +6,96 @@ import com.mycompany.myapp.web.websocket.dto.ActivityDTO;
 
 import java.security.Principal;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.context.ApplicationListener;
 import org.springframework.messaging.handler.annotation.*;
 import org.springframework.messaging.simp.SimpMessageSendingOperations;
+import org.springframework.messaging.simp.annotation.SubscribeMapping;
 import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Controller;
 import org.springframework.web.socket.messaging.SessionDisconnectEvent;
 
+/**
+ * Tracks the activity of connected users.
+ * <p>
+ * Activities are not broadcast as they arrive: the latest activity of each session is kept, and
+ * the sessions which changed since the last tick are sent to "/topic/tracker" as a single list.
+ * A new subscriber receives the full list of active sessions when it subscribes.
+ */
 @Controller
 public class ActivityService implements ApplicationListener<SessionDisconnectEvent> {
 
     private static final Logger log = LoggerFactory.getLogger(ActivityService.class);
 
+    private static final String LOGOUT_PAGE = "logout";
+
     private final SimpMessageSendingOperations messagingTemplate;
 
+    private final ConcurrentMap<String, ActivityDTO> activities = new ConcurrentHashMap<>();
+
+    private final ConcurrentMap<String, ActivityDTO> changes = new ConcurrentHashMap<>();
+
     public ActivityService(SimpMessageSendingOperations messagingTemplate) {
         this.messagingTemplate = messagingTemplate;
     }
 
     @MessageMapping("/topic/activity")
-    @SendTo("/topic/tracker")
-    public ActivityDTO sendActivity(@Payload ActivityDTO activityDTO, StompHeaderAccessor stompHeaderAccessor, Principal principal) {
+    public void sendActivity(@Payload ActivityDTO activityDTO, StompHeaderAccessor stompHeaderAccessor, Principal principal) {
         activityDTO.setUserLogin(principal.getName());
         activityDTO.setSessionId(stompHeaderAccessor.getSessionId());
         activityDTO.setIpAddress(stompHeaderAccessor.getSessionAttributes().get(IP_ADDRESS).toString());
         activityDTO.setTime(Instant.now());
-        log.debug("Sending user tracking data {}", activityDTO);
-        return activityDTO;
+        log.debug("Tracking user data {}", activityDTO);
+        activities.put(activityDTO.getSessionId(), activityDTO);
+        changes.put(activityDTO.getSessionId(), activityDTO);
+    }
+
+    /**
+     * Send the full list of active sessions to a new "/topic/tracker" subscriber.
+     *
+     * @return the latest activity of each active session
+     */
+    @SubscribeMapping("/topic/tracker")
+    public Collection<ActivityDTO> snapshot() {
+        return new ArrayList<>(activities.values());
+    }
+
+    /**
+     * Broadcast the activities which changed since the last tick, if any.
+     */
+    @Scheduled(fixedRateString = "${application.tracker.tick-ms:2000}")
+    public void broadcastChanges() {
+        List<ActivityDTO> batch = new ArrayList<>();
+        for (Map.Entry<String, ActivityDTO> change : changes.entrySet()) {
+            // Only remove the change we read: a newer one for the same session waits for the next tick
+            if (changes.remove(change.getKey(), change.getValue())) {
+                batch.add(change.getValue());
+            }
+        }
+        if (!batch.isEmpty()) {
+            log.debug("Sending {} user tracking change(s)", batch.size());
+            messagingTemplate.convertAndSend("/topic/tracker", batch);
+        }
     }
 
     @Override
     public void onApplicationEvent(SessionDisconnectEvent event) {
         ActivityDTO activityDTO = new ActivityDTO();
         activityDTO.setSessionId(event.getSessionId());
-        activityDTO.setPage("logout");
-        messagingTemplate.convertAndSend("/topic/tracker", activityDTO);
+        activityDTO.setPage(LOGOUT_PAGE);
+        if (activities.remove(event.getSessionId()) != null) {
+            changes.put(event.getSessionId(), activityDTO);
+        } else {
+            changes.remove(event.getSessionId());
+        }
     }
 }
@@ -0,0 +1,88 @@
+package com.mycompany.myapp.web.websocket;
+
+import com.mycompany.myapp.domain.Doctor;
+import com.mycompany.myapp.domain.Patient;
+import com.mycompany.myapp.domain.User;
+import com.mycompany.myapp.repository.DoctorRepository;
+import com.mycompany.myapp.repository.PatientRepository;
+import com.mycompany.myapp.repository.UserRepository;
+import com.mycompany.myapp.service.event.AppointmentChangedEvent;
+import com.mycompany.myapp.service.event.EntityChangedEvent;
+import com.mycompany.myapp.service.event.RequestChangedEvent;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.messaging.simp.SimpMessageSendingOperations;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Pushes request and appointment changes to the patient and the doctor they concern.
+ * <p>
+ * Changes are sent once the transaction which made them has committed, to the "/user/queue/requests"
+ * and "/user/queue/appointments" destinations of every session of these two users.
+ */
+@Component
+public class NotificationService {
+
+    public static final String REQUESTS_DESTINATION = "/queue/requests";
+
+    public static final String APPOINTMENTS_DESTINATION = "/queue/appointments";
+
+    private static final Logger log = LoggerFactory.getLogger(NotificationService.class);
+
+    private final SimpMessageSendingOperations messagingTemplate;
+
+    private final PatientRepository patientRepository;
+
+    private final DoctorRepository doctorRepository;
+
+    private final UserRepository userRepository;
+
+    public NotificationService(SimpMessageSendingOperations messagingTemplate, PatientRepository patientRepository,
+                               DoctorRepository doctorRepository, UserRepository userRepository) {
+        this.messagingTemplate = messagingTemplate;
+        this.patientRepository = patientRepository;
+        this.doctorRepository = doctorRepository;
+        this.userRepository = userRepository;
+    }
+
+    @Async
+    @TransactionalEventListener
+    public void onRequestChanged(RequestChangedEvent event) {
+        notifyUsers(REQUESTS_DESTINATION, event);
+    }
+
+    @Async
+    @TransactionalEventListener
+    public void onAppointmentChanged(AppointmentChangedEvent event) {
+        notifyUsers(APPOINTMENTS_DESTINATION, event);
+    }
+
+    private void notifyUsers(String destination, EntityChangedEvent<?> event) {
+        // Patients and doctors hold the id of their user in their "cin"
+        List<Long> userIds = new ArrayList<>(2);
+        Optional.ofNullable(event.getPatientId())
+            .flatMap(patientRepository::findById)
+            .map(Patient::getCin)
+            .ifPresent(userIds::add);
+        Optional.ofNullable(event.getDoctorId())
+            .flatMap(doctorRepository::findById)
+            .map(Doctor::getCin)
+            .map(BigDecimal::longValue)
+            .ifPresent(userIds::add);
+        if (userIds.isEmpty()) {
+            return;
+        }
+        for (User user : userRepository.findAllById(userIds)) {
+            log.debug("Sending {} to user {}", event, user.getLogin());
+            messagingTemplate.convertAndSendToUser(user.getLogin(), destination, event);
+        }
+    }
+}
@@ -51,6 +51,10 @@ export class AuthServerProvider {
 
     logout(): Observable<any> {
         return new Observable(observer => {
+            if (this.getToken()) {
+                // the token stays valid until it expires unless the server revokes it
+                this.http.post(SERVER_API_URL + 'api/logout', {}).subscribe(() => {}, () => {});
+            }
             this.$localStorage.clear('authenticationToken');
             this.$sessionStorage.clear('authenticationToken');
             observer.complete();
@@ -4,6 +4,7 @@ export * from './auth/account.service';
 export * from './auth/auth-jwt.service';
 export * from './tracker/tracker.service';
 export * from './tracker/window.service';
+export * from './notification/notification.service';
 export * from './language/language.helper';
 export * from './language/language.constants';
 export * from './user/account.model';
@@ -3,12 +3,14 @@ import { Injectable } from '@angular/core';
 import { AccountService } from 'app/core/auth/account.service';
 import { AuthServerProvider } from 'app/core/auth/auth-jwt.service';
 import { JhiTrackerService } from 'app/core/tracker/tracker.service';
+import { JhiNotificationService } from 'app/core/notification/notification.service';
 
 @Injectable({ providedIn: 'root' })
 export class LoginService {
     constructor(
         private accountService: AccountService,
         private trackerService: JhiTrackerService,
+        private notificationService: JhiNotificationService,
         private authServerProvider: AuthServerProvider
     ) {}
 
@@ -38,6 +40,7 @@ export class LoginService {
     }
 
     logout() {
+        this.notificationService.disconnect();
         this.authServerProvider.logout().subscribe();
         this.accountService.authenticate(null);
     }
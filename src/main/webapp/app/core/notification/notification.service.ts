@@ -0,0 +1,56 @@
+import { Injectable } from '@angular/core';
+import { JhiEventManager } from 'ng-jhipster';
+
+import { AuthServerProvider } from '../auth/auth-jwt.service';
+import { WindowRef } from '../tracker/window.service';
+
+import * as SockJS from 'sockjs-client';
+import * as Stomp from 'webstomp-client';
+
+/**
+ * Receives the request and appointment changes the server pushes to the current user,
+ * and broadcasts them as list modifications so that the open lists reload.
+ */
+@Injectable({ providedIn: 'root' })
+export class JhiNotificationService {
+    stompClient = null;
+    private subscribers = [];
+
+    constructor(private authServerProvider: AuthServerProvider, private $window: WindowRef, private eventManager: JhiEventManager) {}
+
+    connect() {
+        if (this.stompClient !== null) {
+            return;
+        }
+        // building absolute path so that websocket doesn't fail when deploying with a context path
+        const loc = this.$window.nativeWindow.location;
+        let url = '//' + loc.host + loc.pathname + 'websocket/notifications';
+        const authToken = this.authServerProvider.getToken();
+        if (authToken) {
+            url += '?access_token=' + authToken;
+        }
+        const socket = new SockJS(url);
+        this.stompClient = Stomp.over(socket);
+        this.stompClient.connect({}, () => {
+            this.subscribers = [
+                this.stompClient.subscribe('/user/queue/requests', data => this.broadcast('requestListModification', data)),
+                this.stompClient.subscribe('/user/queue/appointments', data => this.broadcast('appointmentListModification', data))
+            ];
+        });
+    }
+
+    disconnect() {
+        this.subscribers.forEach(subscriber => subscriber.unsubscribe());
+        this.subscribers = [];
+        if (this.stompClient !== null) {
+            if (this.stompClient.connected) {
+                this.stompClient.disconnect();
+            }
+            this.stompClient = null;
+        }
+    }
+
+    private broadcast(name: string, data) {
+        this.eventManager.broadcast({ name, content: JSON.parse(data.body) });
+    }
+}
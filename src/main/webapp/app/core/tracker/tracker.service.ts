@@ -89,8 +89,10 @@ export class JhiTrackerService {
 
     subscribe() {
         this.connection.then(() => {
+            // the server sends a snapshot on subscription, then the activities changed since its last tick
             this.subscriber = this.stompClient.subscribe('/topic/tracker', data => {
-                this.listenerObserver.next(JSON.parse(data.body));
+                const activities = JSON.parse(data.body);
+                (Array.isArray(activities) ? activities : [activities]).forEach(activity => this.listenerObserver.next(activity));
             });
         });
     }
@@ -0,0 +1,115 @@
+import java.time.{Instant, LocalDate}
+import java.util.concurrent.ThreadLocalRandom
+import java.util.concurrent.atomic.AtomicLong
+
+import io.gatling.core.Predef._
+import io.gatling.http.Predef._
+
+import scala.concurrent.duration._
+
+/**
+ * Load test of the main patient screens, against a database seeded by com.mycompany.myapp.loadtest.DatasetGenerator.
+ *
+ * Each virtual user logs in as one of the sampled patients, then loops over the doctor search, the patient's own
+ * appointments, doctors and dashboard, the creation of a request and the booking of its appointment.
+ */
+class PatientJourneyGatlingTest extends Simulation {
+
+    val baseURL = Option(System.getProperty("baseURL")) getOrElse """http://localhost:8080"""
+
+    val users = Integer.getInteger("users", 200).toInt
+
+    val rampSeconds = Integer.getInteger("ramp", 60).toInt
+
+    val durationSeconds = Integer.getInteger("duration", 300).toInt
+
+    val logins = Option(System.getProperty("logins")) getOrElse "target/loadtest/patients.csv"
+
+    val specialities = Array("General practitioner", "Pediatrician", "Dentist", "Gynecologist", "Dermatologist",
+        "Ophthalmologist", "Cardiologist", "Psychiatrist", "Orthopedist", "Radiologist", "Neurologist", "Urologist")
+
+    // Appointment dates are unique: bookings get consecutive seconds after 2100, starting from an offset growing by
+    // 50 per second of wall time, so successive runs do not collide as long as they book less than 50 per second
+    val bookingSlot = new AtomicLong((System.currentTimeMillis / 1000 - 1700000000L) * 50)
+
+    val bookingEpoch = Instant.parse("2100-01-01T00:00:00Z")
+
+    val httpConf = http
+        .baseUrl(baseURL)
+        .acceptHeader("*/*")
+        .acceptEncodingHeader("gzip, deflate")
+        .acceptLanguageHeader("fr,fr-fr;q=0.8,en-us;q=0.5,en;q=0.3")
+        .connectionHeader("keep-alive")
+        .userAgentHeader("Mozilla/5.0 (Macintosh; Intel Mac OS X 10.10; rv:33.0) Gecko/20100101 Firefox/33.0")
+        .silentResources
+
+    val headers_http_authentication = Map(
+        "Content-Type" -> """application/json""",
+        "Accept" -> """application/json"""
+    )
+
+    val headers_http_authenticated = Map(
+        "Accept" -> """application/json""",
+        "Authorization" -> "${access_token}"
+    )
+
+    val scn = scenario("Patient journey")
+        .feed(csv(logins).random)
+        .exec(http("Authentication")
+        .post("/api/authenticate")
+        .headers(headers_http_authentication)
+        .body(StringBody("""{"username":"${login}", "password":"${password}", "rememberMe":false}""")).asJson
+        .check(header("Authorization").saveAs("access_token"))).exitHereIfFailed
+        .exec(http("Current patient")
+        .get("/api/getCurrentUser")
+        .headers(headers_http_authenticated)
+        .check(status.is(200))
+        .check(jsonPath("$.id").saveAs("patient_id"))).exitHereIfFailed
+        .during(durationSeconds seconds) {
+            exec(session => session.set("speciality", specialities(ThreadLocalRandom.current.nextInt(specialities.length))))
+            .exec(http("Doctor search")
+            .get("/api/doctors?speciality.equals=${speciality}&page=0&size=20&sort=id,asc")
+            .headers(headers_http_authenticated)
+            .check(status.is(200))
+            .check(jsonPath("$[*].id").findAll.saveAs("doctor_ids"))).exitHereIfFailed
+            .pause(1 second, 3 seconds)
+            .exec(http("My appointments")
+            .get("/api/user/MyAppointments")
+            .headers(headers_http_authenticated)
+            .check(status.is(200)))
+            .exec(http("My doctors")
+            .get("/api/user/MyDoctors")
+            .headers(headers_http_authenticated)
+            .check(status.is(200)))
+            .exec(http("Dashboard")
+            .get("/api/user/dashboard")
+            .headers(headers_http_authenticated)
+            .check(status.is(200)))
+            .pause(1 second, 3 seconds)
+            .exec(session => {
+                val doctorIds = session("doctor_ids").as[Seq[String]]
+                val date = LocalDate.now.plusDays(1 + ThreadLocalRandom.current.nextInt(60))
+                session
+                    .set("doctor_id", doctorIds(ThreadLocalRandom.current.nextInt(doctorIds.size)))
+                    .set("date_1", date.toString)
+                    .set("date_2", date.plusDays(2).toString)
+            })
+            .exec(http("Create request")
+            .post("/api/requests")
+            .headers(headers_http_authenticated)
+            .body(StringBody("""{"id":null, "date1":"${date_1}", "date2":"${date_2}", "confirmation":false, "patientId":${patient_id}, "doctorId":${doctor_id}}""")).asJson
+            .check(status.is(201))
+            .check(jsonPath("$.id").saveAs("request_id"))).exitHereIfFailed
+            .exec(session => session.set("date_and_hour", bookingEpoch.plusSeconds(bookingSlot.getAndIncrement).toString))
+            .exec(http("Book appointment")
+            .post("/api/appointments")
+            .headers(headers_http_authenticated)
+            .body(StringBody("""{"id":null, "dateAndHour":"${date_and_hour}", "requestId":${request_id}}""")).asJson
+            .check(status.is(201)))
+            .pause(1 second, 5 seconds)
+        }
+
+    setUp(
+        scn.inject(rampUsers(users) during (rampSeconds seconds))
+    ).protocols(httpConf)
+}
@@ -0,0 +1,96 @@
+package com.mycompany.myapp.aop.logging;
+
+import com.mycompany.myapp.config.ApplicationProperties;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.lang.reflect.Proxy;
+import java.util.Arrays;
+import java.util.concurrent.Callable;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+public class LoggingAspectTest {
+
+    private MeterRegistry meterRegistry;
+
+    private ApplicationProperties applicationProperties;
+
+    private ProceedingJoinPoint joinPoint;
+
+    @Before
+    public void setup() throws Throwable {
+        meterRegistry = new SimpleMeterRegistry();
+        applicationProperties = new ApplicationProperties();
+        MethodSignature signature = mock(MethodSignature.class);
+        when(signature.getMethod()).thenReturn(String.class.getMethod("trim"));
+        when(signature.getDeclaringType()).thenReturn(String.class);
+        when(signature.getDeclaringTypeName()).thenReturn(String.class.getName());
+        when(signature.getName()).thenReturn("trim");
+        joinPoint = mock(ProceedingJoinPoint.class);
+        when(joinPoint.getSignature()).thenReturn(signature);
+        when(joinPoint.getArgs()).thenReturn(new Object[0]);
+        when(joinPoint.proceed()).thenReturn("result");
+    }
+
+    @Test
+    public void testSampledCallsAreTimed() throws Throwable {
+        applicationProperties.getTracing().setSampleRate(1.0);
+        LoggingAspect loggingAspect = new LoggingAspect(new MockEnvironment(), meterRegistry, applicationProperties);
+
+        assertThat(loggingAspect.logAround(joinPoint)).isEqualTo("result");
+        loggingAspect.logAround(joinPoint);
+
+        assertThat(meterRegistry.get(LoggingAspect.TIMER_NAME).tag("class", "String").tag("method", "trim").timer().count())
+            .isEqualTo(2);
+    }
+
+    @Test
+    public void testInheritedMethodIsTimedPerCalledBean() throws Throwable {
+        applicationProperties.getTracing().setSampleRate(1.0);
+        LoggingAspect loggingAspect = new LoggingAspect(new MockEnvironment(), meterRegistry, applicationProperties);
+        MethodSignature signature = mock(MethodSignature.class);
+        when(signature.getMethod()).thenReturn(Object.class.getMethod("hashCode"));
+        when(signature.getName()).thenReturn("hashCode");
+        when(joinPoint.getSignature()).thenReturn(signature);
+        Object repository = Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] {Callable.class},
+            (proxy, method, args) -> null);
+
+        when(joinPoint.getTarget()).thenReturn(repository);
+        loggingAspect.logAround(joinPoint);
+        when(joinPoint.getTarget()).thenReturn(new StringBuilder());
+        loggingAspect.logAround(joinPoint);
+
+        assertThat(meterRegistry.get(LoggingAspect.TIMER_NAME).tag("class", "Callable").tag("method", "hashCode").timer().count())
+            .isEqualTo(1);
+        assertThat(meterRegistry.get(LoggingAspect.TIMER_NAME).tag("class", "StringBuilder").tag("method", "hashCode").timer().count())
+            .isEqualTo(1);
+    }
+
+    @Test
+    public void testCallsOutOfTheSampleAreNotTimed() throws Throwable {
+        applicationProperties.getTracing().setSampleRate(0);
+        LoggingAspect loggingAspect = new LoggingAspect(new MockEnvironment(), meterRegistry, applicationProperties);
+
+        assertThat(loggingAspect.logAround(joinPoint)).isEqualTo("result");
+
+        verify(joinPoint, times(1)).proceed();
+        assertThat(meterRegistry.find(LoggingAspect.TIMER_NAME).timer()).isNull();
+    }
+
+    @Test
+    public void testRenderingIsTruncated() {
+        applicationProperties.getTracing().setMaxArgumentLength(5);
+        LoggingAspect loggingAspect = new LoggingAspect(new MockEnvironment(), meterRegistry, applicationProperties);
+
+        assertThat(loggingAspect.render(new Object[] {"abcdefgh", new byte[1024], Arrays.asList(1, 2, 3), null}))
+            .isEqualTo("[abcde..., byte[1024], ArrayList[size=3], null]");
+    }
+}
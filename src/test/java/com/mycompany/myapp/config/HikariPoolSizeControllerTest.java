@@ -0,0 +1,98 @@
+package com.mycompany.myapp.config;
+
+import com.zaxxer.hikari.HikariConfigMXBean;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.Mockito.*;
+
+public class HikariPoolSizeControllerTest {
+
+    private HikariDataSource dataSource;
+
+    private HikariPoolMXBean pool;
+
+    private HikariConfigMXBean config;
+
+    private Timer acquire;
+
+    private ApplicationProperties.ConnectionPool properties;
+
+    private HikariPoolSizeController controller;
+
+    @Before
+    public void setup() {
+        MeterRegistry meterRegistry = new SimpleMeterRegistry();
+        acquire = meterRegistry.timer("hikaricp.connections.acquire", "pool", "Hikari");
+        pool = mock(HikariPoolMXBean.class);
+        config = mock(HikariConfigMXBean.class);
+        dataSource = mock(HikariDataSource.class);
+        when(dataSource.getPoolName()).thenReturn("Hikari");
+        when(dataSource.getHikariPoolMXBean()).thenReturn(pool);
+        when(dataSource.getHikariConfigMXBean()).thenReturn(config);
+        when(dataSource.getMaximumPoolSize()).thenReturn(10);
+        when(dataSource.getMinimumIdle()).thenReturn(10);
+        properties = new ApplicationProperties().getConnectionPool();
+        properties.setMinSize(4);
+        properties.setMaxSize(11);
+        controller = new HikariPoolSizeController(dataSource, meterRegistry, properties);
+    }
+
+    @Test
+    public void testPoolGrowsWithinBoundsWhenAcquiringIsSlow() {
+        acquire.record(properties.getTargetWaitMs() * 2, TimeUnit.MILLISECONDS);
+
+        controller.resize();
+
+        verify(config).setMaximumPoolSize(11);
+        verify(config, never()).setMinimumIdle(anyInt());
+    }
+
+    @Test
+    public void testPoolGrowsWhenThreadsAreWaiting() {
+        when(pool.getThreadsAwaitingConnection()).thenReturn(3);
+
+        controller.resize();
+
+        verify(config).setMaximumPoolSize(11);
+    }
+
+    @Test
+    public void testPoolShrinksOnlyAfterQuietRuns() {
+        when(pool.getActiveConnections()).thenReturn(1);
+
+        for (int i = 1; i < HikariPoolSizeController.QUIET_RUNS_BEFORE_SHRINKING; i++) {
+            controller.resize();
+        }
+        verify(config, never()).setMaximumPoolSize(anyInt());
+
+        controller.resize();
+
+        verify(config).setMinimumIdle(8);
+        verify(config).setMaximumPoolSize(8);
+    }
+
+    @Test
+    public void testMinimumIdleIsRestoredWhenThePoolGrowsAgain() {
+        when(pool.getActiveConnections()).thenReturn(1);
+        for (int i = 0; i < HikariPoolSizeController.QUIET_RUNS_BEFORE_SHRINKING; i++) {
+            controller.resize();
+        }
+        verify(config).setMinimumIdle(8);
+        when(dataSource.getMaximumPoolSize()).thenReturn(8);
+        when(dataSource.getMinimumIdle()).thenReturn(8);
+
+        when(pool.getThreadsAwaitingConnection()).thenReturn(3);
+        controller.resize();
+
+        verify(config).setMaximumPoolSize(10);
+        verify(config).setMinimumIdle(10);
+    }
+}
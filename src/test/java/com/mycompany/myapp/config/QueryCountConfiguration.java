@@ -0,0 +1,39 @@
+package com.mycompany.myapp.config;
+
+import com.mycompany.myapp.web.rest.QueryCounter;
+
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+/**
+ * Wraps the data source of the test context, so the statements executed by the tests are counted.
+ *
+ * @see com.mycompany.myapp.web.rest.QueryBudget
+ */
+@Configuration
+public class QueryCountConfiguration {
+
+    @Bean
+    public static BeanPostProcessor queryCountingDataSourcePostProcessor() {
+        return new BeanPostProcessor() {
+
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof ProxyDataSource) {
+                    ((ProxyDataSource) bean).getProxyConfig().getQueryListener().addListener(new QueryCounter());
+                } else if (bean instanceof DataSource) {
+                    return ProxyDataSourceBuilder.create((DataSource) bean)
+                        .name(beanName)
+                        .listener(new QueryCounter())
+                        .build();
+                }
+                return bean;
+            }
+        };
+    }
+}
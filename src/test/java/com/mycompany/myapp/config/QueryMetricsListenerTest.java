@@ -0,0 +1,79 @@
+package com.mycompany.myapp.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class QueryMetricsListenerTest {
+
+    private MeterRegistry meterRegistry;
+
+    private ApplicationProperties.QueryMetrics properties;
+
+    @Before
+    public void setup() {
+        meterRegistry = new SimpleMeterRegistry();
+        properties = new ApplicationProperties().getQueryMetrics();
+    }
+
+    @Test
+    public void testFingerprintIgnoresLiteralsAndInListLengths() {
+        assertThat(QueryMetricsListener.fingerprint("select * from doctor where id in (?, ?, ?)\n and city = 'Sfax'"))
+            .isEqualTo("select * from doctor where id in (?) and city = ?");
+        assertThat(QueryMetricsListener.fingerprint("SELECT doctor0_.id FROM doctor doctor0_ WHERE doctor0_.cin=42 LIMIT ?"))
+            .isEqualTo("select doctor0_.id from doctor doctor0_ where doctor0_.cin=? limit ?");
+    }
+
+    @Test
+    public void testStatementsAreTimedByFingerprint() {
+        QueryMetricsListener listener = new QueryMetricsListener(meterRegistry, properties);
+
+        listener.afterQuery(execution(3), query("select * from tip where id = 1"));
+        listener.afterQuery(execution(5), query("select * from tip where id = 2"));
+
+        assertThat(meterRegistry.get(QueryMetricsListener.TIMER_NAME).tag("query", "select * from tip where id = ?")
+            .timer().count()).isEqualTo(2);
+    }
+
+    @Test
+    public void testFingerprintsBeyondTheMaximumAreRecordedAsOther() {
+        properties.setMaxFingerprints(1);
+        QueryMetricsListener listener = new QueryMetricsListener(meterRegistry, properties);
+
+        listener.afterQuery(execution(3), query("select * from tip"));
+        listener.afterQuery(execution(3), query("select * from doctor"));
+        listener.afterQuery(execution(3), query("select * from patient"));
+
+        assertThat(meterRegistry.get(QueryMetricsListener.TIMER_NAME).timers()).hasSize(2);
+        assertThat(meterRegistry.get(QueryMetricsListener.TIMER_NAME).tag("query", QueryMetricsListener.OTHER_QUERIES)
+            .timer().count()).isEqualTo(2);
+    }
+
+    @Test
+    public void testUnsampledStatementsAreNotTimed() {
+        properties.setSampleRate(0);
+        QueryMetricsListener listener = new QueryMetricsListener(meterRegistry, properties);
+
+        listener.afterQuery(execution(properties.getSlowQueryMs() + 1), query("select * from tip"));
+
+        assertThat(meterRegistry.find(QueryMetricsListener.TIMER_NAME).timer()).isNull();
+    }
+
+    private static ExecutionInfo execution(long elapsedMs) {
+        ExecutionInfo execution = new ExecutionInfo();
+        execution.setElapsedTime(elapsedMs);
+        return execution;
+    }
+
+    private static List<QueryInfo> query(String sql) {
+        return Collections.singletonList(new QueryInfo(sql));
+    }
+}
@@ -0,0 +1,136 @@
+package com.mycompany.myapp.config;
+
+import io.github.jhipster.async.ExceptionHandlingAsyncTaskExecutor;
+import io.github.jhipster.config.JHipsterProperties;
+import io.undertow.servlet.api.DeploymentInfo;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.web.embedded.undertow.UndertowServletWebServerFactory;
+
+import javax.sql.DataSource;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.Assume.assumeTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Test class for the wiring of the "virtual-threads" profile: the @Async executor, the Undertow executor and the
+ * data source limit. The virtual thread cases are skipped on JDKs older than 21.
+ */
+public class VirtualThreadConfigurationTest {
+
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    private ApplicationProperties applicationProperties;
+
+    private ExceptionHandlingAsyncTaskExecutor asyncExecutor;
+
+    @Before
+    public void setup() {
+        applicationProperties = new ApplicationProperties();
+        applicationProperties.getVirtualThreads().setEnabled(true);
+        applicationProperties.getVirtualThreads().setAsyncConcurrencyLimit(1);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        release.countDown();
+        if (asyncExecutor != null) {
+            asyncExecutor.destroy();
+        }
+    }
+
+    @Test
+    public void testSaturatedAsyncExecutorQueuesInsteadOfBlocking() throws Exception {
+        assumeTrue(VirtualThreadSupport.isAvailable());
+        asyncExecutor = asyncExecutor();
+        CountDownLatch ran = new CountDownLatch(2);
+
+        // the first task holds the only permit, the second one must be queued without blocking the caller
+        CompletableFuture.runAsync(() -> {
+            asyncExecutor.execute(() -> {
+                await(release);
+                ran.countDown();
+            });
+            asyncExecutor.execute(ran::countDown);
+        }).get(5, TimeUnit.SECONDS);
+
+        assertThat(ran.getCount()).isEqualTo(2);
+        release.countDown();
+        assertThat(ran.await(5, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @Test
+    public void testAsyncTasksRunOnVirtualThreads() throws Exception {
+        assumeTrue(VirtualThreadSupport.isAvailable());
+        asyncExecutor = asyncExecutor();
+
+        assertThat(asyncExecutor.submit(VirtualThreadConfigurationTest::isVirtual).get(5, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @Test
+    public void testAsyncTasksRunOnPlatformThreadsWhenDisabled() throws Exception {
+        applicationProperties.getVirtualThreads().setEnabled(false);
+        asyncExecutor = asyncExecutor();
+
+        assertThat(asyncExecutor.submit(VirtualThreadConfigurationTest::isVirtual).get(5, TimeUnit.SECONDS)).isFalse();
+    }
+
+    @Test
+    public void testRequestsRunOnVirtualThreads() throws Exception {
+        assumeTrue(VirtualThreadSupport.isAvailable());
+        UndertowServletWebServerFactory server = new UndertowServletWebServerFactory();
+        new VirtualThreadConfiguration().virtualThreadRequestCustomizer().customize(server);
+        DeploymentInfo deploymentInfo = new DeploymentInfo();
+        server.getDeploymentInfoCustomizers().forEach(customizer -> customizer.customize(deploymentInfo));
+
+        CompletableFuture<Boolean> virtual = new CompletableFuture<>();
+        deploymentInfo.getExecutor().execute(() -> virtual.complete(isVirtual()));
+
+        assertThat(virtual.get(5, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testDataSourceIsLimitedOnlyWithVirtualThreads() {
+        ObjectProvider<ApplicationProperties> provider = mock(ObjectProvider.class);
+        when(provider.getObject()).thenReturn(applicationProperties);
+        BeanPostProcessor postProcessor = VirtualThreadConfiguration.concurrencyLimitedDataSourcePostProcessor(provider);
+
+        Object dataSource = postProcessor.postProcessAfterInitialization(mock(DataSource.class), "dataSource");
+
+        assertThat(dataSource instanceof ConcurrencyLimitedDataSource).isEqualTo(VirtualThreadSupport.isAvailable());
+    }
+
+    private ExceptionHandlingAsyncTaskExecutor asyncExecutor() throws Exception {
+        ExceptionHandlingAsyncTaskExecutor executor = (ExceptionHandlingAsyncTaskExecutor)
+            new AsyncConfiguration(new JHipsterProperties(), applicationProperties).getAsyncExecutor();
+        executor.afterPropertiesSet();
+        return executor;
+    }
+
+    private static boolean isVirtual() {
+        try {
+            return (Boolean) Thread.class.getMethod("isVirtual").invoke(Thread.currentThread());
+        } catch (NoSuchMethodException e) {
+            return false;
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
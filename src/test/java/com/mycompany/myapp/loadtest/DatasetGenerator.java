@@ -0,0 +1,364 @@
+package com.mycompany.myapp.loadtest;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Seeds a database with a synthetic dataset for load tests.
+ * <p>
+ * Volumes are configured through system properties, see the "loadtest" Maven profile:
+ * <ul>
+ * <li>dataset.url, dataset.username, dataset.password: the JDBC connection, the schema must have been created by
+ * Liquibase (start the application once)</li>
+ * <li>dataset.doctors, dataset.patients, dataset.requests, dataset.appointments: the number of rows added</li>
+ * <li>dataset.seed: the seed of the random generator, the same seed on the same empty schema gives the same dataset</li>
+ * <li>dataset.batch: the number of rows inserted per batch (and per transaction)</li>
+ * <li>dataset.logins: the file receiving a sample of the patient logins, read by the Gatling simulations</li>
+ * </ul>
+ * Rows are appended after the current maximum ids, so the generator can run on a database which already holds data.
+ * Doctor popularity and patient activity follow a Zipf distribution: a few doctors receive most of the requests, and
+ * a few patients send most of them. Every generated user has the password "password".
+ */
+public final class DatasetGenerator {
+
+    private static final Logger log = LoggerFactory.getLogger(DatasetGenerator.class);
+
+    private static final String PASSWORD = "password";
+
+    private static final String[] SPECIALITIES = {
+        "General practitioner", "Pediatrician", "Dentist", "Gynecologist", "Dermatologist", "Ophthalmologist",
+        "Cardiologist", "Psychiatrist", "Orthopedist", "Radiologist", "Neurologist", "Urologist"
+    };
+
+    private static final String[] CITIES = {
+        "Tunis", "Sfax", "Sousse", "Ariana", "Bizerte", "Gabes", "Nabeul", "Kairouan", "Monastir", "Gafsa"
+    };
+
+    private static final String[] FIRST_NAMES = {
+        "Meriem", "Mohamed", "Rym", "Ahmed", "Sarra", "Youssef", "Amira", "Ali", "Ines", "Omar", "Nour", "Karim"
+    };
+
+    private static final String[] LAST_NAMES = {
+        "Ben Ali", "Trabelsi", "Gharbi", "Jaziri", "Mansour", "Hammami", "Ksouri", "Saidi", "Bouazizi", "Chaabane"
+    };
+
+    private static final double[] SPECIALITY_SHARES = zipf(SPECIALITIES.length, 1.0);
+
+    private static final double[] CITY_SHARES = zipf(CITIES.length, 1.0);
+
+    private static final int SAMPLED_LOGINS = 10000;
+
+    private final Connection connection;
+
+    private final Random random;
+
+    private final int batchSize;
+
+    private DatasetGenerator(Connection connection, long seed, int batchSize) {
+        this.connection = connection;
+        this.random = new Random(seed);
+        this.batchSize = batchSize;
+    }
+
+    public static void main(String[] args) throws SQLException, IOException {
+        String url = System.getProperty("dataset.url",
+            "jdbc:mysql://localhost:3306/doctorsPlatform?useSSL=false&serverTimezone=UTC&rewriteBatchedStatements=true");
+        int doctors = Integer.getInteger("dataset.doctors", 50000);
+        int patients = Integer.getInteger("dataset.patients", 2000000);
+        int requests = Integer.getInteger("dataset.requests", 10000000);
+        int appointments = Integer.getInteger("dataset.appointments", 5000000);
+        if (appointments > requests) {
+            throw new IllegalArgumentException("An appointment needs a request: dataset.appointments must not exceed dataset.requests");
+        }
+        try (Connection connection = DriverManager.getConnection(url,
+            System.getProperty("dataset.username", "root"), System.getProperty("dataset.password", ""))) {
+            connection.setAutoCommit(false);
+            DatasetGenerator generator = new DatasetGenerator(connection,
+                Long.getLong("dataset.seed", 42L), Integer.getInteger("dataset.batch", 5000));
+            generator.generate(doctors, patients, requests, appointments,
+                Paths.get(System.getProperty("dataset.logins", "target/loadtest/patients.csv")));
+        }
+    }
+
+    private void generate(int doctors, int patients, int requests, int appointments, Path logins)
+        throws SQLException, IOException {
+        long start = System.currentTimeMillis();
+        String passwordHash = new BCryptPasswordEncoder().encode(PASSWORD);
+
+        long firstUserId = maxId("jhi_user") + 1;
+        long firstDoctorId = maxId("doctor") + 1;
+        long firstPatientId = maxId("patient") + 1;
+        long firstRequestId = maxId("request") + 1;
+
+        insertUsers(firstUserId, doctors, "doctor", "ROLE_DOCTOR", passwordHash);
+        insertDoctors(firstDoctorId, firstUserId, doctors);
+        long firstPatientUserId = firstUserId + doctors;
+        insertUsers(firstPatientUserId, patients, "patient", "ROLE_PATIENT", passwordHash);
+        insertPatients(firstPatientId, firstPatientUserId, patients);
+
+        int[] doctorRanks = permutation(doctors);
+        int[] patientRanks = permutation(patients);
+        double[] doctorPopularity = zipf(doctors, 1.0);
+        double[] patientActivity = zipf(patients, 0.8);
+        insertRequests(firstRequestId, requests, appointments,
+            firstDoctorId, doctorRanks, doctorPopularity, firstPatientId, patientRanks, patientActivity);
+        deriveTables(firstRequestId);
+        writeLogins(logins, firstPatientUserId, patientRanks, patientActivity);
+
+        log.info("Generated {} doctors, {} patients, {} requests and {} appointments in {} s",
+            doctors, patients, requests, appointments, (System.currentTimeMillis() - start) / 1000);
+    }
+
+    private long maxId(String table) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("select coalesce(max(id), 0) from " + table)) {
+            resultSet.next();
+            return resultSet.getLong(1);
+        }
+    }
+
+    private void insertUsers(long firstId, int count, String prefix, String role, String passwordHash) throws SQLException {
+        Timestamp now = Timestamp.from(Instant.now());
+        try (PreparedStatement user = connection.prepareStatement("insert into jhi_user (id, login, password_hash, " +
+                "first_name, last_name, email, activated, lang_key, created_by, created_date) " +
+                "values (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)");
+             PreparedStatement authority = connection.prepareStatement(
+                 "insert into jhi_user_authority (user_id, authority_name) values (?, ?)")) {
+            for (int i = 0; i < count; i++) {
+                long id = firstId + i;
+                String login = prefix + id;
+                user.setLong(1, id);
+                user.setString(2, login);
+                user.setString(3, passwordHash);
+                user.setString(4, pick(FIRST_NAMES));
+                user.setString(5, pick(LAST_NAMES));
+                user.setString(6, login + "@localhost");
+                user.setBoolean(7, true);
+                user.setString(8, "en");
+                user.setString(9, "system");
+                user.setTimestamp(10, now);
+                user.addBatch();
+                authority.setLong(1, id);
+                authority.setString(2, "ROLE_USER");
+                authority.addBatch();
+                authority.setLong(1, id);
+                authority.setString(2, role);
+                authority.addBatch();
+                if ((i + 1) % batchSize == 0) {
+                    flush(user, authority);
+                }
+            }
+            flush(user, authority);
+        }
+        log.info("Inserted {} {} users", count, prefix);
+    }
+
+    private void insertDoctors(long firstId, long firstUserId, int count) throws SQLException {
+        try (PreparedStatement doctor = connection.prepareStatement("insert into doctor (id, name, cin, address, " +
+                "speciality, email, phone_number) values (?, ?, ?, ?, ?, ?, ?)")) {
+            for (int i = 0; i < count; i++) {
+                long userId = firstUserId + i;
+                doctor.setLong(1, firstId + i);
+                doctor.setString(2, "Dr " + pick(FIRST_NAMES) + " " + pick(LAST_NAMES));
+                doctor.setBigDecimal(3, BigDecimal.valueOf(userId));
+                doctor.setString(4, (1 + random.nextInt(200)) + " avenue Habib Bourguiba, " + CITIES[sample(CITY_SHARES)]);
+                doctor.setString(5, SPECIALITIES[sample(SPECIALITY_SHARES)]);
+                doctor.setString(6, "doctor" + userId + "@localhost");
+                doctor.setBigDecimal(7, BigDecimal.valueOf(70000000 + random.nextInt(30000000)));
+                doctor.addBatch();
+                if ((i + 1) % batchSize == 0) {
+                    flush(doctor);
+                }
+            }
+            flush(doctor);
+        }
+        log.info("Inserted {} doctors", count);
+    }
+
+    private void insertPatients(long firstId, long firstUserId, int count) throws SQLException {
+        try (PreparedStatement patient = connection.prepareStatement("insert into patient (id, name, phone_number, " +
+                "cin, email) values (?, ?, ?, ?, ?)")) {
+            for (int i = 0; i < count; i++) {
+                long userId = firstUserId + i;
+                patient.setLong(1, firstId + i);
+                patient.setString(2, pick(FIRST_NAMES) + " " + pick(LAST_NAMES));
+                patient.setLong(3, 20000000L + random.nextInt(80000000));
+                patient.setLong(4, userId);
+                patient.setString(5, "patient" + userId + "@localhost");
+                patient.addBatch();
+                if ((i + 1) % batchSize == 0) {
+                    flush(patient);
+                }
+            }
+            flush(patient);
+        }
+        log.info("Inserted {} patients", count);
+    }
+
+    /**
+     * Requests are spread over the year around today, and the share of them which got an appointment is booked
+     * on a distinct second, as appointment dates are unique.
+     */
+    private void insertRequests(long firstId, int count, int appointments, long firstDoctorId, int[] doctorRanks,
+                                double[] doctorPopularity, long firstPatientId, int[] patientRanks,
+                                double[] patientActivity) throws SQLException {
+        Instant windowStart = Instant.now().truncatedTo(ChronoUnit.DAYS).minus(180, ChronoUnit.DAYS);
+        long windowSeconds = ChronoUnit.SECONDS.between(windowStart, windowStart.plus(365, ChronoUnit.DAYS));
+        long step = Math.max(1, windowSeconds / Math.max(1, count));
+        double appointmentRatio = count == 0 ? 0 : (double) appointments / count;
+        int booked = 0;
+        try (PreparedStatement request = connection.prepareStatement("insert into request (id, date_1, date_2, date_3, " +
+                "confirmation, patient_id, doctor_id) values (?, ?, ?, ?, ?, ?, ?)");
+             PreparedStatement appointment = connection.prepareStatement(
+                 "insert into appointment (id, date_and_hour) values (?, ?)")) {
+            for (int i = 0; i < count; i++) {
+                long id = firstId + i;
+                // One request per step keeps the appointment dates unique and in the order of the requests
+                Instant slot = windowStart.plusSeconds(i * step);
+                LocalDate date1 = slot.atOffset(ZoneOffset.UTC).toLocalDate();
+                boolean book = booked < appointments && (count - i <= appointments - booked || random.nextDouble() < appointmentRatio);
+                request.setLong(1, id);
+                request.setDate(2, Date.valueOf(date1));
+                request.setDate(3, Date.valueOf(date1.plusDays(1 + random.nextInt(3))));
+                if (random.nextBoolean()) {
+                    request.setDate(4, Date.valueOf(date1.plusDays(4 + random.nextInt(7))));
+                } else {
+                    request.setNull(4, Types.DATE);
+                }
+                request.setBoolean(5, book);
+                request.setLong(6, firstPatientId + patientRanks[sample(patientActivity)]);
+                request.setLong(7, firstDoctorId + doctorRanks[sample(doctorPopularity)]);
+                request.addBatch();
+                if (book) {
+                    appointment.setLong(1, id);
+                    appointment.setTimestamp(2, Timestamp.from(slot));
+                    appointment.addBatch();
+                    booked++;
+                }
+                if ((i + 1) % batchSize == 0) {
+                    flush(request, appointment);
+                    if ((i + 1) % (batchSize * 100) == 0) {
+                        log.info("Inserted {} requests", i + 1);
+                    }
+                }
+            }
+            flush(request, appointment);
+        }
+        log.info("Inserted {} requests and {} appointments", count, booked);
+    }
+
+    /**
+     * Fill the tables the application derives from the requests: the doctors of a patient and the patient dashboard.
+     */
+    private void deriveTables(long firstRequestId) throws SQLException {
+        try (PreparedStatement patientDoctor = connection.prepareStatement("insert into patient_doctor (patient_id, doctor_id) " +
+                "select distinct r.patient_id, r.doctor_id from request r where r.id >= ?");
+             PreparedStatement dashboard = connection.prepareStatement("insert into patient_dashboard (request_id, " +
+                 "patient_id, doctor_id, doctor_name, doctor_speciality, doctor_address, date_1, date_2, date_3, " +
+                 "confirmation, appointment_date_and_hour) " +
+                 "select r.id, r.patient_id, r.doctor_id, d.name, d.speciality, d.address, r.date_1, r.date_2, " +
+                 "r.date_3, r.confirmation, a.date_and_hour from request r join doctor d on d.id = r.doctor_id " +
+                 "left join appointment a on a.id = r.id where r.id >= ?")) {
+            patientDoctor.setLong(1, firstRequestId);
+            patientDoctor.executeUpdate();
+            connection.commit();
+            dashboard.setLong(1, firstRequestId);
+            dashboard.executeUpdate();
+            connection.commit();
+        }
+        log.info("Filled the patient_doctor and patient_dashboard tables");
+    }
+
+    /**
+     * Write a sample of the patient logins, drawn with the same skew as the requests so the active patients are
+     * also the ones the load suite logs in with most.
+     */
+    private void writeLogins(Path logins, long firstUserId, int[] patientRanks, double[] patientActivity) throws IOException {
+        if (patientRanks.length == 0) {
+            return;
+        }
+        if (logins.getParent() != null) {
+            Files.createDirectories(logins.getParent());
+        }
+        try (PrintWriter writer = new PrintWriter(Files.newBufferedWriter(logins, StandardCharsets.UTF_8))) {
+            writer.println("login,password");
+            for (int i = 0; i < SAMPLED_LOGINS; i++) {
+                writer.println("patient" + (firstUserId + patientRanks[sample(patientActivity)]) + "," + PASSWORD);
+            }
+        }
+        log.info("Wrote {} patient logins to {}", SAMPLED_LOGINS, logins.toAbsolutePath());
+    }
+
+    private void flush(PreparedStatement... statements) throws SQLException {
+        for (PreparedStatement statement : statements) {
+            statement.executeBatch();
+        }
+        connection.commit();
+    }
+
+    /**
+     * @return the cumulative distribution of a Zipf law with the given exponent over n ranks
+     */
+    private static double[] zipf(int n, double exponent) {
+        double[] cdf = new double[n];
+        double sum = 0;
+        for (int rank = 0; rank < n; rank++) {
+            sum += 1 / Math.pow(rank + 1, exponent);
+            cdf[rank] = sum;
+        }
+        for (int rank = 0; rank < n; rank++) {
+            cdf[rank] /= sum;
+        }
+        return cdf;
+    }
+
+    private int sample(double[] cdf) {
+        int index = Arrays.binarySearch(cdf, random.nextDouble());
+        return Math.min(index >= 0 ? index : -index - 1, cdf.length - 1);
+    }
+
+    /**
+     * @return a random mapping from ranks to row offsets, so the popular rows are not the first ones
+     */
+    private int[] permutation(int n) {
+        int[] permutation = new int[n];
+        for (int i = 0; i < n; i++) {
+            permutation[i] = i;
+        }
+        for (int i = n - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int swap = permutation[i];
+            permutation[i] = permutation[j];
+            permutation[j] = swap;
+        }
+        return permutation;
+    }
+
+    private String pick(String[] values) {
+        return values[random.nextInt(values.length)];
+    }
+}
@@ -0,0 +1,80 @@
+package com.mycompany.myapp.security;
+
+import com.mycompany.myapp.web.rest.errors.TooManyRequestsException;
+
+import org.junit.After;
+import org.junit.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Test class for the BoundedPasswordEncoder.
+ *
+ * @see BoundedPasswordEncoder
+ */
+public class BoundedPasswordEncoderUnitTest {
+
+    private final ExecutorService callers = Executors.newFixedThreadPool(2);
+
+    private BoundedPasswordEncoder passwordEncoder;
+
+    @After
+    public void tearDown() {
+        callers.shutdownNow();
+        if (passwordEncoder != null) {
+            passwordEncoder.shutdown();
+        }
+    }
+
+    @Test
+    public void testEncodeAndMatch() {
+        passwordEncoder = new BoundedPasswordEncoder(new BCryptPasswordEncoder(4), 1, 1);
+
+        String encoded = passwordEncoder.encode("password");
+
+        assertThat(passwordEncoder.matches("password", encoded)).isTrue();
+        assertThat(passwordEncoder.matches("wrong", encoded)).isFalse();
+    }
+
+    @Test
+    public void testSaturatedHashingIsRejected() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        PasswordEncoder slowEncoder = mock(PasswordEncoder.class);
+        when(slowEncoder.encode(any())).thenAnswer(invocation -> {
+            started.countDown();
+            release.await(10, TimeUnit.SECONDS);
+            return "encoded";
+        });
+        passwordEncoder = new BoundedPasswordEncoder(slowEncoder, 1, 1);
+
+        // one hash running, one waiting in the queue
+        callers.submit(() -> passwordEncoder.encode("first"));
+        assertThat(started.await(10, TimeUnit.SECONDS)).isTrue();
+        callers.submit(() -> passwordEncoder.encode("second"));
+        Thread.sleep(100);
+
+        try {
+            assertThatThrownBy(() -> passwordEncoder.encode("third")).isInstanceOf(TooManyRequestsException.class);
+        } finally {
+            release.countDown();
+        }
+    }
+
+    @Test
+    public void testCalibrationStaysWithinBounds() {
+        assertThat(BoundedPasswordEncoder.calibrateStrength(0, 4, 10)).isEqualTo(4);
+        assertThat(BoundedPasswordEncoder.calibrateStrength(Long.MAX_VALUE, 4, 6)).isEqualTo(6);
+    }
+}
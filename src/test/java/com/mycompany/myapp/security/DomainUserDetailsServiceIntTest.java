@@ -3,6 +3,7 @@ package com.mycompany.myapp.security;
 import com.mycompany.myapp.DoctorsPlatformApp;
 import com.mycompany.myapp.domain.User;
 import com.mycompany.myapp.repository.UserRepository;
+import com.mycompany.myapp.service.event.UserChangedEvent;
 
 import org.apache.commons.lang3.RandomStringUtils;
 import org.junit.Before;
@@ -43,12 +44,17 @@ public class DomainUserDetailsServiceIntTest {
     @Autowired
     private UserDetailsService domainUserDetailsService;
 
+    @Autowired
+    private DomainUserDetailsService cachingUserDetailsService;
+
     private User userOne;
     private User userTwo;
     private User userThree;
 
     @Before
     public void init() {
+        cachingUserDetailsService.evictAll();
+
         userOne = new User();
         userOne.setLogin(USER_ONE_LOGIN);
         userOne.setPassword(RandomStringUtils.random(60));
@@ -124,4 +130,28 @@ public class DomainUserDetailsServiceIntTest {
         domainUserDetailsService.loadUserByUsername(USER_THREE_LOGIN);
     }
 
+    @Test
+    @Transactional
+    public void assertThatRepeatedLoginIsServedFromCache() {
+        String password = domainUserDetailsService.loadUserByUsername(USER_ONE_LOGIN).getPassword();
+        userOne.setPassword(RandomStringUtils.random(60));
+        userRepository.saveAndFlush(userOne);
+
+        UserDetails userDetails = domainUserDetailsService.loadUserByUsername(USER_ONE_LOGIN);
+        assertThat(userDetails.getPassword()).isEqualTo(password);
+    }
+
+    @Test
+    @Transactional
+    public void assertThatChangedUserIsEvictedUnderLoginAndEmail() {
+        domainUserDetailsService.loadUserByUsername(USER_ONE_LOGIN);
+        domainUserDetailsService.loadUserByUsername(USER_ONE_EMAIL);
+        userOne.setPassword(RandomStringUtils.random(60));
+        userRepository.saveAndFlush(userOne);
+
+        cachingUserDetailsService.onUserChanged(new UserChangedEvent(USER_ONE_LOGIN));
+
+        assertThat(domainUserDetailsService.loadUserByUsername(USER_ONE_LOGIN).getPassword()).isEqualTo(userOne.getPassword());
+        assertThat(domainUserDetailsService.loadUserByUsername(USER_ONE_EMAIL).getPassword()).isEqualTo(userOne.getPassword());
+    }
 }
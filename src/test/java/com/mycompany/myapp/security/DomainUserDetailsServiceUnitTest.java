@@ -0,0 +1,89 @@
+package com.mycompany.myapp.security;
+
+import com.mycompany.myapp.config.ApplicationProperties;
+import com.mycompany.myapp.domain.User;
+import com.mycompany.myapp.repository.UserRepository;
+import com.mycompany.myapp.service.event.UserChangedEvent;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+/**
+ * Test class for the login cache of DomainUserDetailsService.
+ *
+ * @see DomainUserDetailsService
+ */
+public class DomainUserDetailsServiceUnitTest {
+
+    private static final String LOGIN = "test-user";
+
+    private static final String EMAIL = "test-user@localhost";
+
+    private UserRepository userRepository;
+
+    private DomainUserDetailsService domainUserDetailsService;
+
+    private User user;
+
+    @Before
+    public void setup() {
+        userRepository = mock(UserRepository.class);
+        domainUserDetailsService = new DomainUserDetailsService(userRepository, new ApplicationProperties());
+        user = new User();
+        user.setLogin(LOGIN);
+        user.setEmail(EMAIL);
+        user.setPassword("old-password");
+        user.setActivated(true);
+    }
+
+    @Test
+    public void testUserReadBeforeAnEvictionIsNotCached() {
+        when(userRepository.findOneWithAuthoritiesByLogin(LOGIN)).thenAnswer(invocation -> {
+            User read = copyOf(user);
+            // the change commits, and is evicted, while the old user is being returned
+            user.setPassword("new-password");
+            domainUserDetailsService.onUserChanged(new UserChangedEvent(LOGIN));
+            return Optional.of(read);
+        });
+
+        assertThat(domainUserDetailsService.loadUserByUsername(LOGIN).getPassword()).isEqualTo("old-password");
+
+        when(userRepository.findOneWithAuthoritiesByLogin(LOGIN)).thenAnswer(invocation -> Optional.of(copyOf(user)));
+        assertThat(domainUserDetailsService.loadUserByUsername(LOGIN).getPassword()).isEqualTo("new-password");
+    }
+
+    @Test
+    public void testLowercaseEmailIsCached() {
+        when(userRepository.findOneWithAuthoritiesByEmail(EMAIL)).thenAnswer(invocation -> Optional.of(copyOf(user)));
+
+        domainUserDetailsService.loadUserByUsername(EMAIL);
+        domainUserDetailsService.loadUserByUsername(EMAIL);
+
+        verify(userRepository, times(1)).findOneWithAuthoritiesByEmail(EMAIL);
+    }
+
+    @Test
+    public void testMixedCaseEmailIsNotCached() {
+        String mixedCaseEmail = "Test-User@Localhost";
+        when(userRepository.findOneWithAuthoritiesByEmail(mixedCaseEmail)).thenAnswer(invocation -> Optional.of(copyOf(user)));
+
+        domainUserDetailsService.loadUserByUsername(mixedCaseEmail);
+        domainUserDetailsService.loadUserByUsername(mixedCaseEmail);
+
+        verify(userRepository, times(2)).findOneWithAuthoritiesByEmail(mixedCaseEmail);
+    }
+
+    private User copyOf(User user) {
+        User copy = new User();
+        copy.setLogin(user.getLogin());
+        copy.setEmail(user.getEmail());
+        copy.setPassword(user.getPassword());
+        copy.setActivated(user.getActivated());
+        return copy;
+    }
+}
@@ -1,8 +1,10 @@
 package com.mycompany.myapp.security.jwt;
 
 import com.mycompany.myapp.security.AuthoritiesConstants;
+import com.mycompany.myapp.security.UserIdentity;
 
 import java.security.Key;
+import java.time.Instant;
 import java.util.*;
 
 import org.junit.Before;
@@ -27,12 +29,14 @@ public class TokenProviderTest {
     private final long ONE_MINUTE = 60000;
     private Key key;
     private JHipsterProperties jHipsterProperties;
+    private RevokedTokens revokedTokens;
     private TokenProvider tokenProvider;
 
     @Before
     public void setup() {
         jHipsterProperties = Mockito.mock(JHipsterProperties.class);
-        tokenProvider = new TokenProvider(jHipsterProperties);
+        revokedTokens = new RevokedTokens();
+        tokenProvider = new TokenProvider(jHipsterProperties, revokedTokens);
         key = Keys.hmacShaKeyFor(Decoders.BASE64
             .decode("fd54a45s65fds737b9aafcb3412e07ed99b267f33413274720ddbb7f6c5e64e9f14075f2d7ed041592f0b7657baf8"));
 
@@ -85,6 +89,46 @@ public class TokenProviderTest {
         assertThat(isTokenValid).isEqualTo(false);
     }
 
+    @Test
+    public void testReturnFalseWhenJWTisRevoked() {
+        String token = tokenProvider.createToken(createAuthentication(), false);
+
+        revokedTokens.revoke("anonymous", Instant.now().plusSeconds(1));
+
+        assertThat(tokenProvider.validateToken(token)).isEqualTo(false);
+    }
+
+    @Test
+    public void testReturnTrueWhenJWTisIssuedAfterRevocation() {
+        revokedTokens.revoke("anonymous", Instant.now().minusSeconds(1));
+
+        String token = tokenProvider.createToken(createAuthentication(), false);
+
+        assertThat(tokenProvider.validateToken(token)).isEqualTo(true);
+    }
+
+    @Test
+    public void testIdentityIsCarriedByTheToken() {
+        String token = tokenProvider.createToken(createAuthentication(), false,
+            new UserIdentity("anonymous", 3L, 5L, null));
+
+        Object details = tokenProvider.getAuthentication(token).getDetails();
+
+        assertThat(details).isInstanceOf(UserIdentity.class);
+        UserIdentity identity = (UserIdentity) details;
+        assertThat(identity.getLogin()).isEqualTo("anonymous");
+        assertThat(identity.getUserId()).isEqualTo(3L);
+        assertThat(identity.getPatientId()).isEqualTo(5L);
+        assertThat(identity.getDoctorId()).isNull();
+    }
+
+    @Test
+    public void testTokenWithoutIdentityHasNoDetails() {
+        String token = tokenProvider.createToken(createAuthentication(), false);
+
+        assertThat(tokenProvider.getAuthentication(token).getDetails()).isNull();
+    }
+
     private Authentication createAuthentication() {
         Collection<GrantedAuthority> authorities = new ArrayList<>();
         authorities.add(new SimpleGrantedAuthority(AuthoritiesConstants.ANONYMOUS));
@@ -0,0 +1,110 @@
+package com.mycompany.myapp.service;
+
+import com.mycompany.myapp.DoctorsPlatformApp;
+import com.mycompany.myapp.config.ApplicationProperties;
+import com.mycompany.myapp.domain.Appointment;
+import com.mycompany.myapp.repository.AppointmentReminderRepository;
+import com.mycompany.myapp.repository.AppointmentRepository;
+import com.mycompany.myapp.web.rest.AppointmentResourceIntTest;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+/**
+ * Test class for the AppointmentReminderService.
+ *
+ * @see AppointmentReminderService
+ */
+@RunWith(SpringRunner.class)
+@SpringBootTest(classes = DoctorsPlatformApp.class)
+public class AppointmentReminderServiceIntTest {
+
+    @Autowired
+    private AppointmentRepository appointmentRepository;
+
+    @Autowired
+    private AppointmentReminderRepository appointmentReminderRepository;
+
+    @Autowired
+    private ApplicationProperties applicationProperties;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ScheduledJobLockService scheduledJobLockService;
+
+    @Autowired
+    private EntityManager em;
+
+    @Mock
+    private MailService mailService;
+
+    private AppointmentReminderService appointmentReminderService;
+
+    private Appointment appointment;
+
+    @Before
+    public void setup() {
+        MockitoAnnotations.initMocks(this);
+        appointmentReminderService = new AppointmentReminderService(appointmentRepository, appointmentReminderRepository,
+            mailService, applicationProperties, transactionManager, scheduledJobLockService);
+        appointment = AppointmentResourceIntTest.createEntity(em)
+            .dateAndHour(ZonedDateTime.now().plusHours(2).truncatedTo(ChronoUnit.SECONDS));
+    }
+
+    @Test
+    @Transactional
+    public void assertThatUpcomingAppointmentIsRemindedOnce() {
+        appointmentRepository.saveAndFlush(appointment);
+
+        appointmentReminderService.sendAppointmentReminders();
+        appointmentReminderService.sendAppointmentReminders();
+
+        verify(mailService, times(1)).sendAppointmentReminderEmail(eq(appointment.getRequest().getPatient()), anyList());
+        assertThat(appointmentReminderRepository.findById(appointment.getId())).isPresent();
+    }
+
+    @Test
+    @Transactional
+    public void assertThatAppointmentOutsideWindowIsNotReminded() {
+        appointment.setDateAndHour(ZonedDateTime.now()
+            .plusHours(applicationProperties.getReminder().getWindowHours() + 1).truncatedTo(ChronoUnit.SECONDS));
+        appointmentRepository.saveAndFlush(appointment);
+
+        appointmentReminderService.sendAppointmentReminders();
+
+        verify(mailService, never()).sendAppointmentReminderEmail(any(), anyList());
+        assertThat(appointmentReminderRepository.findById(appointment.getId())).isNotPresent();
+    }
+
+    @Test
+    @Transactional
+    public void assertThatRescheduledAppointmentIsRemindedAgain() {
+        appointmentRepository.saveAndFlush(appointment);
+        appointmentReminderService.sendAppointmentReminders();
+
+        appointment.setDateAndHour(appointment.getDateAndHour().plusHours(1));
+        appointmentRepository.saveAndFlush(appointment);
+        appointmentReminderService.sendAppointmentReminders();
+
+        verify(mailService, times(2)).sendAppointmentReminderEmail(any(), anyList());
+    }
+}
@@ -0,0 +1,121 @@
+package com.mycompany.myapp.service;
+
+import com.mycompany.myapp.config.ApplicationProperties;
+import com.mycompany.myapp.security.SecurityUtils;
+import com.mycompany.myapp.web.rest.errors.SearchTimeoutException;
+import com.mycompany.myapp.web.rest.errors.TooManyRequestsException;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.slf4j.MDC;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Test class for the AsyncSearchService.
+ *
+ * @see AsyncSearchService
+ */
+public class AsyncSearchServiceUnitTest {
+
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    private AsyncSearchService asyncSearchService;
+
+    @Before
+    public void setup() {
+        ApplicationProperties applicationProperties = new ApplicationProperties();
+        applicationProperties.getSearch().setThreads(1);
+        applicationProperties.getSearch().setQueueCapacity(1);
+        applicationProperties.getSearch().setTimeoutMs(200);
+        asyncSearchService = new AsyncSearchService(applicationProperties);
+    }
+
+    @After
+    public void tearDown() {
+        release.countDown();
+        asyncSearchService.shutdown();
+        SecurityContextHolder.clearContext();
+        MDC.clear();
+    }
+
+    @Test
+    public void testSearchResultIsReturned() throws Exception {
+        CompletableFuture<String> result = asyncSearchService.submit(() -> "found");
+
+        assertThat(result.get(10, TimeUnit.SECONDS)).isEqualTo("found");
+    }
+
+    @Test
+    public void testSearchFailureIsReturned() {
+        CompletableFuture<String> result = asyncSearchService.submit(() -> {
+            throw new IllegalStateException("cluster is down");
+        });
+
+        assertThatThrownBy(() -> result.get(10, TimeUnit.SECONDS))
+            .isInstanceOf(ExecutionException.class)
+            .hasCauseInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    public void testSearchErrorIsReturned() {
+        CompletableFuture<String> result = asyncSearchService.submit(() -> {
+            throw new StackOverflowError();
+        });
+
+        assertThatThrownBy(() -> result.get(10, TimeUnit.SECONDS))
+            .isInstanceOf(ExecutionException.class)
+            .hasCauseInstanceOf(StackOverflowError.class);
+    }
+
+    @Test
+    public void testSearchRunsAsTheCaller() throws Exception {
+        SecurityContext securityContext = SecurityContextHolder.createEmptyContext();
+        securityContext.setAuthentication(new UsernamePasswordAuthenticationToken("user", "user"));
+        SecurityContextHolder.setContext(securityContext);
+        MDC.put("request", "42");
+
+        CompletableFuture<String> login = asyncSearchService.submit(() -> SecurityUtils.getCurrentUserLogin().orElse(null));
+        CompletableFuture<String> request = asyncSearchService.submit(() -> MDC.get("request"));
+
+        assertThat(login.get(10, TimeUnit.SECONDS)).isEqualTo("user");
+        assertThat(request.get(10, TimeUnit.SECONDS)).isEqualTo("42");
+    }
+
+    @Test
+    public void testSlowSearchTimesOut() {
+        CompletableFuture<String> result = asyncSearchService.submit(this::slowSearch);
+
+        assertThatThrownBy(() -> result.get(10, TimeUnit.SECONDS))
+            .isInstanceOf(ExecutionException.class)
+            .hasCauseInstanceOf(SearchTimeoutException.class);
+    }
+
+    @Test
+    public void testSaturatedSearchIsRejected() {
+        // one search running, one waiting in the queue
+        asyncSearchService.submit(this::slowSearch);
+        asyncSearchService.submit(this::slowSearch);
+
+        assertThatThrownBy(() -> asyncSearchService.submit(this::slowSearch)).isInstanceOf(TooManyRequestsException.class);
+    }
+
+    private String slowSearch() {
+        try {
+            release.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return "found";
+    }
+}
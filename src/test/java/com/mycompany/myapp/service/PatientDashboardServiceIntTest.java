@@ -0,0 +1,138 @@
+package com.mycompany.myapp.service;
+
+import com.mycompany.myapp.DoctorsPlatformApp;
+import com.mycompany.myapp.domain.PatientDashboard;
+import com.mycompany.myapp.domain.Request;
+import com.mycompany.myapp.repository.PatientDashboardRepository;
+import com.mycompany.myapp.service.dto.AppointmentDTO;
+import com.mycompany.myapp.service.dto.DoctorDTO;
+import com.mycompany.myapp.service.dto.RequestDTO;
+import com.mycompany.myapp.service.mapper.DoctorMapper;
+import com.mycompany.myapp.service.mapper.RequestMapper;
+import com.mycompany.myapp.web.rest.RequestResourceIntTest;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Test class for the PatientDashboardService.
+ *
+ * @see PatientDashboardService
+ */
+@RunWith(SpringRunner.class)
+@SpringBootTest(classes = DoctorsPlatformApp.class)
+@Transactional
+public class PatientDashboardServiceIntTest {
+
+    @Autowired
+    private RequestService requestService;
+
+    @Autowired
+    private AppointmentService appointmentService;
+
+    @Autowired
+    private DoctorService doctorService;
+
+    @Autowired
+    private RequestMapper requestMapper;
+
+    @Autowired
+    private DoctorMapper doctorMapper;
+
+    @Autowired
+    private PatientDashboardService patientDashboardService;
+
+    @Autowired
+    private PatientDashboardRepository patientDashboardRepository;
+
+    @Autowired
+    private EntityManager em;
+
+    private Request request;
+
+    @Before
+    public void init() {
+        request = RequestResourceIntTest.createEntity(em);
+    }
+
+    @Test
+    public void assertThatSavedRequestIsOnTheDashboard() {
+        RequestDTO requestDTO = requestService.save(requestMapper.toDto(request));
+
+        assertThat(patientDashboardRepository.findAllByPatientIdOrderByRequestIdDesc(request.getPatient().getId()))
+            .hasSize(1)
+            .first()
+            .satisfies(line -> {
+                assertThat(line.getRequestId()).isEqualTo(requestDTO.getId());
+                assertThat(line.getDoctorId()).isEqualTo(request.getDoctor().getId());
+                assertThat(line.getDoctorName()).isEqualTo(request.getDoctor().getName());
+                assertThat(line.getDate1()).isEqualTo(request.getDate1());
+                assertThat(line.getAppointmentDateAndHour()).isNull();
+            });
+    }
+
+    @Test
+    public void assertThatDashboardIsReadAsDTOs() {
+        RequestDTO requestDTO = requestService.save(requestMapper.toDto(request));
+
+        assertThat(patientDashboardService.findAllByPatient(request.getPatient().getId()))
+            .hasSize(1)
+            .first()
+            .satisfies(line -> {
+                assertThat(line.getRequestId()).isEqualTo(requestDTO.getId());
+                assertThat(line.getDoctorName()).isEqualTo(request.getDoctor().getName());
+                assertThat(line.getDoctorSpeciality()).isEqualTo(request.getDoctor().getSpeciality());
+                assertThat(line.getDate1()).isEqualTo(request.getDate1());
+                assertThat(line.isConfirmation()).isEqualTo(request.isConfirmation());
+            });
+    }
+
+    @Test
+    public void assertThatAppointmentIsOnTheDashboardUntilDeleted() {
+        RequestDTO requestDTO = requestService.save(requestMapper.toDto(request));
+        AppointmentDTO appointmentDTO = new AppointmentDTO();
+        appointmentDTO.setRequestId(requestDTO.getId());
+        appointmentDTO.setDateAndHour(ZonedDateTime.now().plusDays(1).truncatedTo(ChronoUnit.SECONDS));
+
+        appointmentDTO = appointmentService.save(appointmentDTO);
+        assertThat(patientDashboardRepository.findById(requestDTO.getId()).map(PatientDashboard::getAppointmentDateAndHour))
+            .contains(appointmentDTO.getDateAndHour());
+
+        appointmentService.delete(appointmentDTO.getId());
+        assertThat(patientDashboardRepository.findById(requestDTO.getId()).map(PatientDashboard::getAppointmentDateAndHour))
+            .isEmpty();
+    }
+
+    @Test
+    public void assertThatDeletedRequestLeavesTheDashboard() {
+        RequestDTO requestDTO = requestService.save(requestMapper.toDto(request));
+
+        requestService.delete(requestDTO.getId());
+
+        assertThat(patientDashboardRepository.findById(requestDTO.getId())).isNotPresent();
+    }
+
+    @Test
+    public void assertThatDoctorChangesAreCopiedToTheDashboard() {
+        RequestDTO requestDTO = requestService.save(requestMapper.toDto(request));
+        DoctorDTO doctorDTO = doctorMapper.toDto(request.getDoctor());
+        doctorDTO.setName("New name");
+
+        doctorService.save(doctorDTO);
+        em.clear();
+
+        assertThat(patientDashboardRepository.findById(requestDTO.getId()).map(PatientDashboard::getDoctorName))
+            .contains("New name");
+    }
+}
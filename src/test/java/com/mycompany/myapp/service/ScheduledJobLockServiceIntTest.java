@@ -0,0 +1,166 @@
+package com.mycompany.myapp.service;
+
+import com.mycompany.myapp.DoctorsPlatformApp;
+import com.mycompany.myapp.config.ApplicationProperties;
+import com.mycompany.myapp.repository.ScheduledJobLockRepository;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Test class for the ScheduledJobLockService.
+ * <p>
+ * Each node of the cluster is a ScheduledJobLockService of its own, holding leases in the shared database.
+ *
+ * @see ScheduledJobLockService
+ */
+@RunWith(SpringRunner.class)
+@SpringBootTest(classes = DoctorsPlatformApp.class)
+public class ScheduledJobLockServiceIntTest {
+
+    private static final String JOB = "testJob";
+
+    @Autowired
+    private ScheduledJobLockRepository scheduledJobLockRepository;
+
+    @Autowired
+    private ApplicationProperties applicationProperties;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private ScheduledJobLockService node1;
+
+    private ScheduledJobLockService node2;
+
+    @Before
+    public void setup() {
+        // the test configuration holds no lease after its job, these nodes do as in production
+        ApplicationProperties nodeProperties = new ApplicationProperties();
+        nodeProperties.getScheduler().setLeaseSeconds(applicationProperties.getScheduler().getLeaseSeconds());
+        node1 = new ScheduledJobLockService(scheduledJobLockRepository, nodeProperties, transactionManager);
+        node2 = new ScheduledJobLockService(scheduledJobLockRepository, nodeProperties, transactionManager);
+    }
+
+    @After
+    public void cleanup() {
+        node1.shutdown();
+        node2.shutdown();
+        scheduledJobLockRepository.deleteAll();
+    }
+
+    @Test
+    public void assertThatLeaseIsHeldByOneNode() {
+        assertThat(node1.acquire(JOB, Duration.ofMinutes(1))).isTrue();
+        assertThat(node2.acquire(JOB, Duration.ofMinutes(1))).isFalse();
+
+        assertThat(scheduledJobLockRepository.findById(JOB)).hasValueSatisfying(lock ->
+            assertThat(lock.getLockedBy()).isEqualTo(node1.getOwner()));
+    }
+
+    @Test
+    public void assertThatNewLeaseCreatedConcurrentlyIsHeldByOneNode() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            for (int i = 0; i < 20; i++) {
+                String job = JOB + i;
+                CyclicBarrier start = new CyclicBarrier(2);
+                Future<Boolean> acquired1 = executor.submit(() -> {
+                    start.await();
+                    return node1.acquire(job, Duration.ofMinutes(1));
+                });
+                Future<Boolean> acquired2 = executor.submit(() -> {
+                    start.await();
+                    return node2.acquire(job, Duration.ofMinutes(1));
+                });
+                boolean won1 = acquired1.get(10, TimeUnit.SECONDS);
+                boolean won2 = acquired2.get(10, TimeUnit.SECONDS);
+
+                assertThat(won1).isNotEqualTo(won2);
+                String winner = won1 ? node1.getOwner() : node2.getOwner();
+                assertThat(scheduledJobLockRepository.findById(job)).hasValueSatisfying(lock ->
+                    assertThat(lock.getLockedBy()).isEqualTo(winner));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void assertThatReleasedLeaseIsAcquiredByAnotherNode() {
+        node1.acquire(JOB, Duration.ofMinutes(1));
+        node1.release(JOB);
+
+        assertThat(node2.acquire(JOB, Duration.ofMinutes(1))).isTrue();
+    }
+
+    @Test
+    public void assertThatExpiredLeaseIsTakenOver() throws Exception {
+        node1.acquire(JOB, Duration.ofMillis(100));
+        Thread.sleep(200);
+
+        assertThat(node2.acquire(JOB, Duration.ofMinutes(1))).isTrue();
+        assertThat(node1.renew(JOB, Duration.ofMinutes(1))).isFalse();
+    }
+
+    @Test
+    public void assertThatRenewedLeaseIsNotTakenOver() throws Exception {
+        node1.acquire(JOB, Duration.ofMillis(500));
+        assertThat(node1.renew(JOB, Duration.ofMinutes(1))).isTrue();
+        Thread.sleep(600);
+
+        assertThat(node2.acquire(JOB, Duration.ofMinutes(1))).isFalse();
+    }
+
+    @Test
+    public void assertThatJobRunsOnTheNodeHoldingTheLease() {
+        AtomicInteger runs = new AtomicInteger();
+        node1.acquire(JOB, Duration.ofMinutes(1));
+
+        assertThat(node2.runExclusively(JOB, runs::incrementAndGet)).isFalse();
+        node1.release(JOB);
+        assertThat(node2.runExclusively(JOB, runs::incrementAndGet)).isTrue();
+
+        assertThat(runs.get()).isEqualTo(1);
+        // the lease is held for the minimum time after the run
+        assertThat(node1.acquire(JOB, Duration.ofMinutes(1))).isFalse();
+    }
+
+    @Test
+    public void assertThatLateFiringNodeDoesNotRerunTheJob() {
+        AtomicInteger runs = new AtomicInteger();
+
+        assertThat(node1.runExclusively(JOB, runs::incrementAndGet)).isTrue();
+        // node 2 fires the same run once node 1 is done with it
+        assertThat(node2.runExclusively(JOB, runs::incrementAndGet)).isFalse();
+
+        assertThat(runs.get()).isEqualTo(1);
+    }
+
+    @Test
+    public void assertThatLeaseIsReleasedAfterTheMinimumHold() throws Exception {
+        node1.acquire(JOB, Duration.ofMinutes(1));
+        node1.release(JOB, Instant.now().plusMillis(100));
+
+        assertThat(node2.acquire(JOB, Duration.ofMinutes(1))).isFalse();
+        Thread.sleep(200);
+        assertThat(node2.acquire(JOB, Duration.ofMinutes(1))).isTrue();
+    }
+}
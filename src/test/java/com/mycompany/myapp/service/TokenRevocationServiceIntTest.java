@@ -0,0 +1,127 @@
+package com.mycompany.myapp.service;
+
+import com.mycompany.myapp.DoctorsPlatformApp;
+import com.mycompany.myapp.config.TokenRevocationChannels;
+import com.mycompany.myapp.domain.User;
+import com.mycompany.myapp.repository.UserRepository;
+import com.mycompany.myapp.security.DomainUserDetailsService;
+import com.mycompany.myapp.security.jwt.RevokedTokens;
+import com.mycompany.myapp.service.event.TokensRevokedEvent;
+import com.mycompany.myapp.service.event.UserChangedEvent;
+
+import org.apache.commons.lang3.RandomStringUtils;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cloud.stream.test.binder.MessageCollector;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.Date;
+import java.util.concurrent.BlockingQueue;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Test class for the TokenRevocationService, against the test binder of Spring Cloud Stream.
+ *
+ * @see TokenRevocationService
+ */
+@RunWith(SpringRunner.class)
+@SpringBootTest(classes = DoctorsPlatformApp.class)
+public class TokenRevocationServiceIntTest {
+
+    @Autowired
+    private TokenRevocationService tokenRevocationService;
+
+    @Autowired
+    private TokenRevocationChannels tokenRevocationChannels;
+
+    @Autowired
+    private RevokedTokens revokedTokens;
+
+    @Autowired
+    private MessageCollector messageCollector;
+
+    @Autowired
+    private DomainUserDetailsService domainUserDetailsService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private BlockingQueue<Message<?>> messages;
+
+    @Before
+    public void setup() {
+        messages = messageCollector.forQueue(tokenRevocationChannels.output());
+        messages.clear();
+    }
+
+    @Test
+    public void assertThatRevocationIsAppliedAndSentToTheOtherNodes() {
+        Date issuedBefore = Date.from(Instant.now().minusSeconds(1));
+
+        tokenRevocationService.revokeTokens("revoked-locally");
+
+        assertThat(revokedTokens.isRevoked("revoked-locally", issuedBefore)).isTrue();
+        assertThat(revokedTokens.isRevoked("other-user", issuedBefore)).isFalse();
+        assertThat(messages.poll()).isNotNull();
+    }
+
+    @Test
+    public void assertThatRevocationFromAnotherNodeIsApplied() {
+        Instant revokedBefore = Instant.now();
+
+        tokenRevocationChannels.input().send(MessageBuilder
+            .withPayload(new TokensRevokedEvent("revoked-elsewhere", revokedBefore)).build());
+
+        assertThat(revokedTokens.isRevoked("revoked-elsewhere", Date.from(revokedBefore.minusSeconds(1)))).isTrue();
+        assertThat(revokedTokens.isRevoked("revoked-elsewhere", Date.from(revokedBefore.plusSeconds(1)))).isFalse();
+    }
+
+    @Test
+    @Transactional
+    public void assertThatRevocationFromAnotherNodeEvictsTheCachedLogin() {
+        User user = new User();
+        user.setLogin("changed-elsewhere");
+        user.setPassword(RandomStringUtils.random(60));
+        user.setActivated(true);
+        user.setEmail("changed-elsewhere@localhost");
+        user.setLangKey("en");
+        userRepository.saveAndFlush(user);
+        domainUserDetailsService.loadUserByUsername("changed-elsewhere");
+
+        // another node changes the password, then revokes the tokens issued with the old one
+        user.setPassword(RandomStringUtils.random(60));
+        userRepository.saveAndFlush(user);
+        tokenRevocationChannels.input().send(MessageBuilder
+            .withPayload(new TokensRevokedEvent("changed-elsewhere", Instant.now())).build());
+
+        assertThat(domainUserDetailsService.loadUserByUsername("changed-elsewhere").getPassword()).isEqualTo(user.getPassword());
+    }
+
+    @Test
+    public void assertThatUserChangeIsSentWithoutRevokingTokens() {
+        Date issuedBefore = Date.from(Instant.now().minusSeconds(1));
+
+        tokenRevocationService.onUserChanged(new UserChangedEvent("changed-locally"));
+
+        assertThat(messages.poll()).isNotNull();
+        assertThat(revokedTokens.isRevoked("changed-locally", issuedBefore)).isFalse();
+    }
+
+    @Test
+    public void assertThatUserChangeFromAnotherNodeDoesNotRevokeTokens() {
+        Date issuedBefore = Date.from(Instant.now().minusSeconds(1));
+
+        tokenRevocationChannels.input().send(MessageBuilder
+            .withPayload(new TokensRevokedEvent("changed-elsewhere-only", null)).build());
+
+        assertThat(revokedTokens.isRevoked("changed-elsewhere-only", issuedBefore)).isFalse();
+    }
+}
@@ -0,0 +1,58 @@
+package com.mycompany.myapp.service;
+
+import com.mycompany.myapp.domain.User;
+import com.mycompany.myapp.repository.search.DoctorSearchRepository;
+import com.mycompany.myapp.repository.search.PatientSearchRepository;
+import com.mycompany.myapp.repository.search.UserSearchRepository;
+import com.mycompany.myapp.service.event.UserRegisteredEvent;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import static org.mockito.Mockito.verify;
+
+/**
+ * Test class for the UserRegistrationListener.
+ *
+ * @see UserRegistrationListener
+ */
+public class UserRegistrationListenerUnitTest {
+
+    @Mock
+    private UserSearchRepository userSearchRepository;
+
+    @Mock
+    private PatientSearchRepository patientSearchRepository;
+
+    @Mock
+    private DoctorSearchRepository doctorSearchRepository;
+
+    @Mock
+    private MailService mailService;
+
+    private UserRegistrationListener userRegistrationListener;
+
+    private User user;
+
+    @Before
+    public void setup() {
+        MockitoAnnotations.initMocks(this);
+        userRegistrationListener = new UserRegistrationListener(userSearchRepository, patientSearchRepository,
+            doctorSearchRepository, mailService);
+        user = new User();
+        user.setLogin("registered");
+    }
+
+    @Test
+    public void testActivationEmailIsSentToRegisteredUser() {
+        user.setActivated(false);
+        user.setActivationKey("12345678901234567890");
+
+        userRegistrationListener.onUserRegistered(new UserRegisteredEvent(user, null, null));
+
+        verify(userSearchRepository).save(user);
+        verify(mailService).sendActivationEmail(user);
+    }
+}
@@ -26,6 +26,7 @@ import java.time.Instant;
 import java.time.temporal.ChronoUnit;
 import java.time.LocalDateTime;
 import java.util.Optional;
+import java.util.Collections;
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -171,7 +172,7 @@ public class UserServiceIntTest {
         assertThat(users).isEmpty();
 
         // Verify Elasticsearch mock
-        verify(mockUserSearchRepository, times(1)).delete(user);
+        verify(mockUserSearchRepository, times(1)).bulkDelete(Collections.singletonList(user.getId()));
     }
 
     @Test
@@ -203,7 +204,7 @@ public class UserServiceIntTest {
         assertThat(userRepository.findOneByLogin("johndoe")).isNotPresent();
 
         // Verify Elasticsearch mock
-        verify(mockUserSearchRepository, times(1)).delete(user);
+        verify(mockUserSearchRepository, times(1)).bulkDelete(Collections.singletonList(user.getId()));
     }
 
 }
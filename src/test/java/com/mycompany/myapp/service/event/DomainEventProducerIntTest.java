@@ -0,0 +1,112 @@
+package com.mycompany.myapp.service.event;
+
+import com.mycompany.myapp.DoctorsPlatformApp;
+import com.mycompany.myapp.domain.Appointment;
+import com.mycompany.myapp.service.dto.AppointmentDTO;
+import com.mycompany.myapp.service.dto.RequestDTO;
+import com.mycompany.myapp.service.event.EntityChangedEvent.Action;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cloud.stream.messaging.Source;
+import org.springframework.cloud.stream.test.binder.MessageCollector;
+import org.springframework.messaging.Message;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import java.nio.charset.StandardCharsets;
+import java.time.ZonedDateTime;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Test class for the DomainEventProducer, against the test binder of Spring Cloud Stream.
+ *
+ * @see DomainEventProducer
+ */
+@RunWith(SpringRunner.class)
+@SpringBootTest(classes = DoctorsPlatformApp.class)
+public class DomainEventProducerIntTest {
+
+    @Autowired
+    private DomainEventProducer domainEventProducer;
+
+    @Autowired
+    private Source source;
+
+    @Autowired
+    private MessageCollector messageCollector;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private BlockingQueue<Message<?>> messages;
+
+    @Before
+    public void setup() {
+        messages = messageCollector.forQueue(source.output());
+        messages.clear();
+    }
+
+    @Test
+    public void assertThatConfirmedRequestIsPublished() throws Exception {
+        domainEventProducer.onRequestChanged(new RequestChangedEvent(Action.UPDATED, request(), true));
+
+        Message<?> message = messages.poll(10, TimeUnit.SECONDS);
+        assertThat(message).isNotNull();
+        assertThat(message.getHeaders().get(DomainEventProducer.TYPE_HEADER)).isEqualTo("REQUEST_CONFIRMED");
+        assertThat(message.getHeaders().get(DomainEventProducer.VERSION_HEADER)).isEqualTo(DomainEvent.VERSION);
+        JsonNode payload = payload(message);
+        assertThat(payload.get("type").asText()).isEqualTo("REQUEST_CONFIRMED");
+        assertThat(payload.get("requestId").asLong()).isEqualTo(1L);
+        assertThat(payload.get("patientId").asLong()).isEqualTo(2L);
+        assertThat(payload.get("doctorId").asLong()).isEqualTo(3L);
+    }
+
+    @Test
+    public void assertThatOtherRequestUpdatesAreNotPublished() throws Exception {
+        domainEventProducer.onRequestChanged(new RequestChangedEvent(Action.UPDATED, request()));
+
+        assertThat(messages.poll(500, TimeUnit.MILLISECONDS)).isNull();
+    }
+
+    @Test
+    public void assertThatDeletedAppointmentIsPublishedAsCancelled() throws Exception {
+        AppointmentDTO appointmentDTO = new AppointmentDTO();
+        appointmentDTO.setId(1L);
+        appointmentDTO.setRequestId(1L);
+        appointmentDTO.setDateAndHour(ZonedDateTime.now());
+        domainEventProducer.onAppointmentChanged(new AppointmentChangedEvent(Action.DELETED, appointmentDTO, new Appointment()));
+
+        Message<?> message = messages.poll(10, TimeUnit.SECONDS);
+        assertThat(message).isNotNull();
+        assertThat(payload(message).get("type").asText()).isEqualTo("APPOINTMENT_CANCELLED");
+        assertThat(payload(message).get("appointmentId").asLong()).isEqualTo(1L);
+    }
+
+    private RequestDTO request() {
+        RequestDTO requestDTO = new RequestDTO();
+        requestDTO.setId(1L);
+        requestDTO.setPatientId(2L);
+        requestDTO.setDoctorId(3L);
+        requestDTO.setConfirmation(true);
+        return requestDTO;
+    }
+
+    private JsonNode payload(Message<?> message) throws Exception {
+        Object payload = message.getPayload();
+        if (payload instanceof byte[]) {
+            return objectMapper.readTree(new String((byte[]) payload, StandardCharsets.UTF_8));
+        }
+        if (payload instanceof String) {
+            return objectMapper.readTree((String) payload);
+        }
+        return objectMapper.valueToTree(payload);
+    }
+}
@@ -5,12 +5,10 @@ import com.mycompany.myapp.config.Constants;
 import com.mycompany.myapp.domain.Authority;
 import com.mycompany.myapp.domain.User;
 import com.mycompany.myapp.repository.AuthorityRepository;
+import com.mycompany.myapp.repository.PatientRepository;
 import com.mycompany.myapp.repository.UserRepository;
-import com.mycompany.myapp.repository.search.UserSearchRepository;
 import com.mycompany.myapp.security.AuthoritiesConstants;
-import com.mycompany.myapp.service.DoctorService;
 import com.mycompany.myapp.service.MailService;
-import com.mycompany.myapp.service.PatientService;
 import com.mycompany.myapp.service.UserService;
 import com.mycompany.myapp.service.dto.PasswordChangeDTO;
 import com.mycompany.myapp.service.dto.UserDTO;
@@ -60,6 +58,9 @@ public class AccountResourceIntTest {
     @Autowired
     private AuthorityRepository authorityRepository;
 
+    @Autowired
+    private PatientRepository patientRepository;
+
     @Autowired
     private UserService userService;
 
@@ -81,19 +82,16 @@ public class AccountResourceIntTest {
     private MockMvc restMvc;
 
     private MockMvc restUserMockMvc;
-    private UserSearchRepository userSearchRepository;
-    private PatientService patientService;
 
-    private DoctorService doctorService;
     @Before
     public void setup() {
         MockitoAnnotations.initMocks(this);
         doNothing().when(mockMailService).sendActivationEmail(any());
         AccountResource accountResource =
-            new AccountResource(userRepository, userService, mockMailService,userSearchRepository,patientService,doctorService);
+            new AccountResource(userRepository, userService, mockMailService);
 
         AccountResource accountUserMockResource =
-            new AccountResource(userRepository, mockUserService, mockMailService,userSearchRepository,patientService,doctorService);
+            new AccountResource(userRepository, mockUserService, mockMailService);
         this.restMvc = MockMvcBuilders.standaloneSetup(accountResource)
             .setMessageConverters(httpMessageConverters)
             .setControllerAdvice(exceptionTranslator)
@@ -185,6 +183,33 @@ public class AccountResourceIntTest {
         assertThat(userRepository.findOneByLogin("test-register-valid").isPresent()).isTrue();
     }
 
+    @Test
+    @Transactional
+    public void testRegisterPatient() throws Exception {
+        ManagedUserVM validUser = new ManagedUserVM();
+        validUser.setLogin("test-register-patient");
+        validUser.setPassword("password");
+        validUser.setFirstName("Alice");
+        validUser.setLastName("Test");
+        validUser.setEmail("test-register-patient@example.com");
+        validUser.setImageUrl("http://placehold.it/50x50");
+        validUser.setLangKey(Constants.DEFAULT_LANGUAGE);
+        validUser.setAuthorities(Collections.singleton(AuthoritiesConstants.PATIENT));
+
+        restMvc.perform(
+            post("/api/register")
+                .contentType(TestUtil.APPLICATION_JSON_UTF8)
+                .content(TestUtil.convertObjectToJsonBytes(validUser)))
+            .andExpect(status().isCreated());
+
+        User user = userRepository.findOneWithAuthoritiesByLogin("test-register-patient").get();
+        assertThat(user.getActivated()).isTrue();
+        assertThat(user.getAuthorities()).extracting(Authority::getName)
+            .containsExactlyInAnyOrder(AuthoritiesConstants.USER, AuthoritiesConstants.PATIENT);
+        assertThat(patientRepository.findOneByCin(user.getId())).hasValueSatisfying(patient ->
+            assertThat(patient.getName()).isEqualTo("test-register-patient"));
+    }
+
     @Test
     @Transactional
     public void testRegisterInvalidLogin() throws Exception {
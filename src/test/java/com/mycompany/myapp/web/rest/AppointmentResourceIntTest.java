@@ -6,6 +6,7 @@ import com.mycompany.myapp.domain.Appointment;
 import com.mycompany.myapp.domain.Request;
 import com.mycompany.myapp.repository.AppointmentRepository;
 import com.mycompany.myapp.repository.search.AppointmentSearchRepository;
+import com.mycompany.myapp.service.AsyncSearchService;
 import com.mycompany.myapp.service.AppointmentService;
 import com.mycompany.myapp.service.dto.AppointmentDTO;
 import com.mycompany.myapp.service.mapper.AppointmentMapper;
@@ -22,21 +23,28 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.web.PageableHandlerMethodArgumentResolver;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
 import org.springframework.test.context.junit4.SpringRunner;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.validation.Validator;
 
 import javax.persistence.EntityManager;
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
 import java.time.Instant;
 import java.time.ZonedDateTime;
 import java.time.ZoneOffset;
 import java.time.ZoneId;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.stream.Collectors;
+import java.util.zip.GZIPInputStream;
 
 
 import static com.mycompany.myapp.web.rest.TestUtil.sameInstant;
@@ -44,6 +52,7 @@ import static com.mycompany.myapp.web.rest.TestUtil.createFormattingConversionSe
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.elasticsearch.index.query.QueryBuilders.queryStringQuery;
 import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.hasSize;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -66,6 +75,9 @@ public class AppointmentResourceIntTest {
     @Autowired
     private AppointmentMapper appointmentMapper;
 
+    @Autowired
+    private AsyncSearchService asyncSearchService;
+
     @Autowired
     private AppointmentService appointmentService;
 
@@ -102,13 +114,15 @@ public class AppointmentResourceIntTest {
     @Before
     public void setup() {
         MockitoAnnotations.initMocks(this);
-        final AppointmentResource appointmentResource = new AppointmentResource(appointmentService, appointmentQueryService ,appointmentRepository);
+        final AppointmentResource appointmentResource = new AppointmentResource(appointmentService, appointmentQueryService ,appointmentRepository,
+            jacksonMessageConverter.getObjectMapper(), asyncSearchService);
         this.restAppointmentMockMvc = MockMvcBuilders.standaloneSetup(appointmentResource)
             .setCustomArgumentResolvers(pageableArgumentResolver)
             .setControllerAdvice(exceptionTranslator)
             .setConversionService(createFormattingConversionService())
             .setMessageConverters(jacksonMessageConverter)
-            .setValidator(validator).build();
+            .setValidator(validator)
+            .addFilters(QueryCounter.filter()).build();
     }
 
     /**
@@ -213,7 +227,62 @@ public class AppointmentResourceIntTest {
             .andExpect(jsonPath("$.[*].id").value(hasItem(appointment.getId().intValue())))
             .andExpect(jsonPath("$.[*].dateAndHour").value(hasItem(sameInstant(DEFAULT_DATE_AND_HOUR))));
     }
-    
+
+    @Test
+    @Transactional
+    @QueryBudget(2)
+    public void getAllAppointmentsFetchesTheirRequests() throws Exception {
+        // Initialize the database with appointments of the same patient and doctor
+        Request template = appointment.getRequest();
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            Request request = new Request()
+                .date1(template.getDate1())
+                .patient(template.getPatient())
+                .doctor(template.getDoctor());
+            em.persist(request);
+            Appointment other = new Appointment()
+                .dateAndHour(DEFAULT_DATE_AND_HOUR.plusHours(i))
+                .request(request);
+            em.persist(other);
+            ids.add(other.getId());
+        }
+        em.flush();
+        em.clear();
+
+        // One query for the page, whatever the number of appointments
+        restAppointmentMockMvc.perform(get("/api/appointments?sort=id,desc&id.in=" +
+                ids.stream().map(String::valueOf).collect(Collectors.joining(","))))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$", hasSize(ids.size())))
+            .andExpect(jsonPath("$.[*].requestId").value(hasItem(ids.get(0).intValue())));
+    }
+
+    @Test
+    @Transactional
+    public void getAppointmentsListIsStreamed() throws Exception {
+        // Initialize the database
+        appointmentRepository.saveAndFlush(appointment);
+        em.clear();
+
+        restAppointmentMockMvc.perform(get("/api/appointment/list"))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_UTF8_VALUE))
+            .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING))
+            .andExpect(jsonPath("$.[*].id").value(hasItem(appointment.getId().intValue())))
+            .andExpect(jsonPath("$.[*].request.id").value(hasItem(appointment.getRequest().getId().intValue())));
+
+        byte[] gzipped = restAppointmentMockMvc.perform(get("/api/appointment/list")
+                .header(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate"))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+            .andReturn().getResponse().getContentAsByteArray();
+        try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(gzipped))) {
+            List<?> appointments = jacksonMessageConverter.getObjectMapper().readValue(in, List.class);
+            assertThat(appointments).isNotEmpty();
+        }
+    }
+
     @Test
     @Transactional
     public void getAppointment() throws Exception {
@@ -437,7 +506,10 @@ public class AppointmentResourceIntTest {
         when(mockAppointmentSearchRepository.search(queryStringQuery("id:" + appointment.getId()), PageRequest.of(0, 20)))
             .thenReturn(new PageImpl<>(Collections.singletonList(appointment), PageRequest.of(0, 1), 1));
         // Search the appointment
-        restAppointmentMockMvc.perform(get("/api/_search/appointments?query=id:" + appointment.getId()))
+        MvcResult searchResult = restAppointmentMockMvc.perform(get("/api/_search/appointments?query=id:" + appointment.getId()))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+        restAppointmentMockMvc.perform(asyncDispatch(searchResult))
             .andExpect(status().isOk())
             .andExpect(content().contentType(MediaType.APPLICATION_JSON_UTF8_VALUE))
             .andExpect(jsonPath("$.[*].id").value(hasItem(appointment.getId().intValue())))
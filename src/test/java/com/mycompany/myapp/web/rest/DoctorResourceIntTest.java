@@ -6,8 +6,10 @@ import com.mycompany.myapp.domain.Doctor;
 import com.mycompany.myapp.domain.Request;
 import com.mycompany.myapp.repository.DoctorRepository;
 import com.mycompany.myapp.repository.PatientRepository;
-import com.mycompany.myapp.repository.UserRepository;
 import com.mycompany.myapp.repository.search.DoctorSearchRepository;
+import com.mycompany.myapp.security.CurrentUserIdentity;
+import com.mycompany.myapp.service.CatalogueVersionService;
+import com.mycompany.myapp.service.AsyncSearchService;
 import com.mycompany.myapp.service.DoctorService;
 import com.mycompany.myapp.service.dto.DoctorDTO;
 import com.mycompany.myapp.service.mapper.DoctorMapper;
@@ -23,10 +25,12 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.web.PageableHandlerMethodArgumentResolver;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
 import org.springframework.test.context.junit4.SpringRunner;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.validation.Validator;
@@ -35,12 +39,16 @@ import javax.persistence.EntityManager;
 import java.math.BigDecimal;
 import java.util.Collections;
 import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
 
 
 import static com.mycompany.myapp.web.rest.TestUtil.createFormattingConversionService;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.elasticsearch.index.query.QueryBuilders.queryStringQuery;
 import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.notNullValue;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -78,6 +86,9 @@ public class DoctorResourceIntTest {
     @Autowired
     private DoctorMapper doctorMapper;
 
+    @Autowired
+    private AsyncSearchService asyncSearchService;
+
     @Autowired
     private DoctorService doctorService;
 
@@ -101,6 +112,9 @@ public class DoctorResourceIntTest {
     @Autowired
     private ExceptionTranslator exceptionTranslator;
 
+    @Autowired
+    private CatalogueVersionService catalogueVersionService;
+
     @Autowired
     private EntityManager em;
 
@@ -111,20 +125,22 @@ public class DoctorResourceIntTest {
 
     private Doctor doctor;
 
-    private UserRepository userRepository;
+    private CurrentUserIdentity currentUserIdentity;
 
     private PatientRepository patientRepository;
 
     @Before
     public void setup() {
         MockitoAnnotations.initMocks(this);
-        final DoctorResource doctorResource = new DoctorResource(doctorService, doctorQueryService,userRepository,patientRepository);
+        final DoctorResource doctorResource = new DoctorResource(doctorService, doctorQueryService,currentUserIdentity,patientRepository,
+            catalogueVersionService, asyncSearchService);
         this.restDoctorMockMvc = MockMvcBuilders.standaloneSetup(doctorResource)
             .setCustomArgumentResolvers(pageableArgumentResolver)
             .setControllerAdvice(exceptionTranslator)
             .setConversionService(createFormattingConversionService())
             .setMessageConverters(jacksonMessageConverter)
-            .setValidator(validator).build();
+            .setValidator(validator)
+            .addFilters(QueryCounter.filter()).build();
     }
 
     /**
@@ -313,6 +329,64 @@ public class DoctorResourceIntTest {
             .andExpect(jsonPath("$.[*].phoneNumber").value(hasItem(DEFAULT_PHONE_NUMBER.intValue())));
     }
 
+    @Test
+    public void getAllDoctorsIsNotModifiedUntilTheyChange() throws Exception {
+        String eTag = restDoctorMockMvc.perform(get("/api/doctors"))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache, private"))
+            .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        restDoctorMockMvc.perform(get("/api/doctors").header(HttpHeaders.IF_NONE_MATCH, eTag))
+            .andExpect(status().isNotModified())
+            .andExpect(header().string(HttpHeaders.ETAG, eTag));
+
+        catalogueVersionService.changed(CatalogueVersionService.DOCTORS);
+
+        restDoctorMockMvc.perform(get("/api/doctors").header(HttpHeaders.IF_NONE_MATCH, eTag))
+            .andExpect(status().isOk());
+    }
+
+    @Test
+    @Transactional
+    @QueryBudget(1)
+    public void getDoctorsByIdInOneQuery() throws Exception {
+        // Initialize the database
+        doctorRepository.saveAndFlush(doctor);
+        Doctor other = doctorRepository.saveAndFlush(createEntity(em).cin(UPDATED_CIN));
+        em.clear();
+
+        // In the order of the ids, without the unknown one
+        restDoctorMockMvc.perform(get("/api/doctors?ids=" + other.getId() + "," + Long.MAX_VALUE + "," + doctor.getId()))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_UTF8_VALUE))
+            .andExpect(jsonPath("$", hasSize(2)))
+            .andExpect(jsonPath("$.[0].id").value(other.getId().intValue()))
+            .andExpect(jsonPath("$.[1].id").value(doctor.getId().intValue()));
+    }
+
+    @Test
+    public void getDoctorsByIdIsCapped() throws Exception {
+        String ids = LongStream.rangeClosed(1, DoctorResource.MAX_IDS + 1)
+            .mapToObj(String::valueOf)
+            .collect(Collectors.joining(","));
+
+        restDoctorMockMvc.perform(get("/api/doctors?ids=" + ids))
+            .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @Transactional
+    public void getDoctorsByIdCountsRepeatedIdsOnce() throws Exception {
+        // Initialize the database
+        doctorRepository.saveAndFlush(doctor);
+        String ids = String.join(",", Collections.nCopies(DoctorResource.MAX_IDS + 1, doctor.getId().toString()));
+
+        restDoctorMockMvc.perform(get("/api/doctors?ids=" + ids))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$", hasSize(1)))
+            .andExpect(jsonPath("$.[0].id").value(doctor.getId().intValue()));
+    }
+
     @Test
     @Transactional
     public void getDoctor() throws Exception {
@@ -584,6 +658,30 @@ public class DoctorResourceIntTest {
         defaultDoctorShouldNotBeFound("requestsId.equals=" + (requestsId + 1));
     }
 
+    @Test
+    @Transactional
+    public void getAllDoctorsByRequestsIsServedAgainWhenTheRequestsChange() throws Exception {
+        // Initialize the database
+        doctorRepository.saveAndFlush(doctor);
+        String eTag = restDoctorMockMvc.perform(get("/api/doctors"))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.ETAG, notNullValue()))
+            .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        // A request is added, the doctor catalogue is unchanged
+        Request requests = RequestResourceIntTest.createEntity(em);
+        em.persist(requests);
+        em.flush();
+        doctor.addRequests(requests);
+        doctorRepository.saveAndFlush(doctor);
+
+        restDoctorMockMvc.perform(get("/api/doctors?requestsId.equals=" + requests.getId())
+            .header(HttpHeaders.IF_NONE_MATCH, eTag))
+            .andExpect(status().isOk())
+            .andExpect(header().doesNotExist(HttpHeaders.ETAG))
+            .andExpect(jsonPath("$.[*].id").value(hasItem(doctor.getId().intValue())));
+    }
+
     /**
      * Executes the search, and checks that the default entity is returned
      */
@@ -724,7 +822,10 @@ public class DoctorResourceIntTest {
         when(mockDoctorSearchRepository.search(queryStringQuery("id:" + doctor.getId()), PageRequest.of(0, 20)))
             .thenReturn(new PageImpl<>(Collections.singletonList(doctor), PageRequest.of(0, 1), 1));
         // Search the doctor
-        restDoctorMockMvc.perform(get("/api/_search/doctors?query=id:" + doctor.getId()))
+        MvcResult searchResult = restDoctorMockMvc.perform(get("/api/_search/doctors?query=id:" + doctor.getId()))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+        restDoctorMockMvc.perform(asyncDispatch(searchResult))
             .andExpect(status().isOk())
             .andExpect(content().contentType(MediaType.APPLICATION_JSON_UTF8_VALUE))
             .andExpect(jsonPath("$.[*].id").value(hasItem(doctor.getId().intValue())))
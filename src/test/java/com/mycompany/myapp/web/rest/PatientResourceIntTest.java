@@ -7,6 +7,7 @@ import com.mycompany.myapp.domain.Request;
 import com.mycompany.myapp.domain.Doctor;
 import com.mycompany.myapp.repository.PatientRepository;
 import com.mycompany.myapp.repository.search.PatientSearchRepository;
+import com.mycompany.myapp.service.AsyncSearchService;
 import com.mycompany.myapp.service.PatientService;
 import com.mycompany.myapp.service.dto.PatientDTO;
 import com.mycompany.myapp.service.mapper.PatientMapper;
@@ -28,6 +29,7 @@ import org.springframework.http.MediaType;
 import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
 import org.springframework.test.context.junit4.SpringRunner;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.Base64Utils;
@@ -37,12 +39,15 @@ import javax.persistence.EntityManager;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
 
 
 import static com.mycompany.myapp.web.rest.TestUtil.createFormattingConversionService;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.elasticsearch.index.query.QueryBuilders.queryStringQuery;
 import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.hasSize;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -85,6 +90,9 @@ public class PatientResourceIntTest {
     @Mock
     private PatientService patientServiceMock;
 
+    @Autowired
+    private AsyncSearchService asyncSearchService;
+
     @Autowired
     private PatientService patientService;
 
@@ -121,13 +129,14 @@ public class PatientResourceIntTest {
     @Before
     public void setup() {
         MockitoAnnotations.initMocks(this);
-        final PatientResource patientResource = new PatientResource(patientService, patientQueryService);
+        final PatientResource patientResource = new PatientResource(patientService, patientQueryService, asyncSearchService);
         this.restPatientMockMvc = MockMvcBuilders.standaloneSetup(patientResource)
             .setCustomArgumentResolvers(pageableArgumentResolver)
             .setControllerAdvice(exceptionTranslator)
             .setConversionService(createFormattingConversionService())
             .setMessageConverters(jacksonMessageConverter)
-            .setValidator(validator).build();
+            .setValidator(validator)
+            .addFilters(QueryCounter.filter()).build();
     }
 
     /**
@@ -277,10 +286,35 @@ public class PatientResourceIntTest {
             .andExpect(jsonPath("$.[*].pictureContentType").value(hasItem(DEFAULT_PICTURE_CONTENT_TYPE)))
             .andExpect(jsonPath("$.[*].picture").value(hasItem(Base64Utils.encodeToString(DEFAULT_PICTURE))));
     }
+
+    @Test
+    @Transactional
+    @QueryBudget(3)
+    public void getAllPatientsLoadsTheirDoctorsInBatches() throws Exception {
+        // Initialize the database with patients of the same doctor
+        Doctor doctor = DoctorResourceIntTest.createEntity(em);
+        em.persist(doctor);
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            Patient other = createEntity(em).cin(DEFAULT_CIN + 100 + i);
+            other.getDoctors().add(doctor);
+            em.persist(other);
+            ids.add(other.getId());
+        }
+        em.flush();
+        em.clear();
+
+        // One query for the page and one for the doctors of its patients
+        restPatientMockMvc.perform(get("/api/patients?sort=id,desc&id.in=" +
+                ids.stream().map(String::valueOf).collect(Collectors.joining(","))))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$", hasSize(ids.size())))
+            .andExpect(jsonPath("$.[*].doctors[*].id").value(hasItem(doctor.getId().intValue())));
+    }
     
     @SuppressWarnings({"unchecked"})
     public void getAllPatientsWithEagerRelationshipsIsEnabled() throws Exception {
-        PatientResource patientResource = new PatientResource(patientServiceMock, patientQueryService);
+        PatientResource patientResource = new PatientResource(patientServiceMock, patientQueryService, asyncSearchService);
         when(patientServiceMock.findAllWithEagerRelationships(any())).thenReturn(new PageImpl(new ArrayList<>()));
 
         MockMvc restPatientMockMvc = MockMvcBuilders.standaloneSetup(patientResource)
@@ -297,7 +331,7 @@ public class PatientResourceIntTest {
 
     @SuppressWarnings({"unchecked"})
     public void getAllPatientsWithEagerRelationshipsIsNotEnabled() throws Exception {
-        PatientResource patientResource = new PatientResource(patientServiceMock, patientQueryService);
+        PatientResource patientResource = new PatientResource(patientServiceMock, patientQueryService, asyncSearchService);
             when(patientServiceMock.findAllWithEagerRelationships(any())).thenReturn(new PageImpl(new ArrayList<>()));
             MockMvc restPatientMockMvc = MockMvcBuilders.standaloneSetup(patientResource)
             .setCustomArgumentResolvers(pageableArgumentResolver)
@@ -311,6 +345,47 @@ public class PatientResourceIntTest {
             verify(patientServiceMock, times(1)).findAllWithEagerRelationships(any());
     }
 
+    @Test
+    @Transactional
+    @QueryBudget(1)
+    public void getPatientsByIdInOneQuery() throws Exception {
+        // Initialize the database
+        patientRepository.saveAndFlush(patient);
+        Patient other = patientRepository.saveAndFlush(createEntity(em).cin(UPDATED_CIN));
+        em.clear();
+
+        // In the order of the ids, without the unknown one
+        restPatientMockMvc.perform(get("/api/patients?ids=" + other.getId() + "," + Long.MAX_VALUE + "," + patient.getId()))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_UTF8_VALUE))
+            .andExpect(jsonPath("$", hasSize(2)))
+            .andExpect(jsonPath("$.[0].id").value(other.getId().intValue()))
+            .andExpect(jsonPath("$.[1].id").value(patient.getId().intValue()));
+    }
+
+    @Test
+    public void getPatientsByIdIsCapped() throws Exception {
+        String ids = LongStream.rangeClosed(1, PatientResource.MAX_IDS + 1)
+            .mapToObj(String::valueOf)
+            .collect(Collectors.joining(","));
+
+        restPatientMockMvc.perform(get("/api/patients?ids=" + ids))
+            .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @Transactional
+    public void getPatientsByIdCountsRepeatedIdsOnce() throws Exception {
+        // Initialize the database
+        patientRepository.saveAndFlush(patient);
+        String ids = String.join(",", Collections.nCopies(PatientResource.MAX_IDS + 1, patient.getId().toString()));
+
+        restPatientMockMvc.perform(get("/api/patients?ids=" + ids))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$", hasSize(1)))
+            .andExpect(jsonPath("$.[0].id").value(patient.getId().intValue()));
+    }
+
     @Test
     @Transactional
     public void getPatient() throws Exception {
@@ -717,7 +792,10 @@ public class PatientResourceIntTest {
         when(mockPatientSearchRepository.search(queryStringQuery("id:" + patient.getId()), PageRequest.of(0, 20)))
             .thenReturn(new PageImpl<>(Collections.singletonList(patient), PageRequest.of(0, 1), 1));
         // Search the patient
-        restPatientMockMvc.perform(get("/api/_search/patients?query=id:" + patient.getId()))
+        MvcResult searchResult = restPatientMockMvc.perform(get("/api/_search/patients?query=id:" + patient.getId()))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+        restPatientMockMvc.perform(asyncDispatch(searchResult))
             .andExpect(status().isOk())
             .andExpect(content().contentType(MediaType.APPLICATION_JSON_UTF8_VALUE))
             .andExpect(jsonPath("$.[*].id").value(hasItem(patient.getId().intValue())))
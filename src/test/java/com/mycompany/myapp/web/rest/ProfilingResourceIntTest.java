@@ -0,0 +1,89 @@
+package com.mycompany.myapp.web.rest;
+
+import com.mycompany.myapp.DoctorsPlatformApp;
+import com.mycompany.myapp.config.ApplicationProperties;
+import com.mycompany.myapp.service.ProfilingService;
+import com.mycompany.myapp.web.rest.errors.ExceptionTranslator;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import static org.hamcrest.Matchers.is;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Test class for the ProfilingResource REST controller.
+ * <p>
+ * Flight Recorder itself depends on the JVM running the tests, so only the requests which do not reach it are
+ * tested here.
+ *
+ * @see ProfilingResource
+ */
+@RunWith(SpringRunner.class)
+@SpringBootTest(classes = DoctorsPlatformApp.class)
+public class ProfilingResourceIntTest {
+
+    @Autowired
+    private ApplicationProperties applicationProperties;
+
+    @Autowired
+    private MappingJackson2HttpMessageConverter jacksonMessageConverter;
+
+    @Autowired
+    private ExceptionTranslator exceptionTranslator;
+
+    private MockMvc restProfilingMockMvc;
+
+    @Before
+    public void setup() {
+        ProfilingResource profilingResource =
+            new ProfilingResource(new ProfilingService(applicationProperties), applicationProperties);
+        this.restProfilingMockMvc = MockMvcBuilders.standaloneSetup(profilingResource)
+            .setControllerAdvice(exceptionTranslator)
+            .setMessageConverters(jacksonMessageConverter)
+            .build();
+    }
+
+    @Test
+    public void startWithUnknownTemplate() throws Exception {
+        restProfilingMockMvc.perform(post("/management/profiling/start").param("template", "everything"))
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.message", is("error.unknowntemplate")));
+    }
+
+    @Test
+    public void startForTooLong() throws Exception {
+        long duration = applicationProperties.getProfiling().getMaxDurationSeconds() + 1;
+        restProfilingMockMvc.perform(post("/management/profiling/start").param("duration", String.valueOf(duration)))
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.message", is("error.invalidduration")));
+    }
+
+    @Test
+    public void stopWithoutRecording() throws Exception {
+        restProfilingMockMvc.perform(post("/management/profiling/stop"))
+            .andExpect(status().isNotFound());
+    }
+
+    @Test
+    public void downloadWithoutRecording() throws Exception {
+        restProfilingMockMvc.perform(get("/management/profiling/recording.jfr"))
+            .andExpect(status().isNotFound());
+    }
+
+    @Test
+    public void getSummaryWithoutRecording() throws Exception {
+        restProfilingMockMvc.perform(get("/management/profiling/summary"))
+            .andExpect(status().isNotFound());
+    }
+}
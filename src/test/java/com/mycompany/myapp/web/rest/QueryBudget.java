@@ -0,0 +1,28 @@
+package com.mycompany.myapp.web.rest;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Maximum number of SQL statements the requests of a test may execute.
+ * <p>
+ * Only the statements executed while a request goes through the {@link QueryCounter#filter()} of the test's
+ * {@code MockMvc} are counted, so creating the fixtures does not use the budget. The test fails when the budget is
+ * exceeded, with the statements which were executed. Clear the {@code EntityManager} before the request, otherwise
+ * the entities created by the test are read from it instead of the database.
+ *
+ * @see QueryBudgetTestExecutionListener
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+public @interface QueryBudget {
+
+    /**
+     * @return the maximum number of statements, a batch counting as one
+     */
+    int value();
+}
@@ -0,0 +1,38 @@
+package com.mycompany.myapp.web.rest;
+
+import org.springframework.test.context.TestContext;
+import org.springframework.test.context.support.AbstractTestExecutionListener;
+
+/**
+ * Enforces the {@link QueryBudget} of a test method.
+ * <p>
+ * It is registered for every test in META-INF/spring.factories, and records the statements of the test method only:
+ * the statements of the {@code @Before} methods are not counted.
+ */
+public class QueryBudgetTestExecutionListener extends AbstractTestExecutionListener {
+
+    @Override
+    public void beforeTestExecution(TestContext testContext) {
+        if (testContext.getTestMethod().isAnnotationPresent(QueryBudget.class)) {
+            QueryCounter.start();
+        }
+    }
+
+    @Override
+    public void afterTestExecution(TestContext testContext) {
+        QueryBudget budget = testContext.getTestMethod().getAnnotation(QueryBudget.class);
+        QueryCounter.Recording recording = QueryCounter.stop();
+        if (budget == null || recording == null || testContext.getTestException() != null) {
+            return;
+        }
+        if (recording.getRequests() == 0) {
+            throw new AssertionError("No request of " + testContext.getTestMethod().getName() +
+                " went through QueryCounter.filter(), add it to the MockMvc of the test");
+        }
+        if (recording.getStatements().size() > budget.value()) {
+            throw new AssertionError(testContext.getTestMethod().getName() + " executed " +
+                recording.getStatements().size() + " SQL statements, over its budget of " + budget.value() + ":\n" +
+                String.join("\n", recording.getStatements()));
+        }
+    }
+}
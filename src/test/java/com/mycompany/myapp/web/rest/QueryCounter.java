@@ -0,0 +1,102 @@
+package com.mycompany.myapp.web.rest;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.Filter;
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Counts the SQL statements executed on the data source of the test context, see {@link QueryBudget}.
+ * <p>
+ * The data source is wrapped by {@link com.mycompany.myapp.config.QueryCountConfiguration}. Statements are recorded
+ * per thread, between {@link #start()} and {@link #stop()}, and only while a request is handled by {@link #filter()}.
+ */
+public class QueryCounter implements QueryExecutionListener {
+
+    private static final ThreadLocal<Recording> recording = new ThreadLocal<>();
+
+    /**
+     * Start recording the statements of the requests handled by the current thread.
+     */
+    public static void start() {
+        recording.set(new Recording());
+    }
+
+    /**
+     * Stop recording.
+     *
+     * @return what was recorded since {@link #start()}, or null if nothing was started
+     */
+    public static Recording stop() {
+        Recording current = recording.get();
+        recording.remove();
+        return current;
+    }
+
+    /**
+     * @return a filter to add to a {@code MockMvc}, delimiting the requests whose statements are counted
+     */
+    public static Filter filter() {
+        return new OncePerRequestFilter() {
+
+            @Override
+            protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                            FilterChain filterChain) throws ServletException, IOException {
+                Recording current = recording.get();
+                if (current == null) {
+                    filterChain.doFilter(request, response);
+                    return;
+                }
+                current.requests++;
+                current.inRequest = true;
+                try {
+                    filterChain.doFilter(request, response);
+                } finally {
+                    current.inRequest = false;
+                }
+            }
+        };
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        Recording current = recording.get();
+        if (current != null && current.inRequest) {
+            current.statements.add(queryInfoList.stream().map(QueryInfo::getQuery).collect(Collectors.joining("; ")));
+        }
+    }
+
+    /**
+     * The statements executed by the requests of a test.
+     */
+    public static class Recording {
+
+        private final List<String> statements = new ArrayList<>();
+
+        private int requests;
+
+        private boolean inRequest;
+
+        public List<String> getStatements() {
+            return statements;
+        }
+
+        public int getRequests() {
+            return requests;
+        }
+    }
+}
@@ -8,6 +8,7 @@ import com.mycompany.myapp.domain.Doctor;
 import com.mycompany.myapp.domain.Appointment;
 import com.mycompany.myapp.repository.RequestRepository;
 import com.mycompany.myapp.repository.search.RequestSearchRepository;
+import com.mycompany.myapp.service.AsyncSearchService;
 import com.mycompany.myapp.service.RequestService;
 import com.mycompany.myapp.service.dto.RequestDTO;
 import com.mycompany.myapp.service.mapper.RequestMapper;
@@ -28,21 +29,29 @@ import org.springframework.http.MediaType;
 import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
 import org.springframework.test.context.junit4.SpringRunner;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.validation.Validator;
 
 import javax.persistence.EntityManager;
 import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
 import java.time.ZoneId;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
 
 
 import static com.mycompany.myapp.web.rest.TestUtil.createFormattingConversionService;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.elasticsearch.index.query.QueryBuilders.queryStringQuery;
 import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.hasSize;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -74,6 +83,9 @@ public class RequestResourceIntTest {
     @Autowired
     private RequestMapper requestMapper;
 
+    @Autowired
+    private AsyncSearchService asyncSearchService;
+
     @Autowired
     private RequestService requestService;
 
@@ -110,13 +122,14 @@ public class RequestResourceIntTest {
     @Before
     public void setup() {
         MockitoAnnotations.initMocks(this);
-        final RequestResource requestResource = new RequestResource(requestService, requestQueryService);
+        final RequestResource requestResource = new RequestResource(requestService, requestQueryService, asyncSearchService);
         this.restRequestMockMvc = MockMvcBuilders.standaloneSetup(requestResource)
             .setCustomArgumentResolvers(pageableArgumentResolver)
             .setControllerAdvice(exceptionTranslator)
             .setConversionService(createFormattingConversionService())
             .setMessageConverters(jacksonMessageConverter)
-            .setValidator(validator).build();
+            .setValidator(validator)
+            .addFilters(QueryCounter.filter()).build();
     }
 
     /**
@@ -232,7 +245,81 @@ public class RequestResourceIntTest {
             .andExpect(jsonPath("$.[*].date3").value(hasItem(DEFAULT_DATE_3.toString())))
             .andExpect(jsonPath("$.[*].confirmation").value(hasItem(DEFAULT_CONFIRMATION.booleanValue())));
     }
+
+    @Test
+    @Transactional
+    @QueryBudget(2)
+    public void getAllRequestsFetchesTheirRelationships() throws Exception {
+        // Initialize the database with requests of the same patient and doctor, half of them with an appointment
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            Request other = new Request()
+                .date1(DEFAULT_DATE_1)
+                .patient(request.getPatient())
+                .doctor(request.getDoctor());
+            em.persist(other);
+            if (i % 2 == 0) {
+                em.persist(new Appointment()
+                    .dateAndHour(ZonedDateTime.now(ZoneOffset.UTC).plusHours(i).truncatedTo(ChronoUnit.SECONDS))
+                    .request(other));
+            }
+            ids.add(other.getId());
+        }
+        em.flush();
+        em.clear();
+
+        // One query for the page, whatever the number of requests
+        restRequestMockMvc.perform(get("/api/requests?sort=id,desc&id.in=" +
+                ids.stream().map(String::valueOf).collect(Collectors.joining(","))))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$", hasSize(ids.size())))
+            .andExpect(jsonPath("$.[*].patientId").value(hasItem(request.getPatient().getId().intValue())));
+    }
     
+    @Test
+    @Transactional
+    @QueryBudget(1)
+    public void getRequestsByIdInOneQuery() throws Exception {
+        // Initialize the database
+        requestRepository.saveAndFlush(request);
+        Request other = requestRepository.saveAndFlush(new Request()
+            .date1(DEFAULT_DATE_1)
+            .patient(request.getPatient())
+            .doctor(request.getDoctor()));
+        em.clear();
+
+        // In the order of the ids, without the unknown one
+        restRequestMockMvc.perform(get("/api/requests?ids=" + other.getId() + "," + Long.MAX_VALUE + "," + request.getId()))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_UTF8_VALUE))
+            .andExpect(jsonPath("$", hasSize(2)))
+            .andExpect(jsonPath("$.[0].id").value(other.getId().intValue()))
+            .andExpect(jsonPath("$.[1].id").value(request.getId().intValue()));
+    }
+
+    @Test
+    public void getRequestsByIdIsCapped() throws Exception {
+        String ids = LongStream.rangeClosed(1, RequestResource.MAX_IDS + 1)
+            .mapToObj(String::valueOf)
+            .collect(Collectors.joining(","));
+
+        restRequestMockMvc.perform(get("/api/requests?ids=" + ids))
+            .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @Transactional
+    public void getRequestsByIdCountsRepeatedIdsOnce() throws Exception {
+        // Initialize the database
+        requestRepository.saveAndFlush(request);
+        String ids = String.join(",", Collections.nCopies(RequestResource.MAX_IDS + 1, request.getId().toString()));
+
+        restRequestMockMvc.perform(get("/api/requests?ids=" + ids))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$", hasSize(1)))
+            .andExpect(jsonPath("$.[0].id").value(request.getId().intValue()));
+    }
+
     @Test
     @Transactional
     public void getRequest() throws Exception {
@@ -678,7 +765,10 @@ public class RequestResourceIntTest {
         when(mockRequestSearchRepository.search(queryStringQuery("id:" + request.getId()), PageRequest.of(0, 20)))
             .thenReturn(new PageImpl<>(Collections.singletonList(request), PageRequest.of(0, 1), 1));
         // Search the request
-        restRequestMockMvc.perform(get("/api/_search/requests?query=id:" + request.getId()))
+        MvcResult searchResult = restRequestMockMvc.perform(get("/api/_search/requests?query=id:" + request.getId()))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+        restRequestMockMvc.perform(asyncDispatch(searchResult))
             .andExpect(status().isOk())
             .andExpect(content().contentType(MediaType.APPLICATION_JSON_UTF8_VALUE))
             .andExpect(jsonPath("$.[*].id").value(hasItem(request.getId().intValue())))
@@ -5,6 +5,8 @@ import com.mycompany.myapp.DoctorsPlatformApp;
 import com.mycompany.myapp.domain.Tip;
 import com.mycompany.myapp.repository.TipRepository;
 import com.mycompany.myapp.repository.search.TipSearchRepository;
+import com.mycompany.myapp.service.CatalogueVersionService;
+import com.mycompany.myapp.service.AsyncSearchService;
 import com.mycompany.myapp.service.TipService;
 import com.mycompany.myapp.web.rest.errors.ExceptionTranslator;
 import com.mycompany.myapp.service.dto.TipCriteria;
@@ -19,10 +21,12 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.web.PageableHandlerMethodArgumentResolver;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
 import org.springframework.test.context.junit4.SpringRunner;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.Base64Utils;
@@ -64,6 +68,9 @@ public class TipResourceIntTest {
     @Autowired
     private TipRepository tipRepository;
 
+    @Autowired
+    private AsyncSearchService asyncSearchService;
+
     @Autowired
     private TipService tipService;
 
@@ -87,6 +94,9 @@ public class TipResourceIntTest {
     @Autowired
     private ExceptionTranslator exceptionTranslator;
 
+    @Autowired
+    private CatalogueVersionService catalogueVersionService;
+
     @Autowired
     private EntityManager em;
 
@@ -100,7 +110,8 @@ public class TipResourceIntTest {
     @Before
     public void setup() {
         MockitoAnnotations.initMocks(this);
-        final TipResource tipResource = new TipResource(tipService, tipQueryService);
+        final TipResource tipResource = new TipResource(tipService, tipQueryService, catalogueVersionService,
+            jacksonMessageConverter.getObjectMapper(), asyncSearchService);
         this.restTipMockMvc = MockMvcBuilders.standaloneSetup(tipResource)
             .setCustomArgumentResolvers(pageableArgumentResolver)
             .setControllerAdvice(exceptionTranslator)
@@ -193,6 +204,22 @@ public class TipResourceIntTest {
         assertThat(tipList).hasSize(databaseSizeBeforeTest);
     }
 
+    @Test
+    public void getAllTipsSimpleIsNotModifiedUntilTheyChange() throws Exception {
+        String eTag = restTipMockMvc.perform(get("/api/tipsAll"))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache, private"))
+            .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        restTipMockMvc.perform(get("/api/tipsAll").header(HttpHeaders.IF_NONE_MATCH, eTag))
+            .andExpect(status().isNotModified());
+
+        catalogueVersionService.changed(CatalogueVersionService.TIPS);
+
+        restTipMockMvc.perform(get("/api/tipsAll").header(HttpHeaders.IF_NONE_MATCH, eTag))
+            .andExpect(status().isOk());
+    }
+
     @Test
     @Transactional
     public void getAllTips() throws Exception {
@@ -399,7 +426,10 @@ public class TipResourceIntTest {
         when(mockTipSearchRepository.search(queryStringQuery("id:" + tip.getId()), PageRequest.of(0, 20)))
             .thenReturn(new PageImpl<>(Collections.singletonList(tip), PageRequest.of(0, 1), 1));
         // Search the tip
-        restTipMockMvc.perform(get("/api/_search/tips?query=id:" + tip.getId()))
+        MvcResult searchResult = restTipMockMvc.perform(get("/api/_search/tips?query=id:" + tip.getId()))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+        restTipMockMvc.perform(asyncDispatch(searchResult))
             .andExpect(status().isOk())
             .andExpect(content().contentType(MediaType.APPLICATION_JSON_UTF8_VALUE))
             .andExpect(jsonPath("$.[*].id").value(hasItem(tip.getId().intValue())))
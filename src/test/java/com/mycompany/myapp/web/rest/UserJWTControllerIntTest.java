@@ -3,7 +3,9 @@ package com.mycompany.myapp.web.rest;
 import com.mycompany.myapp.DoctorsPlatformApp;
 import com.mycompany.myapp.domain.User;
 import com.mycompany.myapp.repository.UserRepository;
+import com.mycompany.myapp.security.CurrentUserIdentity;
 import com.mycompany.myapp.security.jwt.TokenProvider;
+import com.mycompany.myapp.service.TokenRevocationService;
 import com.mycompany.myapp.web.rest.errors.ExceptionTranslator;
 import com.mycompany.myapp.web.rest.vm.LoginVM;
 import org.junit.Before;
@@ -50,11 +52,17 @@ public class UserJWTControllerIntTest {
     @Autowired
     private ExceptionTranslator exceptionTranslator;
 
+    @Autowired
+    private CurrentUserIdentity currentUserIdentity;
+
+    @Autowired
+    private TokenRevocationService tokenRevocationService;
+
     private MockMvc mockMvc;
 
     @Before
     public void setup() {
-        UserJWTController userJWTController = new UserJWTController(tokenProvider, authenticationManager);
+        UserJWTController userJWTController = new UserJWTController(tokenProvider, authenticationManager, currentUserIdentity, tokenRevocationService);
         this.mockMvc = MockMvcBuilders.standaloneSetup(userJWTController)
             .setControllerAdvice(exceptionTranslator)
             .build();
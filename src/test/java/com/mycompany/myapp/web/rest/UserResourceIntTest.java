@@ -9,6 +9,7 @@ import com.mycompany.myapp.repository.RequestRepository;
 import com.mycompany.myapp.repository.UserRepository;
 import com.mycompany.myapp.repository.search.UserSearchRepository;
 import com.mycompany.myapp.security.AuthoritiesConstants;
+import com.mycompany.myapp.security.CurrentUserIdentity;
 import com.mycompany.myapp.service.AppointmentService;
 import com.mycompany.myapp.service.MailService;
 import com.mycompany.myapp.service.RequestService;
@@ -21,9 +22,13 @@ import org.apache.commons.lang3.RandomStringUtils;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableHandlerMethodArgumentResolver;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
 import org.springframework.test.context.junit4.SpringRunner;
@@ -36,8 +41,13 @@ import java.time.Instant;
 import java.util.*;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.hasItems;
 import static org.hamcrest.Matchers.hasItem;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -96,6 +106,9 @@ public class UserResourceIntTest {
     @Autowired
     private DoctorRepository doctorRepository;
 
+    @Autowired
+    private CurrentUserIdentity currentUserIdentity;
+
     @Autowired
     private MappingJackson2HttpMessageConverter jacksonMessageConverter;
 
@@ -127,7 +140,8 @@ public class UserResourceIntTest {
     @Before
     public void setup() {
 
-        UserResource userResource = new UserResource(userService, userRepository, mailService, requestService, doctorRepository, appointmentService, patientRepository,requestRepository, mockUserSearchRepository);
+        UserResource userResource = new UserResource(userService, userRepository, mailService, requestService, doctorRepository, appointmentService, patientRepository,requestRepository, mockUserSearchRepository, currentUserIdentity,
+            jacksonMessageConverter.getObjectMapper());
 
         this.restUserMockMvc = MockMvcBuilders.standaloneSetup(userResource)
             .setCustomArgumentResolvers(pageableArgumentResolver)
@@ -330,6 +344,39 @@ public class UserResourceIntTest {
             .andExpect(status().isNotFound());
     }
 
+    @Test
+    public void searchUsersCapsThePageSize() throws Exception {
+        user.setId(1L);
+        when(mockUserSearchRepository.searchSummaries(eq("login:" + DEFAULT_LOGIN), any(Pageable.class)))
+            .thenAnswer(invocation -> new PageImpl<>(Collections.singletonList(user), invocation.getArgument(1), 1));
+
+        restUserMockMvc.perform(get("/api/_search/users?query=login:{login}&size=1000", DEFAULT_LOGIN))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[*].login").value(hasItem(user.getLogin())))
+            .andExpect(header().string("X-Total-Count", "1"));
+
+        ArgumentCaptor<Pageable> pageableCaptor = ArgumentCaptor.forClass(Pageable.class);
+        verify(mockUserSearchRepository).searchSummaries(any(), pageableCaptor.capture());
+        assertThat(pageableCaptor.getValue().getPageSize()).isEqualTo(UserResource.MAX_SEARCH_PAGE_SIZE);
+    }
+
+    @Test
+    public void searchUsersRejectsPagesBeyondTheResultWindow() throws Exception {
+        restUserMockMvc.perform(get("/api/_search/users?query=*&page=100&size=100"))
+            .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    public void scrollUsersLinksToTheNextBatch() throws Exception {
+        user.setId(42L);
+        when(mockUserSearchRepository.searchSummariesAfter("*", 7L, 1)).thenReturn(Collections.singletonList(user));
+
+        restUserMockMvc.perform(get("/api/_search/users/scroll?query=*&after=7&size=1"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[*].id").value(hasItem(42)))
+            .andExpect(header().string(HttpHeaders.LINK, containsString("after=42")));
+    }
+
     @Test
     @Transactional
     public void updateUser() throws Exception {
@@ -0,0 +1,97 @@
+package com.mycompany.myapp.web.websocket;
+
+import com.mycompany.myapp.web.websocket.dto.ActivityDTO;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.SimpMessageSendingOperations;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static com.mycompany.myapp.config.WebsocketConfiguration.IP_ADDRESS;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+public class ActivityServiceTest {
+
+    private SimpMessageSendingOperations messagingTemplate;
+
+    private ActivityService activityService;
+
+    @Before
+    public void setup() {
+        messagingTemplate = mock(SimpMessageSendingOperations.class);
+        activityService = new ActivityService(messagingTemplate);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testChangesAreCoalescedPerSession() {
+        activityService.sendActivity(activity("home"), headers("session-1"), principal("user"));
+        activityService.sendActivity(activity("doctor"), headers("session-1"), principal("user"));
+        activityService.sendActivity(activity("tip"), headers("session-2"), principal("admin"));
+
+        activityService.broadcastChanges();
+
+        ArgumentCaptor<List<ActivityDTO>> batchCaptor = ArgumentCaptor.forClass(List.class);
+        verify(messagingTemplate, times(1)).convertAndSend(eq("/topic/tracker"), batchCaptor.capture());
+        assertThat(batchCaptor.getValue()).extracting(ActivityDTO::getPage).containsExactlyInAnyOrder("doctor", "tip");
+    }
+
+    @Test
+    public void testNothingIsSentWithoutChanges() {
+        activityService.sendActivity(activity("home"), headers("session-1"), principal("user"));
+        activityService.broadcastChanges();
+        activityService.broadcastChanges();
+
+        verify(messagingTemplate, times(1)).convertAndSend(eq("/topic/tracker"), any(Object.class));
+    }
+
+    @Test
+    public void testSnapshotHoldsActiveSessionsOnly() {
+        activityService.sendActivity(activity("home"), headers("session-1"), principal("user"));
+        activityService.sendActivity(activity("tip"), headers("session-2"), principal("admin"));
+
+        activityService.onApplicationEvent(disconnect("session-1"));
+
+        assertThat(activityService.snapshot()).extracting(ActivityDTO::getSessionId).containsExactly("session-2");
+    }
+
+    private ActivityDTO activity(String page) {
+        ActivityDTO activityDTO = new ActivityDTO();
+        activityDTO.setPage(page);
+        return activityDTO;
+    }
+
+    private StompHeaderAccessor headers(String sessionId) {
+        StompHeaderAccessor accessor = StompHeaderAccessor.create(StompCommand.SEND);
+        accessor.setSessionId(sessionId);
+        Map<String, Object> attributes = new HashMap<>();
+        attributes.put(IP_ADDRESS, "127.0.0.1");
+        accessor.setSessionAttributes(attributes);
+        return accessor;
+    }
+
+    private SessionDisconnectEvent disconnect(String sessionId) {
+        StompHeaderAccessor accessor = StompHeaderAccessor.create(StompCommand.DISCONNECT);
+        accessor.setSessionId(sessionId);
+        Message<byte[]> message = MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders());
+        return new SessionDisconnectEvent(this, message, sessionId, CloseStatus.NORMAL);
+    }
+
+    private UsernamePasswordAuthenticationToken principal(String login) {
+        return new UsernamePasswordAuthenticationToken(login, null);
+    }
+}
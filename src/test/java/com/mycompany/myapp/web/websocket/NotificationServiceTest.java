@@ -0,0 +1,82 @@
+package com.mycompany.myapp.web.websocket;
+
+import com.mycompany.myapp.domain.Doctor;
+import com.mycompany.myapp.domain.Patient;
+import com.mycompany.myapp.domain.User;
+import com.mycompany.myapp.repository.DoctorRepository;
+import com.mycompany.myapp.repository.PatientRepository;
+import com.mycompany.myapp.repository.UserRepository;
+import com.mycompany.myapp.service.dto.RequestDTO;
+import com.mycompany.myapp.service.event.EntityChangedEvent.Action;
+import com.mycompany.myapp.service.event.RequestChangedEvent;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.messaging.simp.SimpMessageSendingOperations;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Optional;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+public class NotificationServiceTest {
+
+    private SimpMessageSendingOperations messagingTemplate;
+
+    private PatientRepository patientRepository;
+
+    private DoctorRepository doctorRepository;
+
+    private UserRepository userRepository;
+
+    private NotificationService notificationService;
+
+    @Before
+    public void setup() {
+        messagingTemplate = mock(SimpMessageSendingOperations.class);
+        patientRepository = mock(PatientRepository.class);
+        doctorRepository = mock(DoctorRepository.class);
+        userRepository = mock(UserRepository.class);
+        notificationService = new NotificationService(messagingTemplate, patientRepository, doctorRepository, userRepository);
+    }
+
+    @Test
+    public void testRequestChangeIsSentToPatientAndDoctor() {
+        when(patientRepository.findById(1L)).thenReturn(Optional.of(new Patient().cin(10L)));
+        when(doctorRepository.findById(2L)).thenReturn(Optional.of(new Doctor().cin(BigDecimal.valueOf(20L))));
+        when(userRepository.findAllById(Arrays.asList(10L, 20L))).thenReturn(Arrays.asList(user("patient"), user("doctor")));
+        RequestChangedEvent event = new RequestChangedEvent(Action.CREATED, request(1L, 2L));
+
+        notificationService.onRequestChanged(event);
+
+        verify(messagingTemplate).convertAndSendToUser("patient", NotificationService.REQUESTS_DESTINATION, event);
+        verify(messagingTemplate).convertAndSendToUser("doctor", NotificationService.REQUESTS_DESTINATION, event);
+    }
+
+    @Test
+    public void testNothingIsSentWithoutUsers() {
+        when(userRepository.findAllById(any())).thenReturn(Collections.emptyList());
+
+        notificationService.onRequestChanged(new RequestChangedEvent(Action.DELETED, request(null, null)));
+
+        verify(messagingTemplate, never()).convertAndSendToUser(anyString(), eq(NotificationService.REQUESTS_DESTINATION), any(Object.class));
+    }
+
+    private RequestDTO request(Long patientId, Long doctorId) {
+        RequestDTO requestDTO = new RequestDTO();
+        requestDTO.setPatientId(patientId);
+        requestDTO.setDoctorId(doctorId);
+        return requestDTO;
+    }
+
+    private User user(String login) {
+        User user = new User();
+        user.setLogin(login);
+        return user;
+    }
+}